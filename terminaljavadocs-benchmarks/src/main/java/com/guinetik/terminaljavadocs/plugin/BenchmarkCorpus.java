@@ -0,0 +1,203 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import com.guinetik.terminaljavadocs.plugin.InjectSiteStylesMojo.PageType;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * Realistic HTML pages for benchmarking, modelled on the output of the tools the
+ * plugin post-processes.
+ *
+ * <p>
+ * Pages are rendered by the plugin's test-scoped {@link SyntheticSiteGenerator}, which
+ * reproduces the head section and repeating body structure of each generator (Javadoc
+ * 17, JXR 3.x, JaCoCo 0.8 and the Doxia site renderer). Pages are deterministic, so
+ * runs are comparable over time.
+ */
+final class BenchmarkCorpus {
+
+    /**
+     * Kinds of generated page, each with the directory its generator writes to.
+     */
+    enum Kind {
+        /** Javadoc class page. */
+        JAVADOC(PageType.JAVADOC, "apidocs/com/example/widgets"),
+        /** JXR source cross-reference page. */
+        JXR(PageType.JXR, "xref/com/example/widgets"),
+        /** JaCoCo package coverage page. */
+        COVERAGE(PageType.COVERAGE, "jacoco/com.example.widgets"),
+        /** Doxia-rendered site page. */
+        SITE(PageType.SITE, "");
+
+        /** The page type pages of this kind are generated as. */
+        private final PageType pageType;
+
+        /** Site-relative directory that identifies the kind by path. */
+        private final String directory;
+
+        /**
+         * Creates a kind.
+         *
+         * @param pageType  the page type pages of this kind are generated as
+         * @param directory site-relative directory for this kind
+         */
+        Kind(PageType pageType, String directory) {
+            this.pageType = pageType;
+            this.directory = directory;
+        }
+
+        /**
+         * Returns the page type pages of this kind are generated as.
+         *
+         * @return the page type
+         */
+        PageType getPageType() {
+            return pageType;
+        }
+
+        /**
+         * Returns the site-relative directory pages of this kind live in.
+         *
+         * @return the directory, empty for the site root
+         */
+        String getDirectory() {
+            return directory;
+        }
+    }
+
+    /**
+     * Page size classes, from a small site page to a huge generated source page.
+     */
+    enum Size {
+        /** About 4 KB. */
+        SMALL(4 * 1024),
+        /** About 64 KB. */
+        MEDIUM(64 * 1024),
+        /** About 1 MB. */
+        LARGE(1024 * 1024),
+        /** About 16 MB. */
+        HUGE(16 * 1024 * 1024);
+
+        /** Minimum page size in bytes. */
+        private final int bytes;
+
+        /**
+         * Creates a size class.
+         *
+         * @param bytes the minimum page size in bytes
+         */
+        Size(int bytes) {
+            this.bytes = bytes;
+        }
+
+        /**
+         * Returns the minimum page size.
+         *
+         * @return the size in bytes
+         */
+        int getBytes() {
+            return bytes;
+        }
+    }
+
+    /**
+     * Static utility class.
+     */
+    private BenchmarkCorpus() {
+    }
+
+    /**
+     * Renders a page.
+     *
+     * @param kind     the page kind
+     * @param minBytes the minimum size; body units are repeated until it is reached
+     * @param depth    the directory depth below the site root, for relative links
+     * @return the page bytes (UTF-8)
+     */
+    static byte[] page(Kind kind, int minBytes, int depth) {
+        return SyntheticSiteGenerator.renderPage(kind.getPageType(), minBytes, depth, null);
+    }
+
+    /**
+     * Writes a single page.
+     *
+     * @param siteRoot the site root, for relative links
+     * @param dir      the directory to write to, at or below the site root
+     * @param kind     the page kind
+     * @param size     the page size class
+     * @return the written page
+     * @throws IOException if writing fails
+     */
+    static Path writePage(Path siteRoot, Path dir, Kind kind, Size size) throws IOException {
+        Files.createDirectories(dir);
+        Path page = dir.resolve("Widget.html");
+        Files.write(page, page(kind, size.getBytes(), depth(siteRoot, dir)));
+        return page;
+    }
+
+    /**
+     * Returns the number of directories between a site root and a directory below it.
+     *
+     * @param siteRoot the site root
+     * @param dir      the directory
+     * @return the depth, {@code 0} for the site root itself
+     */
+    static int depth(Path siteRoot, Path dir) {
+        Path relative = siteRoot.relativize(dir);
+        return relative.toString().isEmpty() ? 0 : relative.getNameCount();
+    }
+
+    /**
+     * Copies a directory tree.
+     *
+     * @param source the tree to copy
+     * @param target the destination, which must not exist
+     * @throws IOException if copying fails
+     */
+    static void copyTree(Path source, Path target) throws IOException {
+        Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.copy(file, target.resolve(source.relativize(file).toString()),
+                        StandardCopyOption.REPLACE_EXISTING);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Deletes a directory tree if it exists.
+     *
+     * @param root the tree to delete
+     * @throws IOException if deletion fails
+     */
+    static void deleteTree(Path root) throws IOException {
+        if (!Files.exists(root)) {
+            return;
+        }
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
@@ -0,0 +1,57 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of {@code benchmarks.jar}.
+ *
+ * <p>
+ * Accepts the standard JMH command line; listing and help options ({@code -l},
+ * {@code -lp}, {@code -lprof}, {@code -lrf}, {@code -h}) are answered by JMH without
+ * running anything. Unless a result format is given, results
+ * are written as JSON to {@code target/jmh-result.json} so that runs can be compared
+ * over time (for example with JMH Visualizer).
+ */
+public final class BenchmarkMain {
+
+    /** Default location of the JSON results. */
+    private static final String DEFAULT_RESULT = "target/jmh-result.json";
+
+    /**
+     * Static entry point only.
+     */
+    private BenchmarkMain() {
+    }
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args JMH command line arguments, e.g. {@code DetectPageType -p size=LARGE}
+     * @throws CommandLineOptionException if the arguments are invalid
+     * @throws RunnerException if a benchmark fails
+     * @throws IOException if JMH cannot read the benchmark list
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListWithParams()
+                || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(commandLine);
+        if (!commandLine.getResultFormat().hasValue()) {
+            new File(DEFAULT_RESULT).getAbsoluteFile().getParentFile().mkdirs();
+            options.resultFormat(ResultFormatType.JSON).result(DEFAULT_RESULT);
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,150 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import com.guinetik.terminaljavadocs.plugin.InjectSiteStylesMojo.PageType;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link PageTypeClassifier#classifyContent(byte[])} with the former chain
+ * of {@code String.contains} checks, per page type.
+ *
+ * <p>
+ * Each page is about 256 KB of neutral markup with the type's marker near the top
+ * (landing) or the bottom (all others), which is the worst case for the chain: every
+ * earlier pattern scans the whole page before the matching one is tried. The chain
+ * includes UTF-8 decoding, which the old implementation also paid for every page that
+ * needed content detection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClassifyContentBenchmark {
+
+    /** Approximate size of each page. */
+    private static final int PAGE_SIZE = 256 * 1024;
+
+    /** Page type whose marker the page contains. */
+    @Param({"LANDING", "COVERAGE", "JXR", "JAVADOC", "SITE"})
+    public String type;
+
+    private byte[] content;
+    private PageTypeClassifier classifier;
+
+    /**
+     * Builds the page and checks that both classifications agree on it.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        PageType pageType = PageType.valueOf(type);
+        switch (pageType) {
+            case LANDING:
+                content = page("<div class=\"terminal-header\">", "");
+                break;
+            case COVERAGE:
+                content = page("", "<td class=\"el_class\">Foo</td>");
+                break;
+            case JXR:
+                content = page("", "<a name=\"L1\" href=\"#L1\">1</a> <span class=\"jxr_keyword\">");
+                break;
+            case JAVADOC:
+                content = page("", "<div class=\"member-signature\">");
+                break;
+            default:
+                content = page("", "");
+                break;
+        }
+        classifier = new PageTypeClassifier();
+        if (classifier.classifyContent(content) != pageType || containsChain(content) != pageType) {
+            throw new IllegalStateException("Classifications disagree on the " + type + " page");
+        }
+    }
+
+    /**
+     * Classifies the page in a single pass over its bytes.
+     *
+     * @return the detected type
+     */
+    @Benchmark
+    public PageType singlePass() {
+        return classifier.classifyContent(content);
+    }
+
+    /**
+     * Classifies the page the way {@code InjectSiteStylesMojo} did before the
+     * single-pass classifier.
+     *
+     * @return the detected type
+     */
+    @Benchmark
+    public PageType containsChain() {
+        return containsChain(content);
+    }
+
+    /**
+     * Builds a page of roughly {@link #PAGE_SIZE} bytes with markers near the top and bottom.
+     *
+     * @param headMarker text placed near the start of the body
+     * @param tailMarker text placed near the end of the body
+     * @return the page bytes
+     */
+    private static byte[] page(String headMarker, String tailMarker) {
+        StringBuilder html = new StringBuilder("<html><head><title>Page</title></head><body>");
+        html.append(headMarker);
+        while (html.length() < PAGE_SIZE) {
+            html.append("<p>Lorem ipsum dolor sit amet, <b>consectetur</b> adipiscing elit.</p>\n");
+        }
+        html.append(tailMarker).append("</body></html>");
+        return html.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The classification previously used by {@code InjectSiteStylesMojo}.
+     *
+     * @param bytes the page bytes
+     * @return the detected page type
+     */
+    private static PageType containsChain(byte[] bytes) {
+        String content = new String(bytes, StandardCharsets.UTF_8);
+        if (content.contains("class=\"terminal-header\"")
+                || content.contains("class=\"terminal-brand\"")
+                || content.contains("class=\"module-list\"")) {
+            return PageType.LANDING;
+        }
+        if (content.contains("jacoco")
+                || content.contains("Coverage Report")
+                || content.contains("class=\"el_package\"")
+                || content.contains("class=\"el_class\"")
+                || content.contains("class=\"ctr2\"")) {
+            return PageType.COVERAGE;
+        }
+        if (content.contains("jxr")
+                || content.contains("Cross-Reference")
+                || content.contains("class=\"jxr_")
+                || content.contains("id=\"jxr_")) {
+            return PageType.JXR;
+        }
+        if (content.contains("Generated by javadoc")
+                || content.contains("<!-- Generated by javadoc")
+                || content.contains("class=\"summary-table\"")
+                || content.contains("class=\"member-signature\"")
+                || content.contains("class=\"description\"")) {
+            return PageType.JAVADOC;
+        }
+        return PageType.SITE;
+    }
+}
@@ -0,0 +1,90 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import com.guinetik.terminaljavadocs.plugin.InjectSiteStylesMojo.PageType;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@code InjectSiteStylesMojo.detectPageType} for every page kind and size.
+ *
+ * <p>
+ * With {@code layout=PATH} the page lives where its generator writes it
+ * ({@code apidocs/}, {@code xref/}, {@code jacoco/}), so the type comes from the
+ * directory cache; site pages have no such directory and are always scanned.
+ * With {@code layout=CONTENT} the same page sits in a neutral
+ * directory and must be classified by scanning its bytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DetectPageTypeBenchmark {
+
+    /** Page kind. */
+    @Param({"JAVADOC", "JXR", "COVERAGE", "SITE"})
+    public String kind;
+
+    /** Page size class. */
+    @Param({"SMALL", "MEDIUM", "LARGE", "HUGE"})
+    public String size;
+
+    /** Where the page is placed: {@code PATH} or {@code CONTENT}. */
+    @Param({"PATH", "CONTENT"})
+    public String layout;
+
+    private Path root;
+    private File page;
+    private MojoAccess access;
+
+    /**
+     * Writes the page and configures the mojo.
+     *
+     * @throws Exception if the page cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("tjd-detect");
+        BenchmarkCorpus.Kind pageKind = BenchmarkCorpus.Kind.valueOf(kind);
+        Path dir = "PATH".equals(layout) ? root.resolve(pageKind.getDirectory()) : root.resolve("pages");
+        page = BenchmarkCorpus.writePage(root, dir, pageKind, BenchmarkCorpus.Size.valueOf(size)).toFile();
+        access = new MojoAccess(root.toFile(), 1);
+    }
+
+    /**
+     * Removes the page.
+     *
+     * @throws Exception if deletion fails
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        BenchmarkCorpus.deleteTree(root);
+    }
+
+    /**
+     * Detects the page type.
+     *
+     * @return the detected type
+     * @throws Throwable if detection fails
+     */
+    @Benchmark
+    public PageType detectPageType() throws Throwable {
+        return access.detectPageType(page);
+    }
+}
@@ -0,0 +1,98 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks style injection into a page: scanning the head section and splicing the
+ * snippet in front of {@code </head>}.
+ *
+ * <p>
+ * This is the work the former {@code injectStyles} method did on an in-memory
+ * string; it is now performed by {@link HtmlHeadInjector} directly on the file. The
+ * spliced copy is written to a temporary file and discarded, so the source page is
+ * never modified and every invocation does identical work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InjectStylesBenchmark {
+
+    /** Snippet of the size the mojo injects. */
+    private static final byte[] SNIPPET = ("\n<!-- terminal-javadocs-injected v=1.0.0 cfg=0a1b2c3d [javadoc] -->\n"
+            + "<link rel=\"stylesheet\" href=\"../../../terminal-styles/terminaljavadocs-javadoc.min.css\">\n"
+            + "<script src=\"../../../terminal-styles/terminaljavadocs.min.js\" defer></script>\n"
+            + "<!-- /terminal-javadocs-injected -->\n")
+            .getBytes(StandardCharsets.UTF_8);
+
+    /** Page kind. */
+    @Param({"JAVADOC", "JXR", "COVERAGE", "SITE"})
+    public String kind;
+
+    /** Page size class. */
+    @Param({"SMALL", "MEDIUM", "LARGE", "HUGE"})
+    public String size;
+
+    private Path root;
+    private Path page;
+    private final HtmlHeadInjector injector = new HtmlHeadInjector(
+            "<!-- terminal-javadocs-injected", "<!-- /terminal-javadocs-injected -->");
+
+    /**
+     * Writes the page.
+     *
+     * @throws Exception if the page cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("tjd-inject");
+        page = BenchmarkCorpus.writePage(root, root.resolve("apidocs/com/example"),
+                BenchmarkCorpus.Kind.valueOf(kind), BenchmarkCorpus.Size.valueOf(size));
+    }
+
+    /**
+     * Removes the page.
+     *
+     * @throws Exception if deletion fails
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        BenchmarkCorpus.deleteTree(root);
+    }
+
+    /**
+     * Scans the head and writes the spliced page to a temporary file.
+     *
+     * @return the insertion offset
+     * @throws Exception if reading or writing fails
+     */
+    @Benchmark
+    public long injectStyles() throws Exception {
+        try (FileChannel channel = FileChannel.open(page, StandardOpenOption.READ)) {
+            HtmlHeadInjector.HeadScan scan = injector.scan(channel);
+            Path spliced = injector.splice(channel, scan.getInsertOffset(), SNIPPET, page);
+            Files.delete(spliced);
+            return scan.getInsertOffset();
+        }
+    }
+}
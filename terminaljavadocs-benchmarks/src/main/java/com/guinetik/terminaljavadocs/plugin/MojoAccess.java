@@ -0,0 +1,162 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import com.guinetik.terminaljavadocs.plugin.InjectSiteStylesMojo.PageType;
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+
+/**
+ * Configures an {@link InjectSiteStylesMojo} outside Maven and exposes its private
+ * per-file steps to the benchmarks.
+ *
+ * <p>
+ * Parameters are injected by reflection, the same way the unit tests do; everything
+ * else is set up by {@code InjectSiteStylesMojo.initializeExecution}, as at the start
+ * of the goal. The private methods are bound once as {@link MethodHandle}s, so calling
+ * them costs no more than a direct call.
+ */
+final class MojoAccess {
+
+    private final InjectSiteStylesMojo mojo = new InjectSiteStylesMojo();
+    private final MethodHandle detectPageType;
+    private final MethodHandle calculateRelativePath;
+    private final MethodHandle processHtmlFile;
+    private final MethodHandle computeInjectionStamp;
+
+    /**
+     * Creates a mojo configured for a build directory, with nested sites and the
+     * incremental manifest disabled so every run does the full work. Debug logging is
+     * discarded so console output does not distort the measurements.
+     *
+     * @param buildDirectory the {@code target/} directory holding {@code staging/} or {@code site/}
+     * @param parallelism    the number of worker threads, {@code 0} for one per processor
+     * @throws IOException if the plugin resources cannot be loaded
+     */
+    MojoAccess(File buildDirectory, int parallelism) throws IOException {
+        mojo.setLog(new QuietLog());
+        set("buildDirectory", buildDirectory);
+        set("stylesDir", "terminal-styles");
+        set("processNestedSites", false);
+        set("incremental", false);
+        set("parallelism", parallelism);
+        mojo.initializeExecution();
+        detectPageType = handle("detectPageType", File.class);
+        calculateRelativePath = handle("calculateRelativePath", File.class, File.class);
+        processHtmlFile = handle("processHtmlFile", File.class, File.class);
+        computeInjectionStamp = handle("computeInjectionStamp");
+    }
+
+    /**
+     * Returns the configured mojo.
+     *
+     * @return the mojo
+     */
+    InjectSiteStylesMojo getMojo() {
+        return mojo;
+    }
+
+    /**
+     * Calls {@code InjectSiteStylesMojo.detectPageType}.
+     *
+     * @param htmlFile the page
+     * @return the page type
+     * @throws Throwable if detection fails
+     */
+    PageType detectPageType(File htmlFile) throws Throwable {
+        return (PageType) detectPageType.invokeExact(mojo, htmlFile);
+    }
+
+    /**
+     * Calls {@code InjectSiteStylesMojo.calculateRelativePath}.
+     *
+     * @param htmlFile the page
+     * @param siteRoot the site root
+     * @return the relative path
+     * @throws Throwable if the call fails
+     */
+    String calculateRelativePath(File htmlFile, File siteRoot) throws Throwable {
+        return (String) calculateRelativePath.invokeExact(mojo, htmlFile, siteRoot);
+    }
+
+    /**
+     * Calls {@code InjectSiteStylesMojo.processHtmlFile}.
+     *
+     * @param htmlFile the page
+     * @param siteRoot the site root
+     * @throws Throwable if processing fails
+     */
+    void processHtmlFile(File htmlFile, File siteRoot) throws Throwable {
+        processHtmlFile.invokeExact(mojo, htmlFile, siteRoot);
+    }
+
+    /**
+     * Calls {@code InjectSiteStylesMojo.computeInjectionStamp}: the stamp that marks a
+     * page as injected by this configuration, so {@code execute()} skips it.
+     *
+     * @return the stamp
+     * @throws Throwable if the call fails
+     */
+    String computeInjectionStamp() throws Throwable {
+        return (String) computeInjectionStamp.invokeExact(mojo);
+    }
+
+    /**
+     * Sets a private field of the mojo.
+     *
+     * @param name  the field name
+     * @param value the value
+     */
+    private void set(String name, Object value) {
+        try {
+            Field field = InjectSiteStylesMojo.class.getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(mojo, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set mojo field " + name, e);
+        }
+    }
+
+    /**
+     * Binds a private method of the mojo.
+     *
+     * @param name       the method name
+     * @param parameters the parameter types
+     * @return the method handle
+     */
+    private static MethodHandle handle(String name, Class<?>... parameters) {
+        try {
+            Method method = InjectSiteStylesMojo.class.getDeclaredMethod(name, parameters);
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot access mojo method " + name, e);
+        }
+    }
+
+    /**
+     * Console log that discards debug messages.
+     */
+    private static final class QuietLog extends SystemStreamLog {
+
+        @Override
+        public boolean isDebugEnabled() {
+            return false;
+        }
+
+        @Override
+        public void debug(CharSequence content) {
+        }
+
+        @Override
+        public void debug(CharSequence content, Throwable error) {
+        }
+
+        @Override
+        public void debug(Throwable error) {
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@code InjectSiteStylesMojo.processHtmlFile}: head scan, page type
+ * detection, snippet generation and the atomic file replacement.
+ *
+ * <p>
+ * The pristine page is restored before every invocation. Restoring writes the whole
+ * page, so for the smallest pages the per-invocation setup is of the same order as the
+ * measured work; JMH excludes it from the timing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProcessHtmlFileBenchmark {
+
+    /** Page kind. */
+    @Param({"JAVADOC", "JXR", "COVERAGE", "SITE"})
+    public String kind;
+
+    /** Page size class. */
+    @Param({"SMALL", "MEDIUM", "LARGE", "HUGE"})
+    public String size;
+
+    private Path root;
+    private File page;
+    private byte[] pristine;
+    private MojoAccess access;
+
+    /**
+     * Creates the page and configures the mojo.
+     *
+     * @throws Exception if the page cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("tjd-process");
+        BenchmarkCorpus.Kind pageKind = BenchmarkCorpus.Kind.valueOf(kind);
+        Path pagePath = BenchmarkCorpus.writePage(
+                root, root.resolve(pageKind.getDirectory()), pageKind, BenchmarkCorpus.Size.valueOf(size));
+        page = pagePath.toFile();
+        pristine = Files.readAllBytes(pagePath);
+        access = new MojoAccess(root.toFile(), 1);
+    }
+
+    /**
+     * Restores the unprocessed page.
+     *
+     * @throws Exception if the page cannot be written
+     */
+    @Setup(Level.Invocation)
+    public void restorePage() throws Exception {
+        Files.write(page.toPath(), pristine);
+    }
+
+    /**
+     * Removes the page.
+     *
+     * @throws Exception if deletion fails
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        BenchmarkCorpus.deleteTree(root);
+    }
+
+    /**
+     * Processes the page.
+     *
+     * @throws Throwable if processing fails
+     */
+    @Benchmark
+    public void processHtmlFile() throws Throwable {
+        access.processHtmlFile(page, root.toFile());
+    }
+}
@@ -0,0 +1,64 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@code InjectSiteStylesMojo.calculateRelativePath} for pages at
+ * increasing depths below the site root. No file system access is involved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RelativePathBenchmark {
+
+    /** Directory depth of the page below the site root. */
+    @Param({"0", "3", "8", "16"})
+    public int depth;
+
+    private File siteRoot;
+    private File page;
+    private MojoAccess access;
+
+    /**
+     * Builds the page path and configures the mojo.
+     *
+     * @throws Exception if the mojo cannot be configured
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        siteRoot = new File("/builds/example/target/staging");
+        File dir = siteRoot;
+        for (int i = 0; i < depth; i++) {
+            dir = new File(dir, "level" + i);
+        }
+        page = new File(dir, "Widget.html");
+        access = new MojoAccess(new File("/builds/example/target"), 1);
+    }
+
+    /**
+     * Calculates the path from the page to the site root.
+     *
+     * @return the relative path
+     * @throws Throwable if the call fails
+     */
+    @Benchmark
+    public String calculateRelativePath() throws Throwable {
+        return access.calculateRelativePath(page, siteRoot);
+    }
+}
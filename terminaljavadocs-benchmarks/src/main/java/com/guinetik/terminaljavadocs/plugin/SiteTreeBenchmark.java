@@ -0,0 +1,106 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks a complete {@code inject-styles} execution over a staged site tree:
+ * resource loading, asset installation, the tree walk, JaCoCo theming and HTML
+ * injection. The staged site is produced by {@link SyntheticSiteGenerator} with its
+ * default per-module page mix (100 Javadoc, 50 JXR, 50 coverage and 10 site pages).
+ *
+ * <p>
+ * Each measured run processes a fresh copy of the tree, so it is measured as a
+ * single shot per iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SiteTreeBenchmark {
+
+    /** Number of module sites below the staging root. */
+    @Param({"10", "100"})
+    public int modules;
+
+    /** Median page size in bytes; sizes are log-normally distributed around it. */
+    @Param({"4096", "65536"})
+    public int medianBytes;
+
+    /** Fraction of pages already injected by an earlier run. */
+    @Param({"0", "0.9"})
+    public double preInjected;
+
+    /** Worker threads; {@code 0} uses one per processor. */
+    @Param({"1", "0"})
+    public int parallelism;
+
+    private Path corpus;
+    private Path buildDirectory;
+
+    /**
+     * Generates the pristine site once per trial.
+     *
+     * @throws Exception if the site cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        corpus = Files.createTempDirectory("tjd-corpus");
+        buildDirectory = Files.createTempDirectory("tjd-target");
+        new SyntheticSiteGenerator()
+                .modules(modules)
+                .pageSize(medianBytes, 1.0, 1024, 16 * medianBytes)
+                .preInjected(preInjected)
+                .stamp(new MojoAccess(buildDirectory.toFile(), parallelism).computeInjectionStamp())
+                .generate(corpus);
+    }
+
+    /**
+     * Copies the pristine site into {@code target/staging} before every run.
+     *
+     * @throws Exception if copying fails
+     */
+    @Setup(Level.Iteration)
+    public void stageSite() throws Exception {
+        Path staging = buildDirectory.resolve("staging");
+        BenchmarkCorpus.deleteTree(staging);
+        BenchmarkCorpus.copyTree(corpus, staging);
+    }
+
+    /**
+     * Removes the generated trees.
+     *
+     * @throws Exception if deletion fails
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        BenchmarkCorpus.deleteTree(buildDirectory);
+        BenchmarkCorpus.deleteTree(corpus);
+    }
+
+    /**
+     * Runs the goal over the whole tree.
+     *
+     * @throws Exception if the goal fails
+     */
+    @Benchmark
+    public void processSiteTree() throws Exception {
+        new MojoAccess(buildDirectory.toFile(), parallelism).getMojo().execute();
+    }
+}
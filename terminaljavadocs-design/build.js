@@ -1,6 +1,6 @@
 /**
  * TerminalJavadocs Build Script
- * Builds CSS (with PostCSS) and JS (concatenation)
+ * Builds CSS (with PostCSS), JS (concatenation) and the Prism bundles
  */
 
 import { readFile, writeFile, mkdir, readdir, cp } from "fs/promises";
@@ -11,12 +11,14 @@ import postcssImport from "postcss-import";
 import postcssNested from "postcss-nested";
 import cssnano from "cssnano";
 import { minify } from "terser";
+import { extractCriticalCss, splitPluginCss, splitPrintCss } from "./plugin-css.js";
 
 const __dirname = dirname(fileURLToPath(import.meta.url));
 
 const PATHS = {
   srcDir: join(__dirname, "src"),
   jsDir: join(__dirname, "src", "js"),
+  prismDir: join(__dirname, "vendor", "prism"),
   outDir: join(__dirname, "dist"),
   stagingDir: join(__dirname, "..", "target", "staging"),
   pluginResourcesDir: join(
@@ -35,9 +37,16 @@ const PATHS = {
  * - entry: source file name in src/
  * - output: base name for output file (will add .css or .min.css)
  * - expanded: whether to output expanded (non-minified) version
- * - plugin: whether to copy to maven plugin resources (for InjectSiteStylesMojo)
+ * - plugin: whether the bundle is split into maven plugin resources (for InjectSiteStylesMojo)
+ *
+ * dist/ gets the full bundles (core + page styles). The plugin instead gets the
+ * rules its page types share once (PLUGIN_CORE) plus a delta per page type, so
+ * browsers cache the core across report types. Both are split from the minified
+ * bundles by plugin-css.js, so core + delta always cascades like the bundle.
  *
  * Plugin output names must match InjectSiteStylesMojo.PageType enum:
+ *   (all)    -> terminaljavadocs-core.min.css
+ *   LANDING  -> terminaljavadocs-landing.min.css
  *   COVERAGE -> terminaljavadocs-coverage.min.css
  *   JXR      -> terminaljavadocs-jxr.min.css
  *   JAVADOC  -> terminaljavadocs-javadoc.min.css
@@ -82,6 +91,93 @@ const CSS_ENTRIES = [
   },
 ];
 
+/**
+ * Shared core stylesheet linked by every page the plugin injects, split from the
+ * bundle of plain site pages (SITE_OUTPUT) and the other plugin bundles
+ */
+const PLUGIN_CORE = { output: "terminaljavadocs-core" };
+
+const SITE_OUTPUT = "terminaljavadocs-site";
+
+/**
+ * Critical CSS per plugin page type, inlined by InjectSiteStylesMojo when
+ * inlineCriticalCss is on (the default) so the first paint needs no request; the full
+ * stylesheets then load without blocking. Rules are extracted from the minified
+ * bundle of each page type: a rule is kept with the selectors that exactly match
+ * the first-paint patterns of its page type (page background and fonts, the bar at
+ * the top of the page, the title and the main content box). Interaction states,
+ * viewport-specific rules, fonts, keyframes and print styles are left to the full
+ * stylesheets, and only the custom properties the kept rules use are inlined.
+ */
+const CRITICAL_COMMON = [/^:root$/, /^html$/, /^body(\.topBarEnabled)?$/, /^h1$/];
+
+const CRITICAL_JAVADOC = [
+  /^\.flex-(box|header|content)$/,
+  /^\.top-nav$/,
+  /^\.topNav$/,
+  /^\.title$/,
+  /^main$/,
+];
+
+const CRITICAL_EXCLUDE =
+  /:(hover|focus|focus-visible|focus-within|active|visited)\b|::?(placeholder|selection|-webkit-scrollbar)|\.dropdown|\.open\b|\.caret/;
+
+/**
+ * First-paint selector patterns per plugin bundle. The site navbar is the only one
+ * in the generated markup; other page types get theirs from terminaljavadocs.min.js
+ * after the stylesheets have loaded.
+ */
+const CRITICAL_SELECTORS = {
+  "terminaljavadocs-site": [
+    /^(header)?#topbar$/,
+    /^#topbar \.navbar-inner$/,
+    /^#topbar \.brand$/,
+    /^#breadcrumbs$/,
+    /^#bodyColumn$/,
+  ],
+  "terminaljavadocs-landing": [/^\.terminal-(header|brand)$/, /^\.module-list$/],
+  "terminaljavadocs-javadoc": CRITICAL_JAVADOC,
+  "terminaljavadocs-coverage": [/^\.breadcrumb$/, /^table\.coverage$/],
+  "terminaljavadocs-jxr": [...CRITICAL_JAVADOC, /^body>pre:not\(\[class\]\)$/],
+};
+
+/**
+ * Upper bound for each critical file, in bytes. It is inlined into every page of
+ * its type, so the build fails rather than let it grow into a second stylesheet.
+ */
+const CRITICAL_BUDGET = 4 * 1024;
+
+/**
+ * Minify CSS source (resolving imports) with the shared PostCSS pipeline
+ */
+async function minifyCSS(css, from) {
+  const result = await postcss([
+    postcssImport(),
+    postcssNested(),
+    cssnano({ preset: "default" }),
+  ]).process(css, { from });
+  return result.css;
+}
+
+/**
+ * Extract the critical CSS of one plugin bundle, enforcing CRITICAL_BUDGET
+ */
+async function buildCriticalCSS(result) {
+  const patterns = [...CRITICAL_COMMON, ...CRITICAL_SELECTORS[result.output]];
+  const critical = extractCriticalCss(
+    result.minified,
+    (selector) => !CRITICAL_EXCLUDE.test(selector) && patterns.some((p) => p.test(selector)),
+  );
+  if (critical.length > CRITICAL_BUDGET) {
+    throw new Error(
+      `${result.output}.critical.min.css is ${critical.length} bytes, over the ${CRITICAL_BUDGET}-byte budget`,
+    );
+  }
+
+  await writeFile(join(PATHS.pluginResourcesDir, `${result.output}.critical.min.css`), critical);
+  result.sizes.critical = critical.length;
+}
+
 /**
  * Build a single CSS entry point
  */
@@ -103,31 +199,47 @@ async function buildCSSEntry({ entry, output, expanded, plugin }) {
   }
 
   // Always build minified version
-  const minifiedResult = await postcss([
-    postcssImport(),
-    postcssNested(),
-    cssnano({ preset: "default" }),
-  ]).process(css, { from: entryPath });
+  const minified = await minifyCSS(css, entryPath);
 
-  await writeFile(join(PATHS.outDir, `${output}.min.css`), minifiedResult.css);
-  results.sizes.minified = minifiedResult.css.length;
+  await writeFile(join(PATHS.outDir, `${output}.min.css`), minified);
+  results.minified = minified;
+  results.sizes.minified = minified.length;
 
-  // Copy to plugin resources if flagged
-  if (plugin) {
-    await writeFile(
-      join(PATHS.pluginResourcesDir, `${output}.min.css`),
-      minifiedResult.css,
-    );
+  return results;
+}
+
+/**
+ * Split the plugin bundles into the shared core and a delta per page type, move
+ * their print rules into a print stylesheet per page type, and extract the critical
+ * CSS of each page type
+ */
+async function buildPluginCSS(entries) {
+  const bundles = {};
+  for (const result of entries.filter((r) => r.plugin)) {
+    const { screen, print } = splitPrintCss(result.minified);
+    bundles[result.output] = screen;
+    await writeFile(join(PATHS.pluginResourcesDir, `${result.output}.print.min.css`), print);
+    result.sizes.print = print.length;
+  }
+  const { core, deltas } = splitPluginCss(bundles[SITE_OUTPUT], bundles);
+
+  await writeFile(join(PATHS.outDir, `${PLUGIN_CORE.output}.min.css`), core);
+  await writeFile(join(PATHS.pluginResourcesDir, `${PLUGIN_CORE.output}.min.css`), core);
+  for (const result of entries.filter((r) => r.plugin)) {
+    await writeFile(join(PATHS.pluginResourcesDir, `${result.output}.min.css`), deltas[result.output]);
+    result.sizes.delta = deltas[result.output].length;
+    await buildCriticalCSS(result);
   }
 
-  return results;
+  return { output: PLUGIN_CORE.output, sizes: { minified: core.length }, plugin: true };
 }
 
 /**
- * Build all CSS entry points
+ * Build all CSS entry points, then the plugin stylesheets from their bundles
  */
 async function buildCSS() {
-  return await Promise.all(CSS_ENTRIES.map(buildCSSEntry));
+  const entries = await Promise.all(CSS_ENTRIES.map(buildCSSEntry));
+  return [await buildPluginCSS(entries), ...entries];
 }
 
 /**
@@ -145,10 +257,10 @@ async function buildInject() {
 }
 
 /**
- * Build main JS bundle (concatenation + terser minification)
- * Excludes inject.js since it's built separately
+ * Concatenate the JS sources (all but inject.js, which is built separately) and
+ * minify them with terser
  */
-async function buildJS() {
+async function bundleJS() {
   const files = await readdir(PATHS.jsDir);
   const jsFiles = files
     .filter((f) => f.endsWith(".js") && f !== "inject.js")
@@ -164,10 +276,87 @@ async function buildJS() {
   // Minify with terser
   const minified = await minify(combined, { compress: true, mangle: true });
 
+  return { combined, minified: minified.code };
+}
+
+/**
+ * Build main JS bundle (concatenation + terser minification)
+ */
+async function buildJS() {
+  const { combined, minified } = await bundleJS();
+
   await writeFile(join(PATHS.outDir, "terminaljavadocs.js"), combined);
-  await writeFile(join(PATHS.outDir, "terminaljavadocs.min.js"), minified.code);
+  await writeFile(join(PATHS.outDir, "terminaljavadocs.min.js"), minified);
 
-  return { expanded: combined.length, minified: minified.code.length };
+  return { expanded: combined.length, minified: minified.length };
+}
+
+/**
+ * Prism files shipped with the plugin and loaded by main.js from beside itself: the
+ * core, then one file per language holding its grammar and the grammars it extends.
+ * Names must match PRISM_CORE/PRISM_GRAMMARS in main.js and PRISM_FILES in
+ * InjectSiteStylesMojo.
+ */
+const PRISM_BUNDLES = [
+  { output: "terminaljavadocs-prism", components: ["prism-core"] },
+  { output: "terminaljavadocs-prism-java", components: ["prism-clike", "prism-java"] },
+  { output: "terminaljavadocs-prism-javascript", components: ["prism-clike", "prism-javascript"] },
+  { output: "terminaljavadocs-prism-markup", components: ["prism-markup"] },
+  { output: "terminaljavadocs-prism-css", components: ["prism-css"] },
+  { output: "terminaljavadocs-prism-bash", components: ["prism-bash"] },
+  { output: "terminaljavadocs-prism-json", components: ["prism-json"] },
+  { output: "terminaljavadocs-prism-properties", components: ["prism-properties"] },
+];
+
+const PRISM_BANNER = "/*! PrismJS 1.29.0 | MIT License, Copyright (c) 2012 Lea Verou | https://prismjs.com */\n";
+
+/**
+ * Bundle the Prism core and grammars from the vendored release
+ */
+async function bundlePrism() {
+  return Promise.all(
+    PRISM_BUNDLES.map(async ({ output, components }) => {
+      const parts = await Promise.all(
+        components.map((c) => readFile(join(PATHS.prismDir, `${c}.min.js`), "utf8")),
+      );
+      return { file: `${output}.min.js`, code: PRISM_BANNER + parts.join("\n") + "\n" };
+    }),
+  );
+}
+
+/**
+ * Write the Prism bundles to dist/ and the plugin resources
+ */
+async function buildPrism() {
+  const bundles = await bundlePrism();
+  for (const { file, code } of bundles) {
+    await writeFile(join(PATHS.outDir, file), code);
+    await writeFile(join(PATHS.pluginResourcesDir, file), code);
+  }
+  return bundles.map(({ file, code }) => ({ file, size: code.length }));
+}
+
+/**
+ * Fail when a script committed to the plugin resources (the JS bundle, the Prism
+ * bundles) is not the one the sources build to, so source changes never ship
+ * without their bundle
+ */
+async function check() {
+  const { minified } = await bundleJS();
+  const expected = [{ file: "terminaljavadocs.min.js", code: minified }, ...(await bundlePrism())];
+  let stale = 0;
+  for (const { file, code } of expected) {
+    const committed = await readFile(join(PATHS.pluginResourcesDir, file), "utf8").catch(() => null);
+    if (committed !== code) {
+      console.error(`✗ ${file} in the plugin resources is out of date with its sources.`);
+      stale++;
+    }
+  }
+  if (stale > 0) {
+    console.error("  Run 'npm run build' and commit the result.");
+    process.exit(1);
+  }
+  console.log(`✓ ${expected.length} plugin scripts match src/js and vendor/prism`);
 }
 
 /**
@@ -189,10 +378,11 @@ async function build() {
     await mkdir(PATHS.outDir, { recursive: true });
     await mkdir(PATHS.pluginResourcesDir, { recursive: true });
 
-    const [cssResults, js, inject] = await Promise.all([
+    const [cssResults, js, inject, prism] = await Promise.all([
       buildCSS(),
       buildJS(),
       buildInject(),
+      buildPrism(),
     ]);
 
     // Copy JS to plugin resources (for InjectSiteStylesMojo)
@@ -215,7 +405,12 @@ async function build() {
 
     for (const result of cssResults) {
       const minSize = (result.sizes.minified / 1024).toFixed(1);
-      const pluginMarker = result.plugin ? " → plugin" : "";
+      const pluginMarker = !result.plugin
+        ? ""
+        : result.sizes.delta !== undefined
+          ? ` → plugin delta ${(result.sizes.delta / 1024).toFixed(1)} KB` +
+            ` + print ${(result.sizes.print / 1024).toFixed(1)} KB`
+          : " → plugin";
       if (result.sizes.expanded) {
         const expSize = (result.sizes.expanded / 1024).toFixed(1);
         console.log(`  ${result.output}.css`.padEnd(38) + `${expSize} KB`);
@@ -231,6 +426,17 @@ async function build() {
       }
     }
 
+    console.log("\nCritical CSS (plugin, inlined):");
+    console.log("─".repeat(50));
+    for (const result of cssResults.filter((r) => r.sizes.critical !== undefined)) {
+      const criticalSize = (result.sizes.critical / 1024).toFixed(1);
+      const share = Math.round((result.sizes.critical / CRITICAL_BUDGET) * 100);
+      console.log(
+        `  ${result.output}.critical.min.css`.padEnd(46) +
+          `${criticalSize} KB (${share}% of budget)`,
+      );
+    }
+
     console.log("\nJS Outputs (dist/):");
     console.log("─".repeat(50));
     const jsSize = (js.minified / 1024).toFixed(1);
@@ -239,10 +445,14 @@ async function build() {
       `  terminaljavadocs.min.js`.padEnd(38) + `${jsSize} KB → plugin`,
     );
     console.log(`  inject.min.js`.padEnd(38) + `${injectSize} KB`);
+    for (const bundle of prism) {
+      const bundleSize = (bundle.size / 1024).toFixed(1);
+      console.log(`  ${bundle.file}`.padEnd(46) + `${bundleSize} KB → plugin`);
+    }
 
     console.log("\n✓ Copied to ../target/staging/");
     console.log(
-      `✓ Copied ${pluginCssCount} CSS + 1 JS to maven plugin resources\n`,
+      `✓ Copied ${pluginCssCount} CSS + ${1 + prism.length} JS to maven plugin resources\n`,
     );
   } catch (err) {
     console.error("✗ Build failed:", err.message);
@@ -250,8 +460,10 @@ async function build() {
   }
 }
 
-// Watch mode
-if (process.argv.includes("--watch")) {
+// Check, watch or single build
+if (process.argv.includes("--check")) {
+  check();
+} else if (process.argv.includes("--watch")) {
   const { watch } = await import("fs");
   console.log("Watching src/ for changes...\n");
   build();
@@ -0,0 +1,397 @@
+/**
+ * TerminalJavadocs Plugin Stylesheet Split
+ *
+ * Splits the minified page type bundles into the stylesheets the Maven plugin
+ * links: a core shared by every page type and one delta per page type. The split
+ * works on the bundles themselves, after cssnano, so core + delta
+ * always holds exactly the rules of the bundle; only rules whose order cannot
+ * change the cascade are moved into the core.
+ *
+ * No dependencies: the input is cssnano output (no comments, one rule per block).
+ */
+
+/**
+ * Split minified CSS into its top-level blocks (rules, at-rules and statements)
+ */
+export function splitBlocks(css) {
+  const blocks = [];
+  let depth = 0;
+  let start = 0;
+  let quote = null;
+  for (let i = 0; i < css.length; i++) {
+    const c = css[i];
+    if (quote) {
+      if (c === "\\") i++;
+      else if (c === quote) quote = null;
+    } else if (c === '"' || c === "'") {
+      quote = c;
+    } else if (c === "{") {
+      depth++;
+    } else if (c === "}" && --depth === 0) {
+      blocks.push(css.slice(start, i + 1));
+      start = i + 1;
+    } else if (c === ";" && depth === 0) {
+      blocks.push(css.slice(start, i + 1));
+      start = i + 1;
+    }
+  }
+  if (css.slice(start).trim()) {
+    blocks.push(css.slice(start));
+  }
+  return blocks;
+}
+
+/**
+ * Split a selector or declaration list on a separator outside brackets and strings
+ */
+function splitList(text, separator) {
+  const parts = [];
+  let depth = 0;
+  let start = 0;
+  let quote = null;
+  for (let i = 0; i < text.length; i++) {
+    const c = text[i];
+    if (quote) {
+      if (c === "\\") i++;
+      else if (c === quote) quote = null;
+    } else if (c === '"' || c === "'") {
+      quote = c;
+    } else if (c === "(" || c === "[") {
+      depth++;
+    } else if (c === ")" || c === "]") {
+      depth--;
+    } else if (c === separator && depth === 0) {
+      parts.push(text.slice(start, i));
+      start = i + 1;
+    }
+  }
+  parts.push(text.slice(start));
+  return parts.map((part) => part.trim()).filter(Boolean);
+}
+
+/** Longhands set by a shorthand whose name does not start with the shorthand's */
+const PROPERTY_FAMILIES = {
+  top: "inset",
+  right: "inset",
+  bottom: "inset",
+  left: "inset",
+  "row-gap": "gap",
+  "column-gap": "gap",
+  place: "align",
+  justify: "align",
+  "line-height": "font",
+};
+
+/**
+ * Group a property with the shorthands and longhands that may set the same value
+ * (margin-top with margin, border-color with border, ...)
+ */
+function propertyFamily(property) {
+  if (property.startsWith("--")) return property;
+  const name = property.replace(/^-(webkit|moz|ms|o)-/, "");
+  const prefix = name.split("-")[0];
+  return PROPERTY_FAMILIES[name] || PROPERTY_FAMILIES[prefix] || prefix;
+}
+
+const ruleCache = new Map();
+
+/**
+ * Style rules of a block, with the media (and supports) conditions around them
+ */
+function parseRules(block, condition = "") {
+  const key = condition + block;
+  if (ruleCache.has(key)) return ruleCache.get(key);
+  let rules = [];
+  const open = block.indexOf("{");
+  if (block.startsWith("@")) {
+    if (/^@(media|supports)\b/.test(block)) {
+      const inner = condition + block.slice(0, open);
+      rules = splitBlocks(block.slice(open + 1, -1)).flatMap((b) => parseRules(b, inner));
+    }
+  } else if (open > 0) {
+    const declarations = new Map();
+    for (const declaration of splitList(block.slice(open + 1, -1), ";")) {
+      const colon = declaration.indexOf(":");
+      if (colon > 0) {
+        declarations.set(declaration.slice(0, colon).trim(), /!important$/.test(declaration));
+      }
+    }
+    rules = [{
+      selectors: splitList(block.slice(0, open), ","),
+      declarations,
+      families: new Set([...declarations.keys()].map(propertyFamily)),
+      condition,
+    }];
+  }
+  ruleCache.set(key, rules);
+  return rules;
+}
+
+const LEGACY_PSEUDO_ELEMENTS = /^:(before|after|first-line|first-letter)$/;
+
+const specificityCache = new Map();
+
+/**
+ * Selector specificity as [ids, classes, types]
+ */
+function specificity(selector) {
+  if (!specificityCache.has(selector)) {
+    specificityCache.set(selector, computeSpecificity(selector));
+  }
+  return specificityCache.get(selector);
+}
+
+function computeSpecificity(selector) {
+  const result = [0, 0, 0];
+  const token = /#[\w-]+|\.[\w-]+|\[(?:[^\]"']|"[^"]*"|'[^']*')*\]|::?[\w-]+(\((?:[^()]|\([^()]*\))*\))?|[a-zA-Z][\w-]*|\*/g;
+  for (const [match, args] of selector.matchAll(token)) {
+    if (match[0] === "#") {
+      result[0]++;
+    } else if (match[0] === "." || match[0] === "[") {
+      result[1]++;
+    } else if (match.startsWith("::") || LEGACY_PSEUDO_ELEMENTS.test(match)) {
+      result[2]++;
+    } else if (match[0] === ":") {
+      const name = match.slice(1, match.indexOf("(") > 0 ? match.indexOf("(") : undefined);
+      if (name === "where") continue;
+      if (["is", "not", "has", "matches"].includes(name)) {
+        const inner = splitList(args.slice(1, -1), ",").map(specificity).sort(compareSpecificity);
+        const max = inner[inner.length - 1] || [0, 0, 0];
+        result[0] += max[0];
+        result[1] += max[1];
+        result[2] += max[2];
+      } else {
+        result[1]++;
+      }
+    } else if (match !== "*") {
+      result[2]++;
+    }
+  }
+  return result;
+}
+
+function compareSpecificity(a, b) {
+  return a[0] - b[0] || a[1] - b[1] || a[2] - b[2];
+}
+
+/**
+ * The compound selector of the element a complex selector applies to
+ */
+function subject(selector) {
+  const compounds = splitList(selector.replace(/\s*[>+~]\s*/g, " "), " ");
+  return compounds[compounds.length - 1] || "";
+}
+
+const PSEUDO_ELEMENT = /::?(before|after|first-line|first-letter|marker|placeholder|selection|backdrop|-webkit-[\w-]+|-moz-[\w-]+)\b/;
+
+/**
+ * Whether two selectors could select the same element (or pseudo-element);
+ * only answers false when their subjects name different elements, ids or
+ * pseudo-elements
+ */
+function mayMatchSameElement(a, b) {
+  const subjectA = subject(a);
+  const subjectB = subject(b);
+  const typeA = (subjectA.match(/^[a-zA-Z][\w-]*/) || [""])[0].toLowerCase();
+  const typeB = (subjectB.match(/^[a-zA-Z][\w-]*/) || [""])[0].toLowerCase();
+  if (typeA && typeB && typeA !== typeB) return false;
+  const idA = (subjectA.match(/#[\w-]+/) || [""])[0];
+  const idB = (subjectB.match(/#[\w-]+/) || [""])[0];
+  if (idA && idB && idA !== idB) return false;
+  const pseudoA = (subjectA.match(PSEUDO_ELEMENT) || [""])[0].replace(/^::?/, "");
+  const pseudoB = (subjectB.match(PSEUDO_ELEMENT) || [""])[0].replace(/^::?/, "");
+  return pseudoA === pseudoB;
+}
+
+/**
+ * Whether swapping two blocks could change the computed style of some element:
+ * both set a property of the same family, with the same importance, through
+ * selectors of equal specificity that may match the same element. Media
+ * conditions are ignored, which only ever reports more conflicts.
+ */
+function orderMatters(x, y) {
+  for (const ruleX of parseRules(x)) {
+    for (const ruleY of parseRules(y)) {
+      const shared = [...ruleX.declarations].some(([property, important]) =>
+        [...ruleY.declarations].some(([other, otherImportant]) =>
+          important === otherImportant && propertyFamily(property) === propertyFamily(other)));
+      if (!shared) continue;
+      for (const a of ruleX.selectors) {
+        for (const b of ruleY.selectors) {
+          if (compareSpecificity(specificity(a), specificity(b)) === 0 && mayMatchSameElement(a, b)) {
+            return true;
+          }
+        }
+      }
+    }
+  }
+  return false;
+}
+
+/**
+ * Whether every declaration of a block is set again by one of the later blocks,
+ * for the same selector, conditions and importance (so the block has no effect)
+ */
+function overridden(block, later) {
+  return parseRules(block).every((rule) =>
+    rule.selectors.every((selector) =>
+      [...rule.declarations].every(([property, important]) =>
+        later.some((other) => parseRules(other).some((otherRule) =>
+          otherRule.condition === rule.condition &&
+          otherRule.selectors.includes(selector) &&
+          otherRule.declarations.get(property) === important)))));
+}
+
+/**
+ * Find a core block that cannot be shared with one bundle, or null
+ *
+ * Pages of the bundle's type link the core ahead of their delta, so the split must
+ * keep the bundle's order for every pair of blocks whose order matters, and any
+ * core block the bundle does not have (cssnano merged it into another rule there)
+ * must be overridden by what follows it.
+ */
+function findUnsharable(core, bundle) {
+  const inBundle = new Set(bundle);
+  const coreSet = new Set(core);
+  const linked = [...core, ...bundle.filter((block) => !coreSet.has(block))];
+  const linkedIndex = new Map(linked.map((block, i) => [block, i]));
+
+  for (let i = 0; i < core.length; i++) {
+    if (!inBundle.has(core[i]) &&
+        !overridden(core[i], linked.slice(i + 1).filter((block) => inBundle.has(block)))) {
+      return core[i];
+    }
+  }
+  for (let j = 0; j < bundle.length; j++) {
+    for (let i = 0; i < j; i++) {
+      const x = bundle[i];
+      const y = bundle[j];
+      if (linkedIndex.get(x) > linkedIndex.get(y) && orderMatters(x, y)) {
+        return coreSet.has(y) ? y : x;
+      }
+    }
+  }
+  return null;
+}
+
+/**
+ * Split the minified bundles of every plugin page type into a shared core and
+ * one delta per bundle
+ *
+ * The core starts as the whole site bundle and gives up blocks, which then stay
+ * in the deltas, until it can be linked ahead of every page type's delta.
+ *
+ * @param site    minified bundle of plain site pages
+ * @param bundles minified bundles keyed by output name, including the site bundle
+ * @returns {{ core: string, deltas: Object<string, string> }}
+ */
+export function splitPluginCss(site, bundles) {
+  const bundleBlocks = Object.values(bundles).map(splitBlocks);
+
+  let core = splitBlocks(site);
+  for (;;) {
+    let unsharable = null;
+    for (const bundle of bundleBlocks) {
+      unsharable = findUnsharable(core, bundle);
+      if (unsharable) break;
+    }
+    if (!unsharable) break;
+    core = core.filter((block) => block !== unsharable);
+  }
+
+  const coreSet = new Set(core);
+  const deltas = {};
+  for (const [output, css] of Object.entries(bundles)) {
+    deltas[output] = splitBlocks(css).filter((block) => !coreSet.has(block)).join("");
+  }
+  return { core: core.join(""), deltas };
+}
+
+/**
+ * Separate the top-level print media blocks of a minified bundle, which the plugin
+ * links as their own media="print" stylesheet so they never block the screen. They
+ * only hold !important declarations, so linking them last cannot change the cascade.
+ *
+ * @param css minified bundle
+ * @returns {{ screen: string, print: string }}
+ */
+export function splitPrintCss(css) {
+  const blocks = splitBlocks(css);
+  const isPrint = (block) => /^@media\s*print\s*\{/.test(block);
+  return {
+    screen: blocks.filter((block) => !isPrint(block)).join(""),
+    print: blocks.filter(isPrint).join(""),
+  };
+}
+
+/**
+ * Keep the critical part of one block: style rules reduced to their critical
+ * selectors, inside unconditional screen media blocks. Viewport-specific rules and
+ * other at-rules (@import, @font-face, @keyframes, print styles) are left to the
+ * full stylesheets.
+ */
+function criticalBlock(block, isCritical) {
+  const open = block.indexOf("{");
+  if (/^@media\s*screen$/.test(block.slice(0, open).trim())) {
+    const inner = splitBlocks(block.slice(open + 1, -1))
+      .map((b) => criticalBlock(b, isCritical))
+      .join("");
+    return inner && block.slice(0, open + 1) + inner + "}";
+  }
+  if (block.startsWith("@") || open < 0) {
+    return "";
+  }
+  const selectors = splitList(block.slice(0, open), ",").filter(isCritical);
+  return selectors.length ? selectors.join(",") + block.slice(open) : "";
+}
+
+/**
+ * Rewrite the declarations of every style rule, dropping rules left empty
+ */
+function mapDeclarations(blocks, map) {
+  return blocks
+    .map((block) => {
+      const open = block.indexOf("{");
+      if (block.startsWith("@")) {
+        const inner = mapDeclarations(splitBlocks(block.slice(open + 1, -1)), map).join("");
+        return inner && block.slice(0, open + 1) + inner + "}";
+      }
+      const declarations = map(splitList(block.slice(open + 1, -1), ";"));
+      return declarations.length ? `${block.slice(0, open)}{${declarations.join(";")}}` : "";
+    })
+    .filter(Boolean);
+}
+
+const isCustomProperty = (declaration) => declaration.startsWith("--");
+const customPropertyName = (declaration) => declaration.slice(0, declaration.indexOf(":")).trim();
+const variableReferences = (text) => [...text.matchAll(/var\((--[\w-]+)/g)].map((m) => m[1]);
+
+/**
+ * Extract the critical CSS of a minified bundle: the rules with selectors that
+ * pass the filter, reduced to those selectors, and only the custom properties
+ * they use
+ */
+export function extractCriticalCss(bundle, isCritical) {
+  const blocks = splitBlocks(bundle).map((block) => criticalBlock(block, isCritical)).filter(Boolean);
+
+  const used = new Set();
+  mapDeclarations(blocks, (declarations) => {
+    declarations.filter((d) => !isCustomProperty(d)).forEach((d) => variableReferences(d).forEach((v) => used.add(v)));
+    return declarations;
+  });
+  const values = new Map();
+  mapDeclarations(blocks, (declarations) => {
+    declarations.filter(isCustomProperty).forEach((d) => {
+      values.set(customPropertyName(d), [...(values.get(customPropertyName(d)) || []), d]);
+    });
+    return declarations;
+  });
+  for (const name of used) {
+    for (const declaration of values.get(name) || []) {
+      variableReferences(declaration.slice(name.length)).forEach((v) => used.add(v));
+    }
+  }
+
+  return mapDeclarations(blocks, (declarations) =>
+    declarations.filter((d) => !isCustomProperty(d) || used.has(customPropertyName(d)))).join("");
+}
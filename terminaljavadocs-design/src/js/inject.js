@@ -19,8 +19,32 @@
 
   var basePath = currentScript.src.substring(0, currentScript.src.lastIndexOf('/'));
 
+  // Web fonts (Fira Code, Space Grotesk), linked next to the theme CSS
+  var FONTS_ORIGIN = 'https://fonts.gstatic.com';
+  var FONTS_URL = 'https://fonts.googleapis.com/css2?family=Fira+Code:wght@400;500;600;700' +
+    '&family=Space+Grotesk:wght@400;500;600;700&display=swap';
+
   // Track what's been injected to avoid duplicates
-  var injected = { css: null, js: false };
+  var injected = { css: null, js: false, fonts: false };
+
+  /**
+   * Inject the web font stylesheet (not render-blocking: added from script)
+   */
+  function injectFonts() {
+    if (injected.fonts) return;
+
+    var preconnect = document.createElement('link');
+    preconnect.rel = 'preconnect';
+    preconnect.href = FONTS_ORIGIN;
+    preconnect.crossOrigin = '';
+    document.head.appendChild(preconnect);
+
+    var link = document.createElement('link');
+    link.rel = 'stylesheet';
+    link.href = FONTS_URL;
+    document.head.appendChild(link);
+    injected.fonts = true;
+  }
 
   /**
    * Inject a CSS file
@@ -59,6 +83,7 @@
    * Main injection function
    */
   function inject(cssFile) {
+    injectFonts();
     injectCSS(cssFile);
     injectJS();
   }
@@ -0,0 +1,25 @@
+/**
+ * Stylesheet Loader
+ * - Applies the stylesheets InjectSiteStylesMojo links without blocking the
+ *   first paint (media="print" data-tjd, next to the inlined critical CSS)
+ * - Runs from this script rather than an inline onload handler, so a strict
+ *   Content-Security-Policy (script-src 'self') still lets the swap happen
+ */
+(function() {
+  'use strict';
+
+  /**
+   * Apply a stylesheet to the screen once it has loaded
+   */
+  function apply(link) {
+    if (link.sheet) {
+      link.media = 'all';
+    } else {
+      link.addEventListener('load', function() {
+        link.media = 'all';
+      });
+    }
+  }
+
+  document.querySelectorAll('link[rel="stylesheet"][data-tjd]').forEach(apply);
+})();
@@ -1,20 +1,42 @@
 /**
  * TerminalJavadocs - Main JS Entry
- * - Prism.js syntax highlighting
+ * - Prism.js syntax highlighting (bundled, grammars loaded on demand, blocks
+ *   highlighted near the viewport, tokenized in a Web Worker)
  * - Terminal window wrappers for tables
  */
 (function() {
   'use strict';
 
-  // Prism CDN - core + languages only (theme is in our CSS)
-  var PRISM_CORE = 'https://cdnjs.cloudflare.com/ajax/libs/prism/1.29.0/prism.min.js';
-  var PRISM_LANGS = [
-    'https://cdnjs.cloudflare.com/ajax/libs/prism/1.29.0/components/prism-java.min.js',
-    'https://cdnjs.cloudflare.com/ajax/libs/prism/1.29.0/components/prism-markup.min.js',
-    'https://cdnjs.cloudflare.com/ajax/libs/prism/1.29.0/components/prism-bash.min.js',
-    'https://cdnjs.cloudflare.com/ajax/libs/prism/1.29.0/components/prism-json.min.js',
-    'https://cdnjs.cloudflare.com/ajax/libs/prism/1.29.0/components/prism-properties.min.js'
-  ];
+  // Prism is bundled next to this script (theme is in our CSS): the core, plus
+  // one grammar file per language, loaded only for languages found on the page
+  var PRISM_CORE = 'terminaljavadocs-prism.min.js';
+  var PRISM_GRAMMARS = {
+    java: 'terminaljavadocs-prism-java.min.js',
+    javascript: 'terminaljavadocs-prism-javascript.min.js',
+    js: 'terminaljavadocs-prism-javascript.min.js',
+    xml: 'terminaljavadocs-prism-markup.min.js',
+    markup: 'terminaljavadocs-prism-markup.min.js',
+    html: 'terminaljavadocs-prism-markup.min.js',
+    css: 'terminaljavadocs-prism-css.min.js',
+    bash: 'terminaljavadocs-prism-bash.min.js',
+    shell: 'terminaljavadocs-prism-bash.min.js',
+    json: 'terminaljavadocs-prism-json.min.js',
+    properties: 'terminaljavadocs-prism-properties.min.js'
+  };
+
+  // Directory this script was served from, holding the Prism files
+  var BASE_URL = document.currentScript
+    ? document.currentScript.src.replace(/[^\/]*$/, '')
+    : '';
+
+  // Elements Prism highlights (as Prism.highlightAll would select them)
+  var PRISM_SELECTOR = 'code[class*="language-"], [class*="language-"] code';
+
+  // Blocks are highlighted once within this distance of the viewport
+  var VIEWPORT_MARGIN = '600px 0px';
+
+  // Highlighted markup is applied this many top-level tokens per animation frame
+  var TOKENS_PER_FRAME = 500;
 
   /**
    * Load a script and return a promise
@@ -78,15 +100,169 @@
     });
   }
 
+  /**
+   * Language of a block Prism highlights, from its own or its parent's class
+   */
+  function blockLanguage(code) {
+    var match = code.className.match(/language-(\w+)/) ||
+      code.parentElement.className.match(/language-(\w+)/);
+    return match && match[1];
+  }
+
+  /**
+   * URLs of the grammar files needed by the blocks Prism will highlight
+   * (JaCoCo's pre.source keeps its coverage markup and is never highlighted)
+   */
+  function detectGrammars() {
+    var grammars = [];
+    document.querySelectorAll(PRISM_SELECTOR).forEach(function(code) {
+      var grammar = PRISM_GRAMMARS[blockLanguage(code)];
+      if (grammar && grammars.indexOf(BASE_URL + grammar) === -1) {
+        grammars.push(BASE_URL + grammar);
+      }
+    });
+    return grammars;
+  }
+
+  /**
+   * Highlight code into one chunk of markup per top-level token, so it can be
+   * applied in parts; each chunk is complete markup on its own
+   * Also runs inside the worker, so it may only use its arguments
+   */
+  function highlightChunks(Prism, code, language) {
+    var tokens = Prism.util.encode(Prism.tokenize(code, Prism.languages[language]));
+    return tokens.map(function(token) {
+      return Prism.Token.stringify(token, language);
+    });
+  }
+
+
+  /**
+   * Create a tokenizer returning a promise of highlighted chunks
+   * Runs Prism in a Web Worker where possible so huge blocks never block the page;
+   * falls back to the main thread without Worker support, under a CSP that forbids
+   * blob workers, or if the worker fails to load Prism
+   */
+  function createTokenizer(grammars) {
+    function mainThread(code, language) {
+      return Promise.resolve(highlightChunks(Prism, code, language));
+    }
+
+    var worker;
+    try {
+      var scripts = [BASE_URL + PRISM_CORE].concat(grammars).map(function(src) {
+        return JSON.stringify(src);
+      });
+      var source = 'self.Prism={disableWorkerMessageHandler:true};' +
+        'importScripts(' + scripts.join(',') + ');' +
+        'var highlightChunks=' + highlightChunks + ';' +
+        'onmessage=function(e){var d=e.data;postMessage({id:d.id,' +
+        'chunks:highlightChunks(Prism,d.code,d.language)});};';
+      worker = new Worker(URL.createObjectURL(new Blob([source], { type: 'text/javascript' })));
+    } catch (err) {
+      return mainThread;
+    }
+
+    var pending = {};
+    var nextId = 0;
+
+    worker.onmessage = function(e) {
+      var job = pending[e.data.id];
+      delete pending[e.data.id];
+      job.resolve(e.data.chunks);
+    };
+
+    // Hand everything still queued to the main thread
+    worker.onerror = function(e) {
+      e.preventDefault();
+      worker.terminate();
+      worker = null;
+      Object.keys(pending).forEach(function(id) {
+        var job = pending[id];
+        delete pending[id];
+        job.resolve(mainThread(job.code, job.language));
+      });
+    };
+
+    return function(code, language) {
+      if (!worker) return mainThread(code, language);
+      return new Promise(function(resolve) {
+        var id = nextId++;
+        pending[id] = { resolve: resolve, code: code, language: language };
+        worker.postMessage({ id: id, code: code, language: language });
+      });
+    };
+  }
+
+  /**
+   * Replace a block's text with its highlighted chunks, a batch per animation
+   * frame, so a huge block is never parsed in one long task; the text not yet
+   * replaced stays in place until its batch is applied
+   */
+  function applyChunks(code, chunks) {
+    var rest = document.createTextNode(code.textContent);
+    code.textContent = '';
+    code.appendChild(rest);
+    var range = document.createRange();
+    range.selectNodeContents(code);
+    var next = 0;
+
+    (function applyBatch() {
+      var batch = range.createContextualFragment(chunks.slice(next, next + TOKENS_PER_FRAME).join(''));
+      rest.deleteData(0, batch.textContent.length);
+      code.insertBefore(batch, rest);
+      next += TOKENS_PER_FRAME;
+      if (next < chunks.length) {
+        requestAnimationFrame(applyBatch);
+      } else {
+        code.removeChild(rest);
+      }
+    })();
+  }
+
+  /**
+   * Highlight one code element with its (or its pre's) language
+   */
+  function highlightBlock(code, tokenize) {
+    var language = blockLanguage(code);
+    if (!language || !Prism.languages[language]) return;
+
+    code.classList.add('language-' + language);
+    tokenize(code.textContent, language).then(function(chunks) {
+      applyChunks(code, chunks);
+    });
+  }
 
   /**
    * Initialize Prism highlighting
+   * Blocks are highlighted as they approach the viewport, so pages with thousands
+   * of lines of code are interactive immediately
    */
-  function highlight() {
-    if (typeof Prism !== 'undefined') {
-      Prism.highlightAll();
-      console.log('✓ Prism syntax highlighting applied');
+  function highlight(grammars) {
+    if (typeof Prism === 'undefined') return;
+
+    var blocks = document.querySelectorAll(PRISM_SELECTOR);
+    var tokenize = createTokenizer(grammars);
+
+    if (!('IntersectionObserver' in window)) {
+      blocks.forEach(function(code) {
+        highlightBlock(code, tokenize);
+      });
+      return;
     }
+
+    var observer = new IntersectionObserver(function(entries) {
+      entries.forEach(function(entry) {
+        if (entry.isIntersecting) {
+          observer.unobserve(entry.target);
+          highlightBlock(entry.target, tokenize);
+        }
+      });
+    }, { rootMargin: VIEWPORT_MARGIN });
+
+    blocks.forEach(function(code) {
+      observer.observe(code);
+    });
   }
 
   /**
@@ -94,13 +270,23 @@
    */
   function init() {
     prepareCodeBlocks();
+    var grammars = detectGrammars();
+
+    // Nothing to highlight: skip Prism entirely
+    if (grammars.length === 0) return;
 
-    // Load Prism core, then languages, then highlight
-    loadScript(PRISM_CORE)
+    // Highlight once the grammars are in, not when Prism itself loads
+    window.Prism = window.Prism || {};
+    window.Prism.manual = true;
+
+    // Load Prism core, then the detected languages, then highlight
+    loadScript(BASE_URL + PRISM_CORE)
+      .then(function() {
+        return Promise.all(grammars.map(loadScript));
+      })
       .then(function() {
-        return Promise.all(PRISM_LANGS.map(loadScript));
+        highlight(grammars);
       })
-      .then(highlight)
       .catch(function(err) {
         console.warn('Prism loading failed:', err);
       });
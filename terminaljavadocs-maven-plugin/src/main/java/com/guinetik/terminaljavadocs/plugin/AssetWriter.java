@@ -0,0 +1,204 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes static assets (CSS, JS, images) into site directories, avoiding
+ * redundant disk writes.
+ *
+ * <p>
+ * An asset is only written when the target is missing or its bytes differ, so
+ * re-running the plugin over an already themed site leaves asset files (and their
+ * modification times) untouched. Optionally, further copies of an asset can be
+ * created as hard links to an earlier copy, so self-contained module sites share
+ * storage with the root site instead of duplicating it.
+ *
+ * <p>
+ * Every write and link replaces the target by an atomic rename, so concurrent
+ * executions writing the same asset never expose a partially written file.
+ */
+final class AssetWriter {
+
+    /** Whether additional copies are created as hard links. */
+    private final boolean hardlinks;
+
+    /** Number of asset files written or linked. */
+    private final LongAdder written = new LongAdder();
+
+    /** Number of asset files left untouched because they were already up to date. */
+    private final LongAdder unchanged = new LongAdder();
+
+    /**
+     * Creates an asset writer.
+     *
+     * @param hardlinks whether {@link #copy(Path, byte[], Path)} should hard-link to the source
+     */
+    AssetWriter(boolean hardlinks) {
+        this.hardlinks = hardlinks;
+    }
+
+    /**
+     * Writes an asset unless the target already holds the same bytes.
+     *
+     * @param content the asset bytes
+     * @param target  the target file
+     * @return {@code true} if the file was written
+     * @throws IOException if the target cannot be read or written
+     */
+    boolean write(byte[] content, Path target) throws IOException {
+        PluginEvents.AssetCopyEvent event = PluginEvents.beginAssetCopy();
+        boolean changed = writeIfChanged(content, target);
+        PluginEvents.commitAssetCopy(event, target, content.length,
+                changed ? PluginEvents.WRITTEN : PluginEvents.UNCHANGED);
+        return changed;
+    }
+
+    /**
+     * Writes an asset unless the target already holds the same bytes, updating the counters.
+     *
+     * @param content the asset bytes
+     * @param target  the target file
+     * @return {@code true} if the file was written
+     * @throws IOException if the target cannot be read or written
+     */
+    private boolean writeIfChanged(byte[] content, Path target) throws IOException {
+        if (hasContent(target, content)) {
+            unchanged.increment();
+            return false;
+        }
+        // Never write through an existing file: it may be a hard link shared with other sites
+        writeAtomically(content, target);
+        written.increment();
+        return true;
+    }
+
+    /**
+     * Writes a file by renaming a fully written sibling temporary file over it.
+     *
+     * <p>
+     * Readers, including concurrent module executions in a parallel build, see
+     * either the previous file or the complete new one, never a partial write.
+     * An existing file is replaced rather than written through, so hard links to it
+     * keep their content.
+     *
+     * @param content the file bytes
+     * @param target  the target file
+     * @throws IOException if the file cannot be written
+     */
+    static void writeAtomically(byte[] content, Path target) throws IOException {
+        Path dir = target.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(dir, "." + target.getFileName(), ".tmp");
+        try {
+            Files.write(temp, content);
+            moveAtomically(temp, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Renames a file over a target in one step.
+     *
+     * <p>
+     * A plain {@code REPLACE_EXISTING} move may delete the target before renaming,
+     * leaving a window in which concurrent readers find no file at all. An atomic
+     * move maps to a single {@code rename}, which replaces the target in place; file
+     * systems that cannot do that fall back to the plain move.
+     *
+     * @param source the fully written file
+     * @param target the file to replace
+     * @throws IOException if the move fails
+     */
+    static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Creates a further copy of an asset that was already written to {@code source}.
+     *
+     * <p>
+     * With hard links enabled, the target becomes a link to the source (replacing an
+     * existing regular copy). If linking is unsupported, for example across file
+     * systems, the bytes are written instead.
+     *
+     * @param source  an up-to-date copy of the asset
+     * @param content the asset bytes
+     * @param target  the target file
+     * @return {@code true} if the file was written or linked
+     * @throws IOException if the target cannot be read or written
+     */
+    boolean copy(Path source, byte[] content, Path target) throws IOException {
+        if (!hardlinks) {
+            return write(content, target);
+        }
+        PluginEvents.AssetCopyEvent event = PluginEvents.beginAssetCopy();
+        if (Files.exists(target) && Files.isSameFile(source, target)) {
+            unchanged.increment();
+            PluginEvents.commitAssetCopy(event, target, content.length, PluginEvents.UNCHANGED);
+            return false;
+        }
+        try {
+            // Link under a temporary name, then rename over the target atomically
+            Path link = target.resolveSibling(
+                    "." + target.getFileName() + "." + Thread.currentThread().getId() + ".link");
+            try {
+                Files.createLink(link, source);
+                moveAtomically(link, target);
+            } finally {
+                Files.deleteIfExists(link);
+            }
+            written.increment();
+            PluginEvents.commitAssetCopy(event, target, content.length, PluginEvents.LINKED);
+            return true;
+        } catch (IOException | UnsupportedOperationException e) {
+            boolean changed = writeIfChanged(content, target);
+            PluginEvents.commitAssetCopy(event, target, content.length,
+                    changed ? PluginEvents.WRITTEN : PluginEvents.UNCHANGED);
+            return changed;
+        }
+    }
+
+    /**
+     * Returns the number of asset files written or linked.
+     *
+     * @return the written count
+     */
+    long getWritten() {
+        return written.sum();
+    }
+
+    /**
+     * Returns the number of asset files that were already up to date.
+     *
+     * @return the unchanged count
+     */
+    long getUnchanged() {
+        return unchanged.sum();
+    }
+
+    /**
+     * Checks whether a file exists and holds exactly the given bytes.
+     * The size is compared first so mismatches rarely need a read.
+     *
+     * @param target  the file to check
+     * @param content the expected bytes
+     * @return {@code true} if the file content matches
+     * @throws IOException if the file cannot be read
+     */
+    private static boolean hasContent(Path target, byte[] content) throws IOException {
+        if (!Files.isRegularFile(target) || Files.size(target) != content.length) {
+            return false;
+        }
+        return Arrays.equals(Files.readAllBytes(target), content);
+    }
+}
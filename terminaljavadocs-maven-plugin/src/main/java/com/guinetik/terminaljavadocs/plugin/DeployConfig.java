@@ -0,0 +1,201 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Caching and content-encoding rules for serving one site as the plugin wrote it,
+ * rendered as a {@code _headers} file (the format read by Netlify, Cloudflare Pages
+ * and similar static hosts) and as an nginx snippet.
+ *
+ * <p>
+ * The rules are collected while the site is processed, so they always match the
+ * output:
+ * <ul>
+ * <li>Style assets get a year-long {@code immutable} lifetime when their names are
+ * fingerprinted, and a short one otherwise</li>
+ * <li>HTML pages get a short lifetime and must be revalidated</li>
+ * <li>{@code Vary: Accept-Encoding} is sent where {@code .gz} siblings were written</li>
+ * <li>Pages in directories of a single page type ({@code apidocs/}, {@code xref/},
+ * {@code jacoco/}, ...) get {@code Link} preload hints for their stylesheets and script</li>
+ * </ul>
+ *
+ * <p>
+ * Both formats are written relative to a base path, the URL the site root is
+ * served under. Instances are used by the walking thread only.
+ */
+final class DeployConfig {
+
+    /** Cache lifetime of fingerprinted assets, in seconds (one year). */
+    static final int IMMUTABLE_MAX_AGE = 31536000;
+
+    /** Cache lifetime of assets under fixed names, in seconds. */
+    static final int ASSET_MAX_AGE = 3600;
+
+    /** Cache lifetime of HTML pages, in seconds. */
+    static final int HTML_MAX_AGE = 300;
+
+    /** First line of both generated files. */
+    private static final String GENERATED = "Generated by terminaljavadocs-maven-plugin; do not edit.";
+
+    /** URL path the site root is served under, with leading and trailing slash. */
+    private final String basePath;
+
+    /** Whether asset names are fingerprinted. */
+    private final boolean immutableAssets;
+
+    /** Whether {@code .gz} siblings are written. */
+    private final boolean gzip;
+
+    /** Asset paths relative to the site root, in order of installation. */
+    private final List<String> assets = new ArrayList<>();
+
+    /** Preload {@code Link} values per directory path relative to the site root. */
+    private final Map<String, List<String>> preloads = new TreeMap<>();
+
+    /**
+     * Creates an empty configuration.
+     *
+     * @param basePath        the URL path the site root is served under (e.g., "/" or "/docs/")
+     * @param immutableAssets whether asset names are fingerprinted
+     * @param gzip            whether {@code .gz} siblings are written
+     */
+    DeployConfig(String basePath, boolean immutableAssets, boolean gzip) {
+        String base = basePath == null || basePath.isEmpty() ? "/" : basePath;
+        base = base.startsWith("/") ? base : "/" + base;
+        this.basePath = base.endsWith("/") ? base : base + "/";
+        this.immutableAssets = immutableAssets;
+        this.gzip = gzip;
+    }
+
+    /**
+     * Records a style asset installed into the site.
+     *
+     * @param path the asset path relative to the site root (e.g., "terminal-styles/terminaljavadocs.min.js")
+     */
+    void addAsset(String path) {
+        if (!assets.contains(path)) {
+            assets.add(path);
+        }
+    }
+
+    /**
+     * Records that the pages of a directory load an asset that should be preloaded.
+     *
+     * @param dir   the directory path relative to the site root, with trailing slash (e.g., "apidocs/")
+     * @param asset the asset path relative to the site root
+     * @param as    the preload destination ("style" or "script")
+     */
+    void addPreload(String dir, String asset, String as) {
+        String link = "<" + basePath + asset + ">; rel=preload; as=" + as;
+        List<String> links = preloads.computeIfAbsent(dir, d -> new ArrayList<>());
+        if (!links.contains(link)) {
+            links.add(link);
+        }
+    }
+
+    /**
+     * Renders the rules as a {@code _headers} file.
+     *
+     * <p>
+     * Hosts apply every rule whose path matches and join repeated headers, so the
+     * preload rules of a directory add to the page rule rather than replace it.
+     *
+     * @return the file content
+     */
+    String renderHeaders() {
+        StringBuilder out = new StringBuilder("# ").append(GENERATED).append('\n');
+
+        out.append(basePath).append("*.html\n");
+        out.append("  Cache-Control: ").append(htmlCacheControl()).append('\n');
+        appendVary(out, "  Vary: Accept-Encoding\n");
+
+        for (Map.Entry<String, List<String>> dir : preloads.entrySet()) {
+            out.append(basePath).append(dir.getKey()).append("*.html\n");
+            for (String link : dir.getValue()) {
+                out.append("  Link: ").append(link).append('\n');
+            }
+        }
+
+        for (String asset : assets) {
+            out.append(basePath).append(asset).append('\n');
+            out.append("  Cache-Control: ").append(assetCacheControl()).append('\n');
+            appendVary(out, "  Vary: Accept-Encoding\n");
+        }
+        return out.toString();
+    }
+
+    /**
+     * Renders the rules as an nginx snippet, to be included in the {@code server}
+     * block whose {@code root} is the site directory.
+     *
+     * <p>
+     * nginx does not inherit {@code add_header} into a location that sets its own,
+     * so every location repeats the full set of headers it needs.
+     *
+     * @return the snippet content
+     */
+    String renderNginx() {
+        StringBuilder out = new StringBuilder("# ").append(GENERATED).append('\n');
+        out.append("# Include inside the server block serving the site.\n");
+        if (gzip) {
+            out.append("gzip_static on;\n");
+            out.append("gzip_vary on;\n");
+        }
+        out.append('\n');
+
+        out.append("location ~* \\.html$ {\n");
+        out.append("    add_header Cache-Control \"").append(htmlCacheControl()).append("\";\n");
+        out.append("}\n");
+
+        for (Map.Entry<String, List<String>> dir : preloads.entrySet()) {
+            out.append("location ^~ ").append(basePath).append(dir.getKey()).append(" {\n");
+            out.append("    location ~* \\.html$ {\n");
+            out.append("        add_header Cache-Control \"").append(htmlCacheControl()).append("\";\n");
+            out.append("        add_header Link \"").append(String.join(", ", dir.getValue())).append("\";\n");
+            out.append("    }\n");
+            out.append("}\n");
+        }
+
+        for (String asset : assets) {
+            out.append("location = ").append(basePath).append(asset).append(" {\n");
+            out.append("    add_header Cache-Control \"").append(assetCacheControl()).append("\";\n");
+            out.append("}\n");
+        }
+        return out.toString();
+    }
+
+    /**
+     * Appends a line only when {@code .gz} siblings are written.
+     *
+     * @param out  the output
+     * @param line the line to append
+     */
+    private void appendVary(StringBuilder out, String line) {
+        if (gzip) {
+            out.append(line);
+        }
+    }
+
+    /**
+     * Returns the {@code Cache-Control} value of HTML pages.
+     *
+     * @return the header value
+     */
+    private static String htmlCacheControl() {
+        return "public, max-age=" + HTML_MAX_AGE + ", must-revalidate";
+    }
+
+    /**
+     * Returns the {@code Cache-Control} value of style assets.
+     *
+     * @return the header value
+     */
+    private String assetCacheControl() {
+        return immutableAssets
+                ? "public, max-age=" + IMMUTABLE_MAX_AGE + ", immutable"
+                : "public, max-age=" + ASSET_MAX_AGE;
+    }
+}
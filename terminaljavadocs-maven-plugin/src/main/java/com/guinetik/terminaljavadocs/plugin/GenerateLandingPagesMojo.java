@@ -19,11 +19,16 @@ import org.apache.maven.project.MavenProject;
 /**
  * Generates landing pages for code coverage and source xref reports by scanning
  * reactor modules for actual generated reports.
+ *
+ * <p>
+ * The goal is thread-safe: it keeps no state between executions, and pages are
+ * written by atomic rename so concurrent readers never see a partial file.
  */
 @Mojo(
     name = "generate-landing-pages",
     defaultPhase = org.apache.maven.plugins.annotations.LifecyclePhase.POST_SITE,
-    aggregator = true
+    aggregator = true,
+    threadSafe = true
 )
 public class GenerateLandingPagesMojo extends AbstractMojo {
 
@@ -167,9 +172,9 @@ public class GenerateLandingPagesMojo extends AbstractMojo {
                     outputDir.getAbsolutePath(),
                     "coverage.html"
                 );
-                Files.write(
-                    coveragePath,
-                    coverageHtml.getBytes(StandardCharsets.UTF_8)
+                AssetWriter.writeAtomically(
+                    coverageHtml.getBytes(StandardCharsets.UTF_8),
+                    coveragePath
                 );
                 getLog().info(
                     "Generated coverage landing page: " + coveragePath
@@ -183,9 +188,9 @@ public class GenerateLandingPagesMojo extends AbstractMojo {
                     outputDir.getAbsolutePath(),
                     "source-xref.html"
                 );
-                Files.write(
-                    xrefPath,
-                    xrefHtml.getBytes(StandardCharsets.UTF_8)
+                AssetWriter.writeAtomically(
+                    xrefHtml.getBytes(StandardCharsets.UTF_8),
+                    xrefPath
                 );
                 getLog().info("Generated xref landing page: " + xrefPath);
             }
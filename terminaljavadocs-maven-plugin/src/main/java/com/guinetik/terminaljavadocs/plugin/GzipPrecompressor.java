@@ -0,0 +1,162 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes precompressed {@code .gz} siblings next to site files, for servers that
+ * serve them directly (nginx {@code gzip_static on}, and similar).
+ *
+ * <p>
+ * A sibling is stamped with the modification time of the file it was compressed
+ * from. It is up to date, and left untouched, while both times match; rewriting the
+ * file (which changes its modification time) makes the next call compress it again.
+ * Like every other write of the plugin, the sibling replaces the previous one by an
+ * atomic rename.
+ *
+ * <p>
+ * Instances are safe for concurrent use by the compression threads.
+ */
+final class GzipPrecompressor {
+
+    /** Extension of the compressed siblings. */
+    static final String EXTENSION = ".gz";
+
+    /** Names of the temporary files created while compressing: {@code .<file>.gz<random>.tmp}. */
+    private static final Pattern TEMP = Pattern.compile("\\..+\\.gz\\d+\\.tmp");
+
+    /** Buffer size of the compressing stream. */
+    private static final int BUFFER_SIZE = 8192;
+
+    /** Deflate level, from 1 (fastest) to 9 (smallest). */
+    private final int level;
+
+    /** Number of siblings written. */
+    private final LongAdder written = new LongAdder();
+
+    /** Number of siblings left untouched because they were already up to date. */
+    private final LongAdder unchanged = new LongAdder();
+
+    /** Total size of the files compressed. */
+    private final LongAdder originalBytes = new LongAdder();
+
+    /** Total size of the siblings written. */
+    private final LongAdder compressedBytes = new LongAdder();
+
+    /**
+     * Creates a precompressor.
+     *
+     * @param level the deflate level, from 1 (fastest) to 9 (smallest)
+     * @throws IllegalArgumentException if the level is out of range
+     */
+    GzipPrecompressor(int level) {
+        if (level < 1 || level > 9) {
+            throw new IllegalArgumentException("gzip level must be between 1 and 9: " + level);
+        }
+        this.level = level;
+    }
+
+    /**
+     * Returns the sibling a file is compressed to.
+     *
+     * @param file the file
+     * @return {@code <file>.gz}
+     */
+    static Path siblingOf(Path file) {
+        return file.resolveSibling(file.getFileName() + EXTENSION);
+    }
+
+    /**
+     * Writes the compressed sibling of a file unless it is already up to date.
+     *
+     * @param file the file to compress
+     * @return {@code true} if the sibling was written
+     * @throws IOException if the file cannot be read or the sibling cannot be written
+     */
+    boolean compress(Path file) throws IOException {
+        Path sibling = siblingOf(file);
+        FileTime lastModified = Files.getLastModifiedTime(file);
+        if (Files.isRegularFile(sibling) && Files.getLastModifiedTime(sibling).equals(lastModified)) {
+            unchanged.increment();
+            return false;
+        }
+
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), "." + sibling.getFileName(), ".tmp");
+        try {
+            try (OutputStream out = new LevelledGzipStream(Files.newOutputStream(temp), level)) {
+                originalBytes.add(Files.copy(file, out));
+            }
+            Files.setLastModifiedTime(temp, lastModified);
+            compressedBytes.add(Files.size(temp));
+            AssetWriter.moveAtomically(temp, sibling);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        written.increment();
+        return true;
+    }
+
+    /**
+     * Checks whether a file is a temporary file left by {@link #compress}, for example
+     * because the build was killed before the rename.
+     *
+     * @param file the file to check
+     * @return {@code true} if the name matches the temporary file pattern
+     */
+    static boolean isTemp(Path file) {
+        Path name = file.getFileName();
+        return name != null && TEMP.matcher(name.toString()).matches();
+    }
+
+    /**
+     * Returns the number of siblings written.
+     *
+     * @return the written count
+     */
+    long getWritten() {
+        return written.sum();
+    }
+
+    /**
+     * Returns the number of siblings that were already up to date.
+     *
+     * @return the unchanged count
+     */
+    long getUnchanged() {
+        return unchanged.sum();
+    }
+
+    /**
+     * Returns the bytes saved by the siblings written, compared to the files they
+     * were compressed from.
+     *
+     * @return the original size minus the compressed size
+     */
+    long getBytesSaved() {
+        return originalBytes.sum() - compressedBytes.sum();
+    }
+
+    /**
+     * A gzip stream with a configurable deflate level.
+     */
+    private static final class LevelledGzipStream extends GZIPOutputStream {
+
+        /**
+         * Creates the stream.
+         *
+         * @param out   the stream receiving the compressed bytes
+         * @param level the deflate level
+         * @throws IOException if the gzip header cannot be written
+         */
+        LevelledGzipStream(OutputStream out, int level) throws IOException {
+            super(out, BUFFER_SIZE);
+            def.setLevel(level);
+        }
+    }
+}
@@ -0,0 +1,551 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Pattern;
+
+/**
+ * Streams a style snippet into the {@code <head>} of an HTML file without
+ * loading the document into memory.
+ *
+ * <p>
+ * The injector works in two steps:
+ * <ol>
+ * <li>{@link #scan(FileChannel)} reads the file through a fixed-size buffer up to
+ * the first {@code </head>}, looking for an existing injection marker and, if there
+ * is one, the bounds of the injected block</li>
+ * <li>{@link #splice(FileChannel, long, byte[], Path)} copies the bytes before the
+ * insertion point, the snippet, and the untouched remainder into a sibling
+ * temporary file using {@link FileChannel#transferTo} (zero-copy); the
+ * {@link #splice(FileChannel, long, long, byte[], Path) range variant} swaps a
+ * stale injected block for a new one the same way</li>
+ * </ol>
+ *
+ * <p>
+ * Matching happens on raw bytes, so the document is never decoded and any
+ * bytes outside the snippet are written back exactly as they were read.
+ * Memory use is bounded by {@link #BUFFER_SIZE} regardless of page size.
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * HtmlHeadInjector injector = new HtmlHeadInjector(
+ *         "<!-- terminal-javadocs-injected", "<!-- /terminal-javadocs-injected -->");
+ * Path temp;
+ * try (FileChannel channel = FileChannel.open(page)) {
+ *     HtmlHeadInjector.HeadScan scan = injector.scan(channel);
+ *     temp = injector.splice(channel, scan.getInsertOffset(), snippet, page);
+ * }
+ * HtmlHeadInjector.replace(temp, page);
+ * }</pre>
+ */
+final class HtmlHeadInjector {
+
+    /** Size of the read buffer used while scanning. */
+    static final int BUFFER_SIZE = 8192;
+
+    /** Longest marker comment text kept as the stamp of an injected block. */
+    private static final int MAX_STAMP_LENGTH = 256;
+
+    /** Closing head tag, matched case-insensitively. */
+    private static final BytePattern HEAD_CLOSE = new BytePattern("</head>", true);
+
+    /** Opening head tag prefix, matched case-insensitively. */
+    private static final BytePattern HEAD_OPEN = new BytePattern("<head", true);
+
+    /** Start of an HTML comment. */
+    private static final BytePattern COMMENT_OPEN = new BytePattern("<!--", false);
+
+    /** End of an HTML comment. */
+    private static final BytePattern COMMENT_CLOSE = new BytePattern("-->", false);
+
+    /** Closing script tag, which ends blocks injected before the end marker existed. */
+    private static final BytePattern SCRIPT_CLOSE = new BytePattern("</script>", true);
+
+    /** Names of the temporary files created by {@link #splice}: {@code .<page>.html<random>.tmp}. */
+    private static final Pattern SPLICE_TEMP = Pattern.compile("\\..+\\.html\\d+\\.tmp");
+
+    /** Marker identifying pages that were already injected. */
+    private final BytePattern marker;
+
+    /** Comment closing an injected block. */
+    private final BytePattern endMarker;
+
+    /**
+     * Creates an injector that recognises the given marker as "already injected".
+     *
+     * @param marker    the injection marker text (ASCII) opening an injected block
+     * @param endMarker the text (ASCII) closing an injected block
+     */
+    HtmlHeadInjector(String marker, String endMarker) {
+        this.marker = new BytePattern(marker, false);
+        this.endMarker = new BytePattern(endMarker, false);
+    }
+
+    /**
+     * Scans the head section of an HTML file.
+     *
+     * <p>
+     * Reading stops at the first {@code </head>}, whose start becomes the insertion
+     * offset. If the document has no closing head tag, the whole file is scanned and
+     * the insertion offset falls back to just after the first {@code <head...>} tag.
+     *
+     * <p>
+     * If the marker is found, the scan instead locates the injected block so it can
+     * be replaced: the block starts at the marker comment (including a preceding line
+     * break and the doubled {@code <!-- } older versions wrote) and ends after the
+     * end marker and its line break. Blocks written before the end marker existed end
+     * after their first {@code </script>} instead. The text of the marker comment is
+     * returned as the block's stamp.
+     *
+     * @param channel the channel to read, positioned anywhere (reads are absolute)
+     * @return the scan result
+     * @throws IOException if reading fails
+     */
+    HeadScan scan(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        int markerState = 0;
+        int closeState = 0;
+        int openState = 0;
+        int commentState = 0;
+        boolean awaitingOpenEnd = false;
+        long openInsertOffset = -1;
+        long lastNewline = -1;
+        long lastCommentStart = -1;
+        long previousCommentStart = -1;
+
+        // Injected block, once the marker has been seen
+        long blockStart = -1;
+        ByteArrayOutputStream stampBytes = null;
+        int commentCloseState = 0;
+        String stamp = null;
+        int endState = 0;
+        boolean endPending = false;
+        long blockEnd = -1;
+        int scriptState = 0;
+        boolean scriptPending = false;
+        long scriptEnd = -1;
+        long position = 0;
+
+        while (true) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                byte b = buffer.get(i);
+                long offset = position + i;
+
+                if (endPending) {
+                    return new HeadScan(true, -1, stamp, blockStart, b == '\n' ? blockEnd + 1 : blockEnd,
+                            position + read);
+                }
+                if (scriptPending) {
+                    scriptPending = false;
+                    if (b == '\n') {
+                        scriptEnd++;
+                    }
+                }
+
+                closeState = HEAD_CLOSE.advance(closeState, b);
+                boolean headClosed = closeState == HEAD_CLOSE.length();
+
+                if (blockStart >= 0) {
+                    if (headClosed) {
+                        return injected(stamp, blockStart, scriptEnd, position + read);
+                    }
+                    if (stampBytes != null) {
+                        // Inside the marker comment: collect the stamp up to "-->"
+                        commentCloseState = COMMENT_CLOSE.advance(commentCloseState, b);
+                        if (commentCloseState == COMMENT_CLOSE.length()) {
+                            stamp = stampBytes.size() < MAX_STAMP_LENGTH ? toStamp(stampBytes) : null;
+                            stampBytes = null;
+                        } else if (stampBytes.size() < MAX_STAMP_LENGTH) {
+                            stampBytes.write(b);
+                        }
+                        continue;
+                    }
+                    endState = endMarker.advance(endState, b);
+                    if (endState == endMarker.length()) {
+                        blockEnd = offset + 1;
+                        endPending = true;
+                        continue;
+                    }
+                    if (scriptEnd < 0) {
+                        scriptState = SCRIPT_CLOSE.advance(scriptState, b);
+                        if (scriptState == SCRIPT_CLOSE.length()) {
+                            scriptEnd = offset + 1;
+                            scriptPending = true;
+                        }
+                    }
+                    continue;
+                }
+
+                if (b == '\n') {
+                    lastNewline = offset;
+                }
+                commentState = COMMENT_OPEN.advance(commentState, b);
+                if (commentState == COMMENT_OPEN.length()) {
+                    previousCommentStart = lastCommentStart;
+                    lastCommentStart = offset - COMMENT_OPEN.length() + 1;
+                }
+
+                markerState = marker.advance(markerState, b);
+                if (markerState == marker.length()) {
+                    long markerStart = offset - marker.length() + 1;
+                    blockStart = markerStart;
+                    // Older versions wrote "<!-- " + marker, opening the comment twice
+                    if (lastCommentStart == markerStart && previousCommentStart == markerStart - 5) {
+                        blockStart = previousCommentStart;
+                    }
+                    if (lastNewline == blockStart - 1) {
+                        blockStart = lastNewline;
+                    }
+                    stampBytes = new ByteArrayOutputStream();
+                    continue;
+                }
+
+                if (headClosed) {
+                    return new HeadScan(false, offset - HEAD_CLOSE.length() + 1, null, -1, -1, position + read);
+                }
+
+                if (openInsertOffset < 0) {
+                    if (awaitingOpenEnd) {
+                        if (b == '>') {
+                            openInsertOffset = offset + 1;
+                        }
+                    } else {
+                        openState = HEAD_OPEN.advance(openState, b);
+                        awaitingOpenEnd = openState == HEAD_OPEN.length();
+                    }
+                }
+            }
+            position += read;
+        }
+
+        if (endPending) {
+            return new HeadScan(true, -1, stamp, blockStart, blockEnd, position);
+        }
+        if (blockStart >= 0) {
+            return injected(stamp, blockStart, scriptEnd, position);
+        }
+        return new HeadScan(false, openInsertOffset, null, -1, -1, position);
+    }
+
+    /**
+     * Builds the result for an injected page whose block has no end marker.
+     *
+     * @param stamp      the marker comment text, or {@code null} if it was not closed
+     * @param blockStart the start of the block
+     * @param scriptEnd  the end of the first script tag after the marker, or {@code -1}
+     * @param bytesRead  the bytes read
+     * @return the scan result; without a replaceable block unless the comment was
+     *         closed and followed by a script tag
+     */
+    private static HeadScan injected(String stamp, long blockStart, long scriptEnd, long bytesRead) {
+        if (stamp == null || scriptEnd < 0) {
+            return new HeadScan(true, -1, stamp, -1, -1, bytesRead);
+        }
+        return new HeadScan(true, -1, stamp, blockStart, scriptEnd, bytesRead);
+    }
+
+    /**
+     * Converts the collected marker comment text into a stamp.
+     *
+     * @param comment the bytes between the marker and {@code >}, ending with {@code --}
+     * @return the trimmed text without the closing dashes
+     */
+    private static String toStamp(ByteArrayOutputStream comment) {
+        String text = new String(comment.toByteArray(), StandardCharsets.US_ASCII);
+        if (text.endsWith("--")) {
+            text = text.substring(0, text.length() - 2);
+        }
+        return text.trim();
+    }
+
+    /**
+     * Writes the spliced document to a temporary file next to the target.
+     *
+     * <p>
+     * The caller must close {@code source} and then call {@link #replace(Path, Path)}
+     * to move the result over the original file.
+     *
+     * @param source       channel over the original document
+     * @param insertOffset byte offset at which the snippet is inserted
+     * @param snippet      the bytes to insert
+     * @param file         the original file, used to place the temporary file
+     * @return the temporary file holding the spliced document
+     * @throws IOException if writing fails (the temporary file is removed)
+     */
+    Path splice(FileChannel source, long insertOffset, byte[] snippet, Path file) throws IOException {
+        return splice(source, insertOffset, insertOffset, snippet, file);
+    }
+
+    /**
+     * Writes the document with a byte range replaced by a snippet to a temporary file
+     * next to the target. Used to swap a stale injected block for a current one.
+     *
+     * <p>
+     * The caller must close {@code source} and then call {@link #replace(Path, Path)}
+     * to move the result over the original file.
+     *
+     * @param source  channel over the original document
+     * @param start   first byte offset replaced
+     * @param end     byte offset after the replaced range; equal to {@code start} to insert
+     * @param snippet the bytes to write in place of the range
+     * @param file    the original file, used to place the temporary file
+     * @return the temporary file holding the spliced document
+     * @throws IOException if writing fails (the temporary file is removed)
+     */
+    Path splice(FileChannel source, long start, long end, byte[] snippet, Path file) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(dir, "." + file.getFileName(), ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            transferFully(source, 0, start, out);
+            ByteBuffer snippetBuffer = ByteBuffer.wrap(snippet);
+            while (snippetBuffer.hasRemaining()) {
+                out.write(snippetBuffer);
+            }
+            transferFully(source, end, source.size() - end, out);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        return temp;
+    }
+
+    /**
+     * Replaces the original file with the spliced temporary file in a single rename,
+     * so readers never observe a missing or partial page.
+     *
+     * @param temp the temporary file produced by {@link #splice}
+     * @param file the file to replace
+     * @throws IOException if the move fails
+     */
+    static void replace(Path temp, Path file) throws IOException {
+        AssetWriter.moveAtomically(temp, file);
+    }
+
+    /**
+     * Checks whether a file is a temporary file left by {@link #splice} for an HTML
+     * page, for example because the build was killed before the rename.
+     *
+     * @param file the file to check
+     * @return {@code true} if the name matches the splice temporary file pattern
+     */
+    static boolean isSpliceTemp(Path file) {
+        Path name = file.getFileName();
+        return name != null && SPLICE_TEMP.matcher(name.toString()).matches();
+    }
+
+    /**
+     * Transfers a byte range between channels, looping until the full range has been
+     * copied ({@link FileChannel#transferTo} may copy fewer bytes than requested).
+     *
+     * @param source   the channel to read from
+     * @param position the start offset in the source
+     * @param count    the number of bytes to copy
+     * @param target   the channel to append to
+     * @throws IOException if the transfer fails or the source is truncated
+     */
+    private static void transferFully(FileChannel source, long position, long count, FileChannel target)
+            throws IOException {
+        long remaining = count;
+        long offset = position;
+        while (remaining > 0) {
+            long transferred = source.transferTo(offset, remaining, target);
+            if (transferred <= 0) {
+                throw new IOException("Unexpected end of file while copying HTML content");
+            }
+            offset += transferred;
+            remaining -= transferred;
+        }
+    }
+
+    /**
+     * Result of scanning the head section of an HTML file.
+     */
+    static final class HeadScan {
+
+        private final boolean alreadyInjected;
+        private final long insertOffset;
+        private final String stamp;
+        private final long blockStart;
+        private final long blockEnd;
+        private final long bytesRead;
+
+        /**
+         * Creates a scan result.
+         *
+         * @param alreadyInjected whether the injection marker was found
+         * @param insertOffset    the insertion offset, or {@code -1} if none was found
+         * @param stamp           the marker comment text, or {@code null}
+         * @param blockStart      the start of the injected block, or {@code -1}
+         * @param blockEnd        the end (exclusive) of the injected block, or {@code -1}
+         * @param bytesRead       the number of bytes read from the file
+         */
+        HeadScan(boolean alreadyInjected, long insertOffset, String stamp, long blockStart, long blockEnd,
+                long bytesRead) {
+            this.alreadyInjected = alreadyInjected;
+            this.insertOffset = insertOffset;
+            this.stamp = stamp;
+            this.blockStart = blockStart;
+            this.blockEnd = blockEnd;
+            this.bytesRead = bytesRead;
+        }
+
+        /**
+         * Returns whether the page already carries the injection marker.
+         *
+         * @return {@code true} if the page was injected before
+         */
+        boolean isAlreadyInjected() {
+            return alreadyInjected;
+        }
+
+        /**
+         * Returns whether an insertion point was found.
+         *
+         * @return {@code true} if the page has a head section
+         */
+        boolean hasInsertionPoint() {
+            return insertOffset >= 0;
+        }
+
+        /**
+         * Returns the byte offset where the snippet should be inserted.
+         *
+         * @return the insertion offset, or {@code -1} if the page has no head section
+         */
+        long getInsertOffset() {
+            return insertOffset;
+        }
+
+        /**
+         * Returns the text of the marker comment of an injected page, for example
+         * {@code v=1.2.0 cfg=0a1b2c3d [javadoc]}.
+         *
+         * @return the stamp, or {@code null} if the page is not injected or the comment is malformed
+         */
+        String getStamp() {
+            return stamp;
+        }
+
+        /**
+         * Returns whether the bounds of the injected block were found, so it can be replaced.
+         *
+         * @return {@code true} if the block can be replaced
+         */
+        boolean hasBlock() {
+            return blockStart >= 0;
+        }
+
+        /**
+         * Returns the byte offset where the injected block starts.
+         *
+         * @return the start offset, or {@code -1} if there is no replaceable block
+         */
+        long getBlockStart() {
+            return blockStart;
+        }
+
+        /**
+         * Returns the byte offset just after the injected block.
+         *
+         * @return the end offset, or {@code -1} if there is no replaceable block
+         */
+        long getBlockEnd() {
+            return blockEnd;
+        }
+
+        /**
+         * Returns the number of bytes the scan read, in whole buffers.
+         *
+         * @return the bytes read
+         */
+        long getBytesRead() {
+            return bytesRead;
+        }
+    }
+
+    /**
+     * An ASCII pattern matched incrementally, one byte at a time (Knuth-Morris-Pratt).
+     */
+    static final class BytePattern {
+
+        private final byte[] pattern;
+        private final int[] failure;
+        private final boolean ignoreCase;
+
+        /**
+         * Compiles a pattern.
+         *
+         * @param text       the ASCII text to match
+         * @param ignoreCase whether ASCII letters match regardless of case
+         */
+        BytePattern(String text, boolean ignoreCase) {
+            this.ignoreCase = ignoreCase;
+            this.pattern = text.getBytes(StandardCharsets.US_ASCII);
+            if (ignoreCase) {
+                for (int i = 0; i < pattern.length; i++) {
+                    pattern[i] = toLower(pattern[i]);
+                }
+            }
+            this.failure = new int[pattern.length];
+            for (int i = 1, k = 0; i < pattern.length; i++) {
+                while (k > 0 && pattern[i] != pattern[k]) {
+                    k = failure[k - 1];
+                }
+                if (pattern[i] == pattern[k]) {
+                    k++;
+                }
+                failure[i] = k;
+            }
+        }
+
+        /**
+         * Returns the pattern length in bytes.
+         *
+         * @return the length
+         */
+        int length() {
+            return pattern.length;
+        }
+
+        /**
+         * Advances the match state by one input byte.
+         *
+         * @param state the number of pattern bytes matched so far
+         * @param b     the next input byte
+         * @return the new state; equal to {@link #length()} on a full match
+         */
+        int advance(int state, byte b) {
+            byte c = ignoreCase ? toLower(b) : b;
+            int k = state == pattern.length ? failure[state - 1] : state;
+            while (k > 0 && c != pattern[k]) {
+                k = failure[k - 1];
+            }
+            if (c == pattern[k]) {
+                k++;
+            }
+            return k;
+        }
+
+        /**
+         * Lower-cases an ASCII letter, leaving other bytes unchanged.
+         *
+         * @param b the byte
+         * @return the lower-cased byte
+         */
+        private static byte toLower(byte b) {
+            return b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+        }
+    }
+}
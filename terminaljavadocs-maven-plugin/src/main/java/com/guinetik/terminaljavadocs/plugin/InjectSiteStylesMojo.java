@@ -2,20 +2,34 @@ package com.guinetik.terminaljavadocs.plugin;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.SimpleFileVisitor;
-import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.maven.execution.MavenExecutionResult;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
@@ -27,26 +41,42 @@ import org.apache.maven.project.MavenProject;
  * <p>
  * This Mojo runs after site generation and:
  * <ul>
- * <li>Copies page-type-specific CSS files to the site directory</li>
- * <li>Recursively scans all HTML files in the site directory</li>
+ * <li>Copies the shared core CSS and page-type-specific CSS files to the site directory</li>
+ * <li>Recursively scans the site directory once, theming JaCoCo images and HTML files</li>
  * <li>Detects page type (coverage, jxr, javadoc, site)</li>
  * <li>Injects the appropriate CSS and JS for each page type</li>
- * <li>Supports nested sites (mono-repo style)</li>
+ * <li>Supports nested sites (mono-repo style), processing each directory once per build</li>
+ * <li>Writes pages on write-behind threads through a bounded queue, each by an atomic rename</li>
+ * <li>Reports per-phase timing and throughput, also written to {@code target/terminaljavadocs-metrics.json}</li>
+ * <li>Optionally writes precompressed {@code .gz} siblings of pages and style assets</li>
+ * <li>Optionally names style assets after their content hash, for immutable caching</li>
+ * <li>Optionally generates cache and content-encoding rules for serving the site</li>
  * </ul>
  *
  * <p>
+ * The goal is thread-safe: all state lives in the mojo instance of a single
+ * execution, and writes into directories shared with other executions (assets,
+ * JaCoCo images, HTML pages) are atomic renames, coordinated through a build-wide
+ * {@link SiteRootRegistry}. In a parallel build ({@code mvn -T}), the sites of other
+ * modules are only processed once their build has finished, so an execution never
+ * walks a tree that the module's own site generators may still be writing.
+ *
+ * <p>
  * The CSS/JS files are built from the css-zen-garden design system
  * using npm and output to this plugin's resources.
  */
-@Mojo(name = "inject-styles", defaultPhase = org.apache.maven.plugins.annotations.LifecyclePhase.POST_SITE)
+@Mojo(name = "inject-styles", defaultPhase = org.apache.maven.plugins.annotations.LifecyclePhase.POST_SITE,
+        threadSafe = true)
 public class InjectSiteStylesMojo extends AbstractMojo {
 
     /**
      * Page types with their corresponding CSS files.
      *
      * <p>
-     * Each page type maps to a specific minified CSS file that provides
-     * Terminal Javadocs styling for that category of generated documentation.
+     * Every page links the shared core stylesheet ({@code terminaljavadocs-core.min.css}:
+     * tokens, reset, navbar, tables), which browsers cache once for all report types.
+     * Each page type then adds a small minified delta with the styling for that
+     * category of generated documentation, if it needs more than the core.
      */
     public enum PageType {
         /** Landing pages (coverage.html, source-xref.html). */
@@ -63,14 +93,14 @@ public class InjectSiteStylesMojo extends AbstractMojo {
         /** The short name used in injection markers. */
         private final String name;
 
-        /** The minified CSS filename for this page type. */
+        /** The minified delta CSS filename for this page type. */
         private final String cssFile;
 
         /**
          * Creates a page type with its associated CSS file.
          *
          * @param name    the short name for logging and markers
-         * @param cssFile the minified CSS filename
+         * @param cssFile the minified delta CSS filename
          */
         PageType(String name, String cssFile) {
             this.name = name;
@@ -87,21 +117,77 @@ public class InjectSiteStylesMojo extends AbstractMojo {
         }
 
         /**
-         * Returns the CSS filename for this page type.
+         * Returns the delta CSS filename for this page type, linked after the core.
          *
          * @return the minified CSS filename (e.g., "terminaljavadocs-javadoc.min.css")
          */
         public String getCssFile() {
             return cssFile;
         }
+
+        /**
+         * Returns the critical CSS filename for this page type: the above-the-fold
+         * rules the design build extracts from the core and delta, inlined into pages.
+         *
+         * @return the critical CSS filename (e.g., "terminaljavadocs-javadoc.critical.min.css")
+         */
+        public String getCriticalCssFile() {
+            return "terminaljavadocs-" + name + ".critical.min.css";
+        }
+
+        /**
+         * Returns the print CSS filename for this page type: the print rules the design
+         * build moves out of the core and delta, linked with {@code media="print"} so
+         * they never block rendering on screen.
+         *
+         * @return the print CSS filename (e.g., "terminaljavadocs-javadoc.print.min.css")
+         */
+        public String getPrintCssFile() {
+            return "terminaljavadocs-" + name + ".print.min.css";
+        }
     }
 
     /** Resource path prefix for styles within the plugin JAR. */
     private static final String STYLES_RESOURCE_PATH = "styles/";
 
+    /** Stylesheet declaring the Fira Code and Space Grotesk web fonts ({@code font-display: swap}). */
+    static final String WEB_FONTS_URL = "https://fonts.googleapis.com/css2?family=Fira+Code:wght@400;500;600;700"
+            + "&family=Space+Grotesk:wght@400;500;600;700&display=swap";
+
+    /** Origin serving the web font files, connected to ahead of the font stylesheet. */
+    private static final String WEB_FONTS_ORIGIN = "https://fonts.gstatic.com";
+
+    /** Filename of the core stylesheet shared by all page types. */
+    static final String CORE_CSS_FILE = "terminaljavadocs-core.min.css";
+
     /** Filename of the bundled JavaScript file. */
     private static final String JS_FILE = "terminaljavadocs.min.js";
 
+    /**
+     * Prism syntax highlighting files (Prism 1.29.0): the core, then one grammar file
+     * per language. The bundled JavaScript loads them from beside itself, and only on
+     * pages with code blocks in those languages.
+     */
+    private static final String[] PRISM_FILES = {
+        "terminaljavadocs-prism.min.js",
+        "terminaljavadocs-prism-java.min.js",
+        "terminaljavadocs-prism-javascript.min.js",
+        "terminaljavadocs-prism-markup.min.js",
+        "terminaljavadocs-prism-css.min.js",
+        "terminaljavadocs-prism-bash.min.js",
+        "terminaljavadocs-prism-json.min.js",
+        "terminaljavadocs-prism-properties.min.js"
+    };
+
+    /** Filename of the asset manifest mapping style asset names to their fingerprinted names. */
+    private static final String ASSET_MANIFEST_FILE = "asset-manifest.json";
+
+    /** Number of content hash digits in a fingerprinted asset name. */
+    private static final int FINGERPRINT_LENGTH = 8;
+
+    /** Number of files queued for the worker pool per worker thread before the walk runs them itself. */
+    private static final int QUEUED_FILES_PER_THREAD = 4;
+
     /** Resource path prefix for themed JaCoCo images within the plugin JAR. */
     private static final String JACOCO_RESOURCES_PATH = "jacoco-resources/";
 
@@ -117,10 +203,35 @@ public class InjectSiteStylesMojo extends AbstractMojo {
 
     /**
      * HTML comment marker to detect already-injected pages.
-     * Prevents duplicate style injection on re-runs.
+     * Prevents duplicate style injection on re-runs. The comment goes on to carry the
+     * stamp of the plugin version and configuration that wrote the snippet.
      */
     private static final String INJECTION_MARKER = "<!-- terminal-javadocs-injected";
 
+    /** HTML comment closing the injected snippet, so a stale snippet can be replaced in place. */
+    private static final String INJECTION_END_MARKER = "<!-- /terminal-javadocs-injected -->";
+
+    /** Filename of the incremental processing manifest within the build directory. */
+    private static final String MANIFEST_FILE = "terminaljavadocs-manifest.txt";
+
+    /** Filename of the journal that lets an interrupted run resume, within the build directory. */
+    private static final String JOURNAL_FILE = "terminaljavadocs-journal.txt";
+
+    /** Filename of the generated static host header rules, within each site root. */
+    private static final String HEADERS_FILE = "_headers";
+
+    /** Filename of the generated nginx snippet, next to each site root. */
+    private static final String NGINX_FILE = "terminaljavadocs-nginx.conf";
+
+    /** Filename of the timing and throughput report within the build directory. */
+    private static final String METRICS_FILE = "terminaljavadocs-metrics.json";
+
+    /** Page type classifier shared by all worker threads (immutable). */
+    private final PageTypeClassifier classifier = new PageTypeClassifier();
+
+    /** Streaming head-section injector shared by all worker threads (stateless). */
+    private final HtmlHeadInjector headInjector = new HtmlHeadInjector(INJECTION_MARKER, INJECTION_END_MARKER);
+
     /**
      * The current Maven session, providing access to reactor projects.
      */
@@ -133,6 +244,12 @@ public class InjectSiteStylesMojo extends AbstractMojo {
     @Parameter(defaultValue = "${project}", readonly = true, required = true)
     private MavenProject project;
 
+    /**
+     * Descriptor of this plugin, used to tie the incremental manifest to the plugin version.
+     */
+    @Parameter(defaultValue = "${plugin}", readonly = true)
+    private PluginDescriptor pluginDescriptor;
+
     /**
      * Skip style injection when set to {@code true}.
      * Can be set via {@code -Dterminaljavadocs.skip=true}.
@@ -173,23 +290,222 @@ public class InjectSiteStylesMojo extends AbstractMojo {
     @Parameter(property = "terminaljavadocs.project.logo", defaultValue = "")
     private String projectLogo;
 
+    /**
+     * Number of worker threads used to process HTML files.
+     * {@code 1} processes files sequentially on the calling thread; {@code 0} or a
+     * negative value uses one thread per available processor.
+     * Can be set via {@code -Dterminaljavadocs.parallelism=8}.
+     */
+    @Parameter(property = "terminaljavadocs.parallelism", defaultValue = "1")
+    private int parallelism = 1;
+
+    /**
+     * Maximum number of pages waiting to be written by the write-behind threads.
+     * Pages are scanned and classified on the processing threads and written (spliced
+     * into a temporary file, then renamed over the original) on as many dedicated
+     * writer threads, so reading overlaps with writing; a full queue makes the
+     * processing threads wait. {@code 0} writes each page on the thread that read it.
+     * Can be set via {@code -Dterminaljavadocs.writeQueue=256}.
+     */
+    @Parameter(property = "terminaljavadocs.writeQueue", defaultValue = "64")
+    private int writeQueueDepth = 64;
+
+    /**
+     * Whether to skip HTML files that are unchanged since the previous run.
+     * Files are tracked in {@code target/terminaljavadocs-manifest.txt}; unchanged
+     * files are recognised by size and modification time without being read.
+     * Progress is also checkpointed per directory to {@code target/terminaljavadocs-journal.txt},
+     * so a re-run after an interrupted one resumes where it stopped.
+     * Can be disabled via {@code -Dterminaljavadocs.incremental=false}.
+     */
+    @Parameter(property = "terminaljavadocs.incremental", defaultValue = "true")
+    private boolean incremental = true;
+
+    /**
+     * Whether to write the style assets to a content-addressed directory at the site
+     * root ({@code <stylesDir>/<hash>/}) instead of directly into {@code <stylesDir>/}.
+     * Pages, including those of staged modules, then reference the bundle of the exact
+     * assets they were injected with, so executions with a different plugin version or
+     * branding never overwrite each other's assets. Staged modules are part of the
+     * staging root's walk and never get a copy of their own in either mode; module
+     * sites outside the site root keep their own copy.
+     * Can be set via {@code -Dterminaljavadocs.sharedAssets=true}.
+     */
+    @Parameter(property = "terminaljavadocs.sharedAssets", defaultValue = "false")
+    private boolean sharedAssets;
+
+    /**
+     * Whether additional copies of style assets and JaCoCo images are created as hard
+     * links to the first copy instead of separate files. Falls back to copying when the
+     * file system does not support links.
+     * Can be set via {@code -Dterminaljavadocs.hardlinkAssets=true}.
+     */
+    @Parameter(property = "terminaljavadocs.hardlinkAssets", defaultValue = "false")
+    private boolean hardlinkAssets;
+
+    /**
+     * Whether to name each style asset after its content hash, for example
+     * {@code terminaljavadocs-jxr.3f9a1c07.min.css}, so it can be served with
+     * {@code Cache-Control: immutable}: changed assets get new names, and the pages
+     * injected with them reference the new names. The mapping from asset to
+     * fingerprinted name is written to {@code <stylesDir>/asset-manifest.json}.
+     * Can be set via {@code -Dterminaljavadocs.fingerprintAssets=true}.
+     */
+    @Parameter(property = "terminaljavadocs.fingerprintAssets", defaultValue = "false")
+    private boolean fingerprintAssets;
+
+    /**
+     * Whether to generate deploy configuration matching the written site: a
+     * {@code _headers} file in the site root and an nginx snippet next to it
+     * ({@code target/terminaljavadocs-nginx.conf}). They set long-lived immutable
+     * caching for fingerprinted assets, short lifetimes for HTML,
+     * {@code Vary: Accept-Encoding} where gzip siblings exist, and preload hints for
+     * the stylesheets and script of each page-type directory.
+     * Can be set via {@code -Dterminaljavadocs.deployConfig=true}.
+     */
+    @Parameter(property = "terminaljavadocs.deployConfig", defaultValue = "false")
+    private boolean deployConfig;
+
+    /**
+     * URL path the site root is served under, used by the generated deploy configuration.
+     * Can be set via {@code -Dterminaljavadocs.deployBasePath=/docs/}.
+     */
+    @Parameter(property = "terminaljavadocs.deployBasePath", defaultValue = "/")
+    private String deployBasePath = "/";
+
+    /**
+     * Whether to inline each page type's critical (above-the-fold) CSS into its pages
+     * and load the full stylesheets without blocking the first paint: linked with
+     * {@code media="print"} and applied on screen by the bundled script once loaded,
+     * with a {@code <noscript>} fallback. The swap needs no inline script, so it runs
+     * under {@code script-src 'self'}; a Content-Security-Policy without
+     * {@code style-src 'unsafe-inline'} must list the SHA-256 hash of each page
+     * type's critical CSS (logged when inlining), or the browser drops the inline
+     * style and pages render once the full stylesheets apply. When disabled, pages
+     * link the stylesheets as blocking resources.
+     * Can be disabled via {@code -Dterminaljavadocs.inlineCriticalCss=false}.
+     */
+    @Parameter(property = "terminaljavadocs.inlineCriticalCss", defaultValue = "true")
+    private boolean inlineCriticalCss = true;
+
+    /**
+     * Whether pages load the Fira Code and Space Grotesk web fonts from Google Fonts.
+     * The font stylesheet is linked without blocking the first paint and applied by
+     * the bundled script; text renders in the fallback fonts until the web fonts
+     * arrive. Disable for sites served where Google Fonts is unreachable (air-gapped
+     * mirrors) or not allowed by the Content-Security-Policy; pages then use the
+     * fallback fonts of the theme.
+     * Can be disabled via {@code -Dterminaljavadocs.webFonts=false}.
+     */
+    @Parameter(property = "terminaljavadocs.webFonts", defaultValue = "true")
+    private boolean webFonts = true;
+
+    /**
+     * Whether to write the timing and throughput report to
+     * {@code target/terminaljavadocs-metrics.json}. The summary is logged either way.
+     * Can be disabled via {@code -Dterminaljavadocs.metrics=false}.
+     */
+    @Parameter(property = "terminaljavadocs.metrics", defaultValue = "true")
+    private boolean writeMetrics = true;
+
+    /**
+     * Number of slowest HTML files listed in the timing report.
+     * Can be set via {@code -Dterminaljavadocs.metrics.slowest=25}.
+     */
+    @Parameter(property = "terminaljavadocs.metrics.slowest", defaultValue = "10")
+    private int slowestFiles = 10;
+
+    /**
+     * Whether to write a precompressed {@code .gz} sibling next to every HTML page and
+     * style asset, for servers that serve them directly (nginx {@code gzip_static on}).
+     * Compression runs on as many threads as {@code parallelism}; a sibling is only
+     * rewritten when its page or asset has changed since it was compressed.
+     * Can be set via {@code -Dterminaljavadocs.gzip=true}.
+     */
+    @Parameter(property = "terminaljavadocs.gzip", defaultValue = "false")
+    private boolean gzip;
+
+    /**
+     * Deflate level of the precompressed siblings, from 1 (fastest) to 9 (smallest).
+     * Can be set via {@code -Dterminaljavadocs.gzip.level=6}.
+     */
+    @Parameter(property = "terminaljavadocs.gzip.level", defaultValue = "9")
+    private int gzipLevel = 9;
+
+    /** Counter for HTML files skipped because they are unchanged since the last run. */
+    private final LongAdder unchangedFiles = new LongAdder();
+
     /** Counter for total HTML files processed. */
-    private int processedFiles = 0;
+    private final LongAdder processedFiles = new LongAdder();
+
+    /** Counter for HTML files whose stale snippet was replaced. */
+    private final LongAdder upgradedFiles = new LongAdder();
+
+    /** Counter for temporary page files left by an interrupted run and removed. */
+    private final LongAdder staleTempFiles = new LongAdder();
+
+    /** Per-page-type counters for processed files. */
+    private final Map<PageType, LongAdder> pageTypeCounts = createPageTypeCounters();
+
+    /** Worker pool for parallel processing, or {@code null} when running sequentially. */
+    private ExecutorService executor;
 
-    /** Counter for landing pages processed. */
-    private int landingFiles = 0;
+    /** Write-behind stage for page writes, or {@code null} when pages are written synchronously. */
+    private WriteBehindQueue writeQueue;
 
-    /** Counter for coverage report pages processed. */
-    private int coverageFiles = 0;
+    /** Writer of precompressed siblings, or {@code null} when not precompressing. */
+    private GzipPrecompressor precompressor;
 
-    /** Counter for JXR source pages processed. */
-    private int jxrFiles = 0;
+    /** Compression threads of {@link #precompressor}, or {@code null} when not precompressing. */
+    private WriteBehindQueue compressQueue;
 
-    /** Counter for Javadoc pages processed. */
-    private int javadocFiles = 0;
+    /** Deploy configuration per site root, or {@code null} when not generating it. */
+    private Map<File, DeployConfig> deployConfigs;
 
-    /** Counter for general site pages processed. */
-    private int siteFiles = 0;
+    /** Start of the current execution; older temporary page files are leftovers. */
+    private long executionStartMillis;
+
+    /** Manifest of previously processed files, or {@code null} when not running incrementally. */
+    private InjectionManifest manifest;
+
+    /** Directory-scoped page type cache for the current execution. */
+    private PageTypeCache pageTypeCache;
+
+    /** Plugin resources loaded once for the current execution. */
+    private PluginResources resources;
+
+    /** Style assets (page-type CSS and branded JS) for the current execution, keyed by filename. */
+    private Map<String, byte[]> styleAssets;
+
+    /** Content hash of {@link #styleAssets}, naming the shared asset directory. */
+    private String assetBundleHash;
+
+    /** Published filename of every style asset, keyed by its filename in {@link #styleAssets}. */
+    private Map<String, String> assetNames;
+
+    /** Critical CSS inlined into pages, per page type; empty when not inlining. */
+    private Map<PageType, String> criticalStyles;
+
+    /** Plugin version and configuration hash written into, and expected in, injection markers. */
+    private String injectionStamp;
+
+    /** Site directories already processed during this build, shared by all executions. */
+    private SiteRootRegistry siteRoots;
+
+    /** Single-pass tree walker for the current execution. */
+    private SiteWalker siteWalker;
+
+    /** Writer that skips unchanged assets and optionally hard-links copies. */
+    private AssetWriter assetWriter;
+
+    /** First directory the style assets were installed to; source for further copies. */
+    private File primaryAssetDir;
+
+    /** First JaCoCo resources directory themed; source for further copies. */
+    private File primaryJacocoDir;
+
+    /** Timing and throughput metrics of the current execution. */
+    private InjectionMetrics metrics = new InjectionMetrics(0);
 
     /**
      * Executes the style injection goal.
@@ -227,48 +543,55 @@ public class InjectSiteStylesMojo extends AbstractMojo {
 
             getLog().info("Injecting Terminal Javadocs styles into site: " + siteDir.getAbsolutePath());
 
-            // Copy style resources to the site directory
-            File stylesTargetDir = new File(siteDir, stylesDir);
-            copyStyleResources(stylesTargetDir);
-
-            // Replace JaCoCo's default resources with themed versions
-            themeJacocoResources(siteDir);
+            initializeExecution();
 
-            // Process the main site
-            processHtmlFiles(siteDir, siteDir);
-
-            // Process nested module sites if enabled
-            if (processNestedSites) {
-                List<MavenProject> projects = session.getProjects();
+            int threads = resolveParallelism();
+            if (threads > 1) {
+                executor = createExecutor(threads);
+                getLog().info("Processing HTML files with " + threads + " threads");
+            }
+            if (writeQueueDepth > 0) {
+                writeQueue = new WriteBehindQueue(writeQueueDepth, threads, "terminaljavadocs-write-");
+            }
+            if (gzip) {
+                if (gzipLevel < 1 || gzipLevel > 9) {
+                    throw new MojoExecutionException("gzipLevel must be between 1 and 9, was " + gzipLevel);
+                }
+                precompressor = new GzipPrecompressor(gzipLevel);
+                compressQueue = new WriteBehindQueue(Math.max(writeQueueDepth, threads), threads,
+                        "terminaljavadocs-gzip-");
+            }
 
-                // First, process staged module subdirectories (for site:stage)
-                // When using site:stage, modules are aggregated as subdirectories within
-                // target/staging
-                if (siteDir.getName().equals("staging")) {
-                    for (MavenProject reactorProject : projects) {
-                        if (reactorProject.equals(project)) {
-                            continue; // Skip parent
-                        }
+            if (incremental) {
+                long phaseStart = System.nanoTime();
+                manifest = InjectionManifest.load(new File(buildDirectory, MANIFEST_FILE).toPath(),
+                        new File(buildDirectory, JOURNAL_FILE).toPath(), getPluginVersion(), getSnippetConfig());
+                metrics.addPhase(InjectionMetrics.Phase.MANIFEST, phaseStart);
+                if (manifest.getResumed() > 0) {
+                    getLog().info("Resuming interrupted run: " + manifest.getResumed()
+                            + " files already done according to the journal");
+                }
+            }
 
-                        String artifactId = reactorProject.getArtifactId();
-                        File moduleStagedDir = new File(siteDir, artifactId);
+            // This project's own site is always processed, and covers any staged modules within it
+            siteRoots.register(siteDir);
+            if (deployConfig) {
+                deployConfigs = new LinkedHashMap<>();
+                deployConfigs.put(siteDir, newDeployConfig());
+            }
 
-                        if (moduleStagedDir.exists() && moduleStagedDir.isDirectory()) {
-                            // Copy styles to staged module subdirectory
-                            File moduleStylesDir = new File(moduleStagedDir, stylesDir);
-                            copyStyleResources(moduleStylesDir);
+            // Copy style resources to the site directory
+            copyStyleResources(siteDir);
 
-                            // Replace JaCoCo resources in this module
-                            themeJacocoResources(moduleStagedDir);
+            // Theme JaCoCo resources and process the main site in one walk
+            processSite(siteDir, siteDir);
 
-                            getLog().info("Processing staged module site: " + artifactId);
-                            processHtmlFiles(moduleStagedDir, moduleStagedDir);
-                        }
-                    }
-                }
+            // Process nested module sites if enabled
+            if (processNestedSites) {
+                List<MavenProject> projects = session.getProjects();
 
-                // Fallback: process individual module site directories (for mvn site without
-                // staging)
+                // Staged module subdirectories (site:stage) were covered by the walk above;
+                // process individual module site directories (for mvn site without staging)
                 for (MavenProject reactorProject : projects) {
                     if (reactorProject.equals(project)) {
                         continue; // Skip parent, already processed
@@ -284,374 +607,1282 @@ public class InjectSiteStylesMojo extends AbstractMojo {
 
                     if (moduleSiteDir.exists()) {
                         String artifactId = reactorProject.getArtifactId();
+                        if (!isBuildFinished(reactorProject)) {
+                            getLog().info("Skipping module site still being built in parallel: " + artifactId);
+                            continue;
+                        }
+                        if (!siteRoots.claim(moduleSiteDir)) {
+                            getLog().debug("Module site already processed in this build: " + artifactId);
+                            continue;
+                        }
 
-                        // Copy styles to module site
-                        File moduleStylesDir = new File(moduleSiteDir, stylesDir);
-                        copyStyleResources(moduleStylesDir);
-
-                        // Replace JaCoCo resources in this module
-                        themeJacocoResources(moduleSiteDir);
+                        // Copy styles to module site (self-contained, outside the site root)
+                        if (deployConfigs != null) {
+                            deployConfigs.put(moduleSiteDir, newDeployConfig());
+                        }
+                        copyStyleResources(moduleSiteDir);
 
                         getLog().info("Processing individual module site: " + artifactId);
-                        processHtmlFiles(moduleSiteDir, moduleSiteDir);
+                        processSite(moduleSiteDir, moduleSiteDir);
                     }
                 }
             }
 
+            if (compressQueue != null) {
+                compressQueue.await();
+            }
+            if (deployConfigs != null) {
+                writeDeployConfigs();
+            }
+
+            if (manifest != null) {
+                long phaseStart = System.nanoTime();
+                manifest.save();
+                metrics.addPhase(InjectionMetrics.Phase.MANIFEST, phaseStart);
+            }
+            metrics.stop();
+
             // Log statistics
             getLog().info("Style injection complete:");
-            getLog().info("  Total HTML files processed: " + processedFiles);
-            getLog().info("  Landing pages: " + landingFiles);
-            getLog().info("  Coverage pages: " + coverageFiles);
-            getLog().info("  JXR pages: " + jxrFiles);
-            getLog().info("  Javadoc pages: " + javadocFiles);
-            getLog().info("  Site pages: " + siteFiles);
+            getLog().info("  Total HTML files processed: " + processedFiles.sum());
+            getLog().info("  Stale snippets upgraded: " + upgradedFiles.sum());
+            getLog().info("  Landing pages: " + pageTypeCounts.get(PageType.LANDING).sum());
+            getLog().info("  Coverage pages: " + pageTypeCounts.get(PageType.COVERAGE).sum());
+            getLog().info("  JXR pages: " + pageTypeCounts.get(PageType.JXR).sum());
+            getLog().info("  Javadoc pages: " + pageTypeCounts.get(PageType.JAVADOC).sum());
+            getLog().info("  Site pages: " + pageTypeCounts.get(PageType.SITE).sum());
+            if (manifest != null) {
+                getLog().info("  Unchanged files skipped: " + unchangedFiles.sum());
+            }
+            if (writeQueue != null) {
+                getLog().info("  Write-behind queue: " + writeQueue.getSubmitted() + " pages written, "
+                        + writeQueue.getStalls() + " stalls (queue full)");
+            }
+            if (staleTempFiles.sum() > 0) {
+                getLog().info("  Interrupted writes cleaned up: " + staleTempFiles.sum());
+            }
+            getLog().info("  Assets written: " + assetWriter.getWritten()
+                    + ", unchanged: " + assetWriter.getUnchanged());
+            if (precompressor != null) {
+                getLog().info("  Gzip siblings written: " + precompressor.getWritten()
+                        + ", unchanged: " + precompressor.getUnchanged()
+                        + ", bytes saved: " + precompressor.getBytesSaved());
+            }
+            getLog().info("  Page type cache: " + pageTypeCache.getHits() + " hits, "
+                    + pageTypeCache.getMisses() + " misses (content sniffed)");
+            getLog().info("  Tree walk: " + siteWalker.getDirectories() + " directories, "
+                    + siteWalker.getFiles() + " files visited");
+            metrics.logSummary(getLog());
+            if (writeMetrics) {
+                File metricsFile = new File(buildDirectory, METRICS_FILE);
+                metrics.writeJson(metricsFile.toPath());
+                getLog().info("  Metrics written to: " + metricsFile);
+            }
 
         } catch (IOException e) {
             throw new MojoExecutionException("Failed to inject styles", e);
+        } finally {
+            if (executor != null) {
+                shutdownExecutor();
+            }
+            if (writeQueue != null) {
+                // Lets queued writes finish, so no page lock stays held after a failure
+                writeQueue.close();
+                writeQueue = null;
+            }
+            if (compressQueue != null) {
+                // Closed after the write queue, whose writers may still hand pages to it
+                compressQueue.close();
+                compressQueue = null;
+            }
+            if (manifest != null) {
+                closeJournal();
+            }
+            manifest = null;
+            pageTypeCache = null;
+            siteWalker = null;
+            siteRoots = null;
+            resources = null;
+            styleAssets = null;
+            assetNames = null;
+            criticalStyles = null;
+            deployConfigs = null;
+            precompressor = null;
+            primaryAssetDir = null;
+            primaryJacocoDir = null;
         }
     }
 
     /**
-     * Copies all style resources (CSS and JS) from the plugin JAR to the target directory.
-     * JavaScript files are processed for token replacement.
+     * Checks whether another module's site is complete and safe to walk.
      *
-     * @param targetDir the directory to copy resources to (will be created if needed)
-     * @throws IOException if file copying fails
+     * <p>
+     * In a sequential build, modules never run at the same time as this execution.
+     * In a parallel build, a module that is still building may be generating its site,
+     * so it only counts as finished once the build has recorded its result; until then
+     * the module's own execution is left to process it.
+     *
+     * @param module the reactor project of the module
+     * @return {@code true} if the module's site can be processed
      */
-    private void copyStyleResources(File targetDir) throws IOException {
-        targetDir.mkdirs();
-
-        // Copy CSS for each page type
-        for (PageType pageType : PageType.values()) {
-            copyResource(
-                    STYLES_RESOURCE_PATH + pageType.getCssFile(),
-                    new File(targetDir, pageType.getCssFile()));
+    private boolean isBuildFinished(MavenProject module) {
+        if (!session.isParallel()) {
+            return true;
         }
-
-        // Copy JS with token replacement
-        copyJsWithTokenReplacement(STYLES_RESOURCE_PATH + JS_FILE, new File(targetDir, JS_FILE));
+        MavenExecutionResult result = session.getResult();
+        return result != null && result.getBuildSummary(module) != null;
     }
 
     /**
-     * Copies a JavaScript file with token replacement for project branding.
+     * Sets up the per-execution state every page depends on: metrics, the page type
+     * cache, the tree walker, the loaded resources, the style assets with their
+     * published names, the critical styles and the injection stamp.
      *
      * <p>
-     * Replaces the following tokens:
-     * <ul>
-     * <li>{@code %%PROJECT_NAME%%} - replaced with {@link #projectName}</li>
-     * <li>{@code %%PROJECT_LOGO%%} - replaced with {@link #projectLogo}</li>
-     * </ul>
+     * Called at the start of {@link #execute()}. Package-private so the benchmarks can
+     * prepare a configured mojo for its per-page steps without running the whole goal.
      *
-     * @param resourcePath the classpath resource path to copy from
-     * @param targetFile   the target file to copy to
-     * @throws IOException if file reading or writing fails
+     * @throws IOException if a plugin resource cannot be loaded
      */
-    private void copyJsWithTokenReplacement(String resourcePath, File targetFile) throws IOException {
-        try (InputStream is = getResourceStream(resourcePath)) {
-            if (is != null) {
-                // Java 8 compatible way to read all bytes from InputStream
-                java.io.ByteArrayOutputStream buffer = new java.io.ByteArrayOutputStream();
-                byte[] data = new byte[4096];
-                int bytesRead;
-                while ((bytesRead = is.read(data, 0, data.length)) != -1) {
-                    buffer.write(data, 0, bytesRead);
-                }
-                String content = new String(buffer.toByteArray(), StandardCharsets.UTF_8);
+    void initializeExecution() throws IOException {
+        executionStartMillis = System.currentTimeMillis();
+        metrics = new InjectionMetrics(slowestFiles);
+        pageTypeCache = new PageTypeCache(classifier);
+        siteWalker = new SiteWalker(getLog());
+        assetWriter = new AssetWriter(hardlinkAssets);
+        siteRoots = SiteRootRegistry.forSession(session);
+        long phaseStart = System.nanoTime();
+        resources = PluginResources.load(getResourcePaths());
+        styleAssets = loadStyleAssets();
+        assetBundleHash = computeBundleHash(styleAssets);
+        assetNames = computeAssetNames(styleAssets);
+        styleAssets = linkAssetReferences(styleAssets, assetNames);
+        criticalStyles = loadCriticalStyles();
+        injectionStamp = computeInjectionStamp();
+        metrics.addPhase(InjectionMetrics.Phase.RESOURCES, phaseStart);
+    }
 
-                // Replace tokens
-                content = content.replace("%%PROJECT_NAME%%", projectName != null ? projectName : "");
-                content = content.replace("%%PROJECT_LOGO%%", projectLogo != null ? projectLogo : "");
+    /**
+     * Returns the version of this plugin.
+     *
+     * @return the plugin version, or {@code "unknown"} outside a Maven build
+     */
+    private String getPluginVersion() {
+        return pluginDescriptor != null ? pluginDescriptor.getVersion() : "unknown";
+    }
 
-                Files.write(targetFile.toPath(), content.getBytes(StandardCharsets.UTF_8));
-                getLog().debug("Copied JS with token replacement: " + resourcePath + " -> " + targetFile);
-                getLog().debug("  PROJECT_NAME: " + projectName);
-                getLog().debug("  PROJECT_LOGO: " + projectLogo);
-            } else {
-                getLog().warn("Resource not found: " + resourcePath +
-                        ". Run 'npm run build' in css-zen-garden to generate it.");
-            }
-        }
+    /**
+     * Returns the configuration values that determine the injected output.
+     * A change in any of them invalidates the incremental manifest.
+     *
+     * @return the snippet configuration as a single string
+     */
+    private String getSnippetConfig() {
+        return "stylesDir=" + stylesDir + "\nprojectName=" + projectName + "\nprojectLogo=" + projectLogo
+                + "\nsharedAssets=" + sharedAssets + (sharedAssets ? "@" + assetBundleHash : "")
+                + (fingerprintAssets ? "\nfingerprintAssets=" + assetBundleHash : "")
+                + "\ninlineCriticalCss=" + inlineCriticalCss + "\nwebFonts=" + webFonts;
     }
 
     /**
-     * Copies a single resource file from the plugin JAR to the filesystem.
+     * Computes the stamp identifying the snippets this execution writes.
+     * Pages carrying a different stamp were injected by another plugin version or
+     * configuration and have their snippet replaced.
      *
-     * @param resourcePath the classpath resource path to copy from
-     * @param targetFile   the target file to copy to
-     * @throws IOException if file copying fails
+     * @return {@code v=<plugin version> cfg=<first 8 hex digits of the configuration hash>}
      */
-    private void copyResource(String resourcePath, File targetFile) throws IOException {
-        try (InputStream is = getResourceStream(resourcePath)) {
-            if (is != null) {
-                Files.copy(is, targetFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
-                getLog().debug("Copied resource: " + resourcePath + " -> " + targetFile);
-            } else {
-                getLog().warn("Resource not found: " + resourcePath +
-                        ". Run 'npm run build' in css-zen-garden to generate it.");
-            }
-        }
+    private String computeInjectionStamp() {
+        String configHash = InjectionManifest.sha256(getSnippetConfig().getBytes(StandardCharsets.UTF_8));
+        return "v=" + getPluginVersion() + " cfg=" + configHash.substring(0, 8);
     }
 
     /**
-     * Copies themed JaCoCo resources (coverage bar images) to a jacoco-resources directory.
+     * Checks whether an injected page carries the snippet this execution would write.
      *
-     * @param jacocoResourcesDir the JaCoCo resources directory to update
-     * @throws IOException if file copying fails
+     * @param stamp the marker comment text of the page, may be {@code null}
+     * @return {@code true} if the page is up to date
      */
-    private void copyJacocoResources(File jacocoResourcesDir) throws IOException {
-        if (!jacocoResourcesDir.exists()) {
-            return;
-        }
+    private boolean isCurrentStamp(String stamp) {
+        return stamp != null && stamp.startsWith(injectionStamp + " ");
+    }
 
-        for (String fileName : JACOCO_RESOURCE_FILES) {
-            copyResource(JACOCO_RESOURCES_PATH + fileName, new File(jacocoResourcesDir, fileName));
+    /**
+     * Creates one contention-free counter per page type.
+     *
+     * @return a map holding a counter for every {@link PageType}
+     */
+    private static Map<PageType, LongAdder> createPageTypeCounters() {
+        Map<PageType, LongAdder> counters = new EnumMap<>(PageType.class);
+        for (PageType pageType : PageType.values()) {
+            counters.put(pageType, new LongAdder());
         }
-        getLog().debug("Copied themed JaCoCo resources to: " + jacocoResourcesDir);
+        return counters;
     }
 
     /**
-     * Finds and themes all JaCoCo resource directories in the given site directory.
-     * Recursively walks the directory tree looking for {@code jacoco-resources} folders.
+     * Resolves the configured parallelism into an actual thread count.
      *
-     * @param siteDir the site directory to search
-     * @throws IOException if directory traversal or file copying fails
+     * @return the number of worker threads to use, at least {@code 1}
      */
-    private void themeJacocoResources(File siteDir) throws IOException {
-        Files.walkFileTree(siteDir.toPath(), new SimpleFileVisitor<Path>() {
-            @Override
-            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
-                if (dir.getFileName() != null && dir.getFileName().toString().equals("jacoco-resources")) {
-                    copyJacocoResources(dir.toFile());
-                }
-                return FileVisitResult.CONTINUE;
-            }
-        });
+    private int resolveParallelism() {
+        if (parallelism <= 0) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        return parallelism;
     }
 
     /**
-     * Gets an input stream for a classpath resource, trying multiple classloaders.
+     * Creates the bounded worker pool used for parallel HTML processing.
+     * Threads are daemons so a failed build never hangs on shutdown.
      *
      * <p>
-     * Attempts loading in this order:
-     * <ol>
-     * <li>Thread context classloader</li>
-     * <li>Class classloader</li>
-     * <li>Direct resource stream with leading slash</li>
-     * </ol>
+     * The pool queues at most a few files per thread. When the queue is full, the
+     * walking thread processes the file itself, so the walk can never get far ahead
+     * of the workers and the number of queued tasks stays bounded on large sites.
      *
-     * @param resourcePath the resource path to load
-     * @return the input stream, or {@code null} if not found
+     * @param threads the number of worker threads
+     * @return the executor service
      */
-    private InputStream getResourceStream(String resourcePath) {
-        InputStream is = Thread.currentThread()
-                .getContextClassLoader()
-                .getResourceAsStream(resourcePath);
+    private ExecutorService createExecutor(int threads) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * QUEUED_FILES_PER_THREAD), runnable -> {
+                    Thread thread = new Thread(runnable, "terminaljavadocs-inject-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
 
-        if (is == null) {
-            is = InjectSiteStylesMojo.class.getClassLoader().getResourceAsStream(resourcePath);
+    /**
+     * Closes the journal after a failed run, keeping the checkpoints written so far
+     * for the next run to resume from. Does nothing after a successful save.
+     */
+    private void closeJournal() {
+        try {
+            manifest.close();
+        } catch (IOException e) {
+            getLog().warn("Failed to close the processing journal: " + e.getMessage());
         }
+    }
 
-        if (is == null) {
-            is = InjectSiteStylesMojo.class.getResourceAsStream("/" + resourcePath);
+    /**
+     * Stops the worker pool and waits for running tasks to notice, so none of them
+     * can hand a page to the write-behind queue after it has been closed.
+     */
+    private void shutdownExecutor() {
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                getLog().warn("HTML processing threads did not stop within a minute");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
-
-        return is;
+        executor = null;
     }
 
     /**
-     * Processes all HTML files in the given directory recursively.
+     * Returns the classpath paths of every resource the plugin copies into a site.
      *
-     * @param directory the directory to scan for HTML files
-     * @param siteRoot  the root of the site (for relative path calculations)
-     * @throws IOException if file traversal or processing fails
-     */
-    private void processHtmlFiles(File directory, File siteRoot) throws IOException {
-        Files.walkFileTree(directory.toPath(), new SimpleFileVisitor<Path>() {
-            @Override
-            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
-                if (file.toString().endsWith(".html")) {
-                    processHtmlFile(file.toFile(), siteRoot);
-                }
-                return FileVisitResult.CONTINUE;
-            }
-
-            @Override
-            public FileVisitResult visitFileFailed(Path file, IOException exc) throws IOException {
-                getLog().warn("Failed to visit file: " + file + " - " + exc.getMessage());
-                return FileVisitResult.CONTINUE;
-            }
-        });
+     * @return the style, Prism, script and JaCoCo image resource paths
+     */
+    private static List<String> getResourcePaths() {
+        List<String> paths = new ArrayList<>();
+        paths.add(STYLES_RESOURCE_PATH + CORE_CSS_FILE);
+        for (PageType pageType : PageType.values()) {
+            paths.add(STYLES_RESOURCE_PATH + pageType.getCssFile());
+            paths.add(STYLES_RESOURCE_PATH + pageType.getCriticalCssFile());
+            paths.add(STYLES_RESOURCE_PATH + pageType.getPrintCssFile());
+        }
+        for (String fileName : PRISM_FILES) {
+            paths.add(STYLES_RESOURCE_PATH + fileName);
+        }
+        paths.add(STYLES_RESOURCE_PATH + JS_FILE);
+        for (String fileName : JACOCO_RESOURCE_FILES) {
+            paths.add(JACOCO_RESOURCES_PATH + fileName);
+        }
+        return paths;
     }
 
     /**
-     * Processes a single HTML file by detecting its type and injecting appropriate styles.
+     * Collects the style assets (the core CSS, the delta and print CSS of every page
+     * type, the Prism files and the branded JS) from the resource cache. JavaScript is rendered
+     * with the project branding tokens. The Prism files come ahead of the script that
+     * references them.
      *
-     * @param htmlFile the HTML file to process
-     * @param siteRoot the root of the site (for relative path calculations)
-     * @throws IOException if file reading or writing fails
+     * @return the asset bytes keyed by filename, in a stable order
      */
-    private void processHtmlFile(File htmlFile, File siteRoot) throws IOException {
-        String content = new String(Files.readAllBytes(htmlFile.toPath()), StandardCharsets.UTF_8);
+    private Map<String, byte[]> loadStyleAssets() {
+        Map<String, byte[]> assets = new LinkedHashMap<>();
 
-        // Check if styles are already injected (avoid duplicate injection)
-        if (content.contains(INJECTION_MARKER)) {
-            getLog().debug("Skipping already injected file: " + htmlFile);
-            return;
+        // Shared core CSS, then the delta and print CSS for each page type
+        byte[] core = getResource(STYLES_RESOURCE_PATH + CORE_CSS_FILE);
+        if (core != null) {
+            assets.put(CORE_CSS_FILE, core);
+        }
+        for (PageType pageType : PageType.values()) {
+            byte[] css = getResource(STYLES_RESOURCE_PATH + pageType.getCssFile());
+            if (css != null) {
+                assets.put(pageType.getCssFile(), css);
+            }
+            byte[] print = getResource(STYLES_RESOURCE_PATH + pageType.getPrintCssFile());
+            if (print != null) {
+                assets.put(pageType.getPrintCssFile(), print);
+            }
         }
 
-        // Detect page type
-        PageType pageType = detectPageType(htmlFile, content);
-
-        // Calculate relative path to styles directory
-        String relativePath = calculateRelativePath(htmlFile, siteRoot);
-
-        // Generate the style injection snippet
-        String styleSnippet = generateStyleSnippet(pageType, relativePath);
-
-        // Inject styles before </head>
-        String modifiedContent = injectStyles(content, styleSnippet);
-
-        if (modifiedContent != null) {
-            Files.write(htmlFile.toPath(), modifiedContent.getBytes(StandardCharsets.UTF_8));
-            processedFiles++;
-
-            // Update statistics
-            switch (pageType) {
-                case LANDING:
-                    landingFiles++;
-                    break;
-                case COVERAGE:
-                    coverageFiles++;
-                    break;
-                case JXR:
-                    jxrFiles++;
-                    break;
-                case JAVADOC:
-                    javadocFiles++;
-                    break;
-                case SITE:
-                    siteFiles++;
-                    break;
+        // Prism core and grammars, loaded on demand by the JS
+        for (String fileName : PRISM_FILES) {
+            byte[] prism = getResource(STYLES_RESOURCE_PATH + fileName);
+            if (prism != null) {
+                assets.put(fileName, prism);
             }
+        }
 
-            getLog().debug("Injected " + pageType.getName() + " styles into: " + htmlFile);
+        // JS with token replacement
+        if (getResource(STYLES_RESOURCE_PATH + JS_FILE) != null) {
+            assets.put(JS_FILE, resources.getBrandedJs(STYLES_RESOURCE_PATH + JS_FILE, projectName, projectLogo));
+            getLog().debug("Rendered JS with token replacement");
+            getLog().debug("  PROJECT_NAME: " + projectName);
+            getLog().debug("  PROJECT_LOGO: " + projectLogo);
         }
+        return Collections.unmodifiableMap(assets);
     }
 
     /**
-     * Detects the page type based on file path and content.
-     *
-     * <p>
-     * Detection priority:
-     * <ol>
-     * <li>Filename match (coverage.html, source-xref.html)</li>
-     * <li>Path-based detection (/jacoco/, /xref/, /apidocs/)</li>
-     * <li>Content-based detection (HTML markers)</li>
-     * <li>Default to SITE type</li>
-     * </ol>
+     * Collects the critical CSS of every page type from the resource cache, when
+     * inlining, and logs the hash sources a Content-Security-Policy needs to allow it.
+     * Page types without bundled critical CSS link their stylesheets as blocking
+     * resources.
      *
-     * @param htmlFile the HTML file being processed
-     * @param content  the file's content
-     * @return the detected page type
+     * @return the critical CSS keyed by page type
      */
-    private PageType detectPageType(File htmlFile, String content) {
-        String path = htmlFile.getAbsolutePath().replace('\\', '/').toLowerCase();
-        String fileName = htmlFile.getName().toLowerCase();
-
-        // Landing pages (generated by generate-landing-pages goal)
-        if (fileName.equals("coverage.html") || fileName.equals("source-xref.html")) {
-            return PageType.LANDING;
+    private Map<PageType, String> loadCriticalStyles() {
+        Map<PageType, String> styles = new EnumMap<>(PageType.class);
+        if (!inlineCriticalCss) {
+            return styles;
         }
-
-        // Path-based detection (most reliable)
-        if (path.contains("/jacoco/") || path.contains("/coverage/")) {
-            return PageType.COVERAGE;
-        }
-        if (path.contains("/xref/") || path.contains("/xref-test/")) {
-            return PageType.JXR;
+        StringBuilder hashes = new StringBuilder();
+        for (PageType pageType : PageType.values()) {
+            byte[] css = getResource(STYLES_RESOURCE_PATH + pageType.getCriticalCssFile());
+            if (css != null) {
+                styles.put(pageType, new String(css, StandardCharsets.UTF_8));
+                hashes.append(' ').append(styleHash(css));
+            }
         }
-        if (path.contains("/apidocs/") || path.contains("/testapidocs/") || path.contains("/javadoc/")) {
-            return PageType.JAVADOC;
+        if (hashes.length() > 0) {
+            getLog().info("Inlining critical CSS; a Content-Security-Policy allows it with style-src" + hashes);
         }
+        return styles;
+    }
 
-        // Content-based detection (fallback)
-        if (isLandingContent(content)) {
-            return PageType.LANDING;
-        }
-        if (isJacocoContent(content)) {
-            return PageType.COVERAGE;
-        }
-        if (isJxrContent(content)) {
-            return PageType.JXR;
-        }
-        if (isJavadocContent(content)) {
-            return PageType.JAVADOC;
-        }
+    /**
+     * Returns the Content-Security-Policy hash source allowing an inline style.
+     *
+     * @param css the content of the {@code <style>} element
+     * @return the hash source, e.g. {@code 'sha256-...'}
+     */
+    static String styleHash(byte[] css) {
+        return "'sha256-" + InjectionManifest.sha256Base64(css) + "'";
+    }
 
-        // Default to site
-        return PageType.SITE;
+    /**
+     * Computes the content hash naming the shared asset bundle directory.
+     *
+     * @param assets the style assets
+     * @return the first 12 hex digits of the SHA-256 over all names and bytes
+     */
+    private static String computeBundleHash(Map<String, byte[]> assets) {
+        java.io.ByteArrayOutputStream all = new java.io.ByteArrayOutputStream();
+        for (Map.Entry<String, byte[]> asset : assets.entrySet()) {
+            byte[] name = asset.getKey().getBytes(StandardCharsets.UTF_8);
+            all.write(name, 0, name.length);
+            all.write(0);
+            all.write(asset.getValue(), 0, asset.getValue().length);
+        }
+        return InjectionManifest.sha256(all.toByteArray()).substring(0, 12);
     }
 
     /**
-     * Checks if content is from a landing page (coverage.html or source-xref.html).
+     * Determines the filename each style asset is published under.
+     *
+     * <p>
+     * The script is fingerprinted over its content with its references to the Prism
+     * files already rewritten, so its name changes whenever theirs do.
      *
-     * @param content the HTML content to check
-     * @return {@code true} if landing page markers are found
+     * @param assets the style assets, referenced assets first
+     * @return the published names keyed by asset filename; fingerprinted when enabled
      */
-    private boolean isLandingContent(String content) {
-        return content.contains("class=\"terminal-header\"") ||
-                content.contains("class=\"terminal-brand\"") ||
-                content.contains("class=\"module-list\"");
+    private Map<String, String> computeAssetNames(Map<String, byte[]> assets) {
+        Map<String, String> names = new LinkedHashMap<>();
+        for (Map.Entry<String, byte[]> asset : assets.entrySet()) {
+            names.put(asset.getKey(), fingerprintAssets
+                    ? fingerprint(asset.getKey(), linkReferences(asset.getKey(), asset.getValue(), names))
+                    : asset.getKey());
+        }
+        return Collections.unmodifiableMap(names);
     }
 
     /**
-     * Checks if content is from a JaCoCo coverage report.
+     * Rewrites the asset references of every style asset to their published names.
      *
-     * @param content the HTML content to check
-     * @return {@code true} if JaCoCo markers are found
+     * @param assets the style assets
+     * @param names  the published names keyed by asset filename
+     * @return the assets as they are installed, in the same order
      */
-    private boolean isJacocoContent(String content) {
-        return content.contains("jacoco") ||
-                content.contains("Coverage Report") ||
-                content.contains("class=\"el_package\"") ||
-                content.contains("class=\"el_class\"") ||
-                content.contains("class=\"ctr2\"");
+    private static Map<String, byte[]> linkAssetReferences(Map<String, byte[]> assets, Map<String, String> names) {
+        Map<String, byte[]> linked = new LinkedHashMap<>();
+        for (Map.Entry<String, byte[]> asset : assets.entrySet()) {
+            linked.put(asset.getKey(), linkReferences(asset.getKey(), asset.getValue(), names));
+        }
+        return Collections.unmodifiableMap(linked);
     }
 
     /**
-     * Checks if content is from a JXR source cross-reference page.
+     * Rewrites the Prism filenames the script loads to their published names. Other
+     * assets are returned unchanged.
      *
-     * @param content the HTML content to check
-     * @return {@code true} if JXR markers are found
+     * @param fileName the asset filename
+     * @param content  the asset bytes
+     * @param names    the published names keyed by asset filename
+     * @return the rewritten bytes, or {@code content} itself if nothing was renamed
      */
-    private boolean isJxrContent(String content) {
-        return content.contains("jxr") ||
-                content.contains("Cross-Reference") ||
-                content.contains("class=\"jxr_") ||
-                content.contains("id=\"jxr_");
+    static byte[] linkReferences(String fileName, byte[] content, Map<String, String> names) {
+        if (!fileName.equals(JS_FILE)) {
+            return content;
+        }
+        String script = new String(content, StandardCharsets.UTF_8);
+        String linked = script;
+        for (Map.Entry<String, String> name : names.entrySet()) {
+            if (!name.getKey().equals(name.getValue())) {
+                linked = linked.replace("'" + name.getKey() + "'", "'" + name.getValue() + "'")
+                        .replace("\"" + name.getKey() + "\"", "\"" + name.getValue() + "\"");
+            }
+        }
+        return linked.equals(script) ? content : linked.getBytes(StandardCharsets.UTF_8);
     }
 
     /**
-     * Checks if content is from Javadoc API documentation.
+     * Inserts the content hash of an asset into its filename, after the base name.
      *
-     * @param content the HTML content to check
-     * @return {@code true} if Javadoc markers are found
+     * @param fileName the asset filename (e.g., "terminaljavadocs-jxr.min.css")
+     * @param content  the asset bytes
+     * @return the fingerprinted filename (e.g., "terminaljavadocs-jxr.3f9a1c07.min.css")
      */
-    private boolean isJavadocContent(String content) {
-        return content.contains("Generated by javadoc") ||
-                content.contains("<!-- Generated by javadoc") ||
-                content.contains("class=\"summary-table\"") ||
-                content.contains("class=\"member-signature\"") ||
-                content.contains("class=\"description\"");
+    static String fingerprint(String fileName, byte[] content) {
+        String hash = InjectionManifest.sha256(content).substring(0, FINGERPRINT_LENGTH);
+        int dot = fileName.indexOf('.');
+        return dot < 0
+                ? fileName + "." + hash
+                : fileName.substring(0, dot) + "." + hash + fileName.substring(dot);
     }
 
     /**
-     * Calculates the relative path from an HTML file's directory to the site root.
+     * Returns the filename a style asset is published under.
      *
-     * @param htmlFile the HTML file being processed
-     * @param siteRoot the root directory of the site
-     * @return the relative path with trailing slash (e.g., "../../../")
+     * @param fileName the asset filename
+     * @return the fingerprinted filename when enabled, otherwise the filename itself
+     */
+    private String publishedName(String fileName) {
+        return assetNames.getOrDefault(fileName, fileName);
+    }
+
+    /**
+     * Renders the asset manifest, mapping every style asset to its published filename.
+     *
+     * @return the manifest as JSON
+     */
+    private byte[] renderAssetManifest() {
+        StringBuilder json = new StringBuilder("{");
+        String separator = "\n";
+        for (Map.Entry<String, String> name : assetNames.entrySet()) {
+            json.append(separator).append("  \"").append(name.getKey()).append("\": \"")
+                    .append(name.getValue()).append('"');
+            separator = ",\n";
+        }
+        return json.append("\n}\n").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the directory holding the style assets for a site root.
+     *
+     * @param siteRoot the site root
+     * @return {@code <siteRoot>/<stylesDir>}, plus the bundle hash in shared mode
+     */
+    private File getAssetDir(File siteRoot) {
+        File dir = new File(siteRoot, stylesDir);
+        return sharedAssets ? new File(dir, assetBundleHash) : dir;
+    }
+
+    /**
+     * Installs the style assets into a site root.
+     *
+     * <p>
+     * The first installation writes the bytes; later ones are created through
+     * {@link AssetWriter#copy} from the first, which hard-links them when enabled.
+     * Files that already hold the right bytes are left untouched.
+     *
+     * @param siteRoot the site root receiving the assets
+     * @throws IOException if file copying fails
+     */
+    private void copyStyleResources(File siteRoot) throws IOException {
+        long start = System.nanoTime();
+        File targetDir = getAssetDir(siteRoot);
+        targetDir.mkdirs();
+
+        for (Map.Entry<String, byte[]> asset : styleAssets.entrySet()) {
+            String fileName = assetNames.get(asset.getKey());
+            Path target = new File(targetDir, fileName).toPath();
+            if (primaryAssetDir == null || primaryAssetDir.equals(targetDir)) {
+                assetWriter.write(asset.getValue(), target);
+            } else {
+                assetWriter.copy(new File(primaryAssetDir, fileName).toPath(), asset.getValue(), target);
+            }
+            getLog().debug("Installed asset: " + asset.getKey() + " -> " + target);
+            precompress(target);
+            DeployConfig config = deployConfigFor(targetDir);
+            if (config != null) {
+                config.addAsset(sitePath(config, target.toFile()));
+            }
+        }
+        if (fingerprintAssets) {
+            assetWriter.write(renderAssetManifest(), new File(targetDir, ASSET_MANIFEST_FILE).toPath());
+        }
+
+        if (primaryAssetDir == null) {
+            primaryAssetDir = targetDir;
+        }
+        metrics.addPhase(InjectionMetrics.Phase.ASSETS, start);
+    }
+
+    /**
+     * Returns a resource from the execution's resource cache, warning if it is missing.
+     *
+     * @param resourcePath the classpath resource path
+     * @return the resource bytes, or {@code null} if the resource does not exist
+     */
+    private byte[] getResource(String resourcePath) {
+        byte[] bytes = resources.get(resourcePath);
+        if (bytes == null) {
+            getLog().warn("Resource not found: " + resourcePath +
+                    ". Run 'npm run build' in css-zen-garden to generate it.");
+        }
+        return bytes;
+    }
+
+    /**
+     * Copies themed JaCoCo resources (coverage bar images) to a jacoco-resources directory.
+     *
+     * <p>
+     * After the first directory has been themed, further directories are populated
+     * from it through {@link AssetWriter#copy}, which hard-links when enabled.
+     *
+     * @param jacocoResourcesDir the JaCoCo resources directory to update
+     * @throws IOException if file copying fails
+     */
+    private void copyJacocoResources(File jacocoResourcesDir) throws IOException {
+        if (!jacocoResourcesDir.exists()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        for (String fileName : JACOCO_RESOURCE_FILES) {
+            byte[] image = getResource(JACOCO_RESOURCES_PATH + fileName);
+            if (image == null) {
+                continue;
+            }
+            Path target = new File(jacocoResourcesDir, fileName).toPath();
+            if (primaryJacocoDir == null) {
+                assetWriter.write(image, target);
+            } else {
+                assetWriter.copy(new File(primaryJacocoDir, fileName).toPath(), image, target);
+            }
+        }
+        if (primaryJacocoDir == null) {
+            primaryJacocoDir = jacocoResourcesDir;
+        }
+        metrics.addPhase(InjectionMetrics.Phase.ASSETS, start);
+        getLog().debug("Copied themed JaCoCo resources to: " + jacocoResourcesDir);
+    }
+
+    /**
+     * Creates an empty deploy configuration for a site root.
+     *
+     * @return the configuration
+     */
+    private DeployConfig newDeployConfig() {
+        return new DeployConfig(deployBasePath, fingerprintAssets, gzip);
+    }
+
+    /**
+     * Returns the deploy configuration of the site root containing a file.
+     *
+     * @param file a file or directory within a site
+     * @return the configuration, or {@code null} when not generating it
+     */
+    private DeployConfig deployConfigFor(File file) {
+        if (deployConfigs == null) {
+            return null;
+        }
+        DeployConfig found = null;
+        int foundDepth = -1;
+        Path path = file.toPath().toAbsolutePath().normalize();
+        for (Map.Entry<File, DeployConfig> config : deployConfigs.entrySet()) {
+            Path root = config.getKey().toPath().toAbsolutePath().normalize();
+            if (path.startsWith(root) && root.getNameCount() > foundDepth) {
+                found = config.getValue();
+                foundDepth = root.getNameCount();
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns the URL path of a file relative to the root of its deploy configuration.
+     *
+     * @param config the deploy configuration
+     * @param file   a file or directory within the configuration's site root
+     * @return the relative path with forward slashes, empty for the root itself
+     */
+    private String sitePath(DeployConfig config, File file) {
+        for (Map.Entry<File, DeployConfig> entry : deployConfigs.entrySet()) {
+            if (entry.getValue() == config) {
+                Path root = entry.getKey().toPath().toAbsolutePath().normalize();
+                return root.relativize(file.toPath().toAbsolutePath().normalize()).toString().replace('\\', '/');
+            }
+        }
+        throw new IllegalArgumentException("Unknown deploy configuration for " + file);
+    }
+
+    /**
+     * Writes the {@code _headers} file into every site root and the nginx snippet next to it.
+     *
+     * @throws IOException if a file cannot be written
+     */
+    private void writeDeployConfigs() throws IOException {
+        for (Map.Entry<File, DeployConfig> config : deployConfigs.entrySet()) {
+            File siteRoot = config.getKey();
+            Path headers = new File(siteRoot, HEADERS_FILE).toPath();
+            Path nginx = new File(siteRoot.getAbsoluteFile().getParentFile(), NGINX_FILE).toPath();
+            AssetWriter.writeAtomically(config.getValue().renderHeaders().getBytes(StandardCharsets.UTF_8), headers);
+            AssetWriter.writeAtomically(config.getValue().renderNginx().getBytes(StandardCharsets.UTF_8), nginx);
+            getLog().info("  Deploy configuration written to: " + headers + ", " + nginx);
+        }
+    }
+
+    /**
+     * Themes and injects styles into a site directory in a single tree walk.
+     *
+     * <p>
+     * The walk dispatches every directory and file to two stages: JaCoCo image
+     * theming for {@code jacoco-resources} folders and style injection for HTML files.
+     * Each directory is listed, and each file's attributes read, only once.
+     *
+     * @param directory the directory to walk
+     * @param siteRoot  the root of the site (for relative path calculations)
+     * @throws IOException if traversal or processing fails
+     */
+    private void processSite(File directory, File siteRoot) throws IOException {
+        long start = System.nanoTime();
+        List<SiteVisitor> stages = new ArrayList<>(Arrays.asList(
+                new JacocoThemingStage(),
+                new HtmlInjectionStage(siteRoot)));
+        DeployConfig config = deployConfigFor(directory);
+        if (config != null) {
+            stages.add(new PreloadStage(config, siteRoot));
+        }
+        siteWalker.walk(directory.toPath(), stages);
+        metrics.addPhase(InjectionMetrics.Phase.WALK, start);
+    }
+
+    /**
+     * Walk stage that replaces JaCoCo's default images in every
+     * {@code jacoco-resources} folder with themed versions.
+     */
+    private final class JacocoThemingStage implements SiteVisitor {
+
+        @Override
+        public void preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+            if (dir.getFileName() != null && dir.getFileName().toString().equals("jacoco-resources")) {
+                copyJacocoResources(dir.toFile());
+            }
+        }
+    }
+
+    /**
+     * Walk stage that records preload hints for the deploy configuration.
+     *
+     * <p>
+     * Every directory whose path determines the type of its pages ({@code apidocs/},
+     * {@code xref/}, {@code jacoco/}, ...), and whose parent does not, is the top of a
+     * subtree of pages sharing one stylesheet. It is recorded with the stylesheet and
+     * script its pages link to.
+     */
+    private final class PreloadStage implements SiteVisitor {
+
+        /** The deploy configuration to add hints to. */
+        private final DeployConfig config;
+
+        /** The root of the site the walked pages link against. */
+        private final File siteRoot;
+
+        /**
+         * Creates the stage.
+         *
+         * @param config   the deploy configuration of the walked site
+         * @param siteRoot the root of the site the walked pages link against
+         */
+        PreloadStage(DeployConfig config, File siteRoot) {
+            this.config = config;
+            this.siteRoot = siteRoot;
+        }
+
+        @Override
+        public void preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+            PageType pageType = classifier.classifyDirectory(dir);
+            if (pageType == null || dir.getParent() == null || classifier.classifyDirectory(dir.getParent()) != null) {
+                return;
+            }
+            String dirPath = sitePath(config, dir.toFile()) + "/";
+            String assetsPath = sitePath(config, getAssetDir(siteRoot)) + "/";
+            config.addPreload(dirPath, assetsPath + publishedName(CORE_CSS_FILE), "style");
+            config.addPreload(dirPath, assetsPath + publishedName(pageType.getCssFile()), "style");
+            config.addPreload(dirPath, assetsPath + publishedName(JS_FILE), "script");
+        }
+    }
+
+    /**
+     * Walk stage that injects styles into every HTML file.
+     *
+     * <p>
+     * When a worker pool is active, each file is submitted as an independent task
+     * and {@link #finish()} waits for all of them. Every file is transformed in
+     * isolation, so the output is identical to sequential mode. With write-behind
+     * enabled, {@link #finish()} also waits until every page has been replaced.
+     *
+     * <p>
+     * Temporary page files older than the current execution are left over from an
+     * interrupted run (the original page is intact) and are removed.
+     *
+     * <p>
+     * When running incrementally, each directory is checkpointed to the journal once
+     * the walk has left it and all of its pages are recorded.
+     */
+    private final class HtmlInjectionStage implements SiteVisitor {
+
+        /** The root of the site (for relative path calculations). */
+        private final File siteRoot;
+
+        /** Monitor guarding {@link #running}. */
+        private final Object idle = new Object();
+
+        /** Number of files handed to the worker pool whose task has not finished; guarded by {@link #idle}. */
+        private int running;
+
+        /** First failure of any file task. */
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        /** Checkpoints of the directories the walk is in; only used by the walking thread. */
+        private final Map<Path, DirectoryCheckpoint> checkpoints = new HashMap<>();
+
+        /**
+         * Creates the stage.
+         *
+         * @param siteRoot the root of the site the walked pages link against
+         */
+        HtmlInjectionStage(File siteRoot) {
+            this.siteRoot = siteRoot;
+        }
+
+        @Override
+        public void preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+            pageTypeCache.visitDirectory(dir);
+            if (manifest != null) {
+                checkpoints.put(dir, new DirectoryCheckpoint(dir));
+            }
+        }
+
+        @Override
+        public void visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+            if (HtmlHeadInjector.isSpliceTemp(file) || GzipPrecompressor.isTemp(file)) {
+                // A concurrent execution may be writing a recent one; only remove leftovers
+                if (attrs.lastModifiedTime().toMillis() < executionStartMillis && Files.deleteIfExists(file)) {
+                    staleTempFiles.increment();
+                    getLog().debug("Removed temporary file of an interrupted run: " + file);
+                }
+                return;
+            }
+            if (!file.toString().endsWith(".html")) {
+                return;
+            }
+            if (manifest != null && manifest.isUnchanged(file, attrs)) {
+                unchangedFiles.increment();
+                PluginEvents.commitHtmlFile(PluginEvents.beginHtmlFile(), file, null, 0, 0, PluginEvents.UNCHANGED);
+                precompress(file);
+                return;
+            }
+            DirectoryCheckpoint checkpoint = checkpoints.get(file.getParent());
+            if (checkpoint != null) {
+                checkpoint.fileStarted();
+            }
+            if (executor == null) {
+                processAndRecord(file, siteRoot, checkpoint);
+            } else {
+                rethrowFailure();
+                synchronized (idle) {
+                    running++;
+                }
+                executor.execute(() -> {
+                    try {
+                        processAndRecord(file, siteRoot, checkpoint);
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    } finally {
+                        taskFinished();
+                    }
+                });
+            }
+        }
+
+        @Override
+        public void postVisitDirectory(Path dir) throws IOException {
+            DirectoryCheckpoint checkpoint = checkpoints.remove(dir);
+            if (checkpoint != null) {
+                checkpoint.fileDone();
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            synchronized (idle) {
+                while (running > 0) {
+                    try {
+                        idle.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Interrupted while processing HTML files");
+                    }
+                }
+            }
+            rethrowFailure();
+            if (writeQueue != null) {
+                writeQueue.await();
+            }
+        }
+
+        /**
+         * Marks one file task as finished, waking {@link #finish()} when none remain.
+         */
+        private void taskFinished() {
+            synchronized (idle) {
+                if (--running == 0) {
+                    idle.notifyAll();
+                }
+            }
+        }
+
+        /**
+         * Rethrows the first failure of a finished file task, if any, so the walk stops
+         * submitting files once one has failed.
+         *
+         * @throws IOException if a task failed with an I/O error or an unexpected exception
+         */
+        private void rethrowFailure() throws IOException {
+            Throwable cause = failure.get();
+            if (cause == null) {
+                return;
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException("Failed to process HTML file", cause);
+        }
+    }
+
+    /**
+     * Processes a single HTML file and records its final state in the manifest.
+     *
+     * <p>
+     * The file's lock is held from the head scan until the page has been replaced,
+     * so concurrent executions in a parallel build never rewrite the same page at the
+     * same time. With write-behind enabled, the write, the manifest update and the
+     * release of the lock happen on a writer thread.
+     *
+     * @param file       the HTML file to process
+     * @param siteRoot   the root of the site (for relative path calculations)
+     * @param checkpoint the checkpoint of the file's directory, or {@code null} when not incremental
+     * @throws IOException if processing or recording fails
+     */
+    private void processAndRecord(Path file, File siteRoot, DirectoryCheckpoint checkpoint) throws IOException {
+        Semaphore lock = siteRoots.lockFor(file);
+        try {
+            lock.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to process " + file);
+        }
+        boolean handedOff = false;
+        try {
+            PageWrite write = prepareHtmlFile(file.toFile(), siteRoot);
+            if (write == null) {
+                recordInManifest(file, checkpoint);
+                precompress(file);
+            } else if (writeQueue == null) {
+                writeAndRecord(write, checkpoint);
+            } else {
+                writeQueue.submit(() -> {
+                    try {
+                        writeAndRecord(write, checkpoint);
+                    } finally {
+                        lock.release();
+                    }
+                });
+                handedOff = true;
+            }
+        } finally {
+            if (!handedOff) {
+                lock.release();
+            }
+        }
+    }
+
+    /**
+     * Writes a prepared page and records its new state in the manifest.
+     *
+     * @param write      the prepared page
+     * @param checkpoint the checkpoint of the page's directory, or {@code null} when not incremental
+     * @throws IOException if writing or recording fails
+     */
+    private void writeAndRecord(PageWrite write, DirectoryCheckpoint checkpoint) throws IOException {
+        writePage(write);
+        recordInManifest(write.path, checkpoint);
+        precompress(write.path);
+    }
+
+    /**
+     * Hands a page or asset to the compression threads, when precompressing, to have
+     * its {@code .gz} sibling brought up to date.
+     *
+     * @param file the page or asset in its final state
+     * @throws IOException if an earlier compression failed or the wait was interrupted
+     */
+    private void precompress(Path file) throws IOException {
+        if (compressQueue != null) {
+            compressQueue.submit(() -> {
+                long start = System.nanoTime();
+                precompressor.compress(file);
+                metrics.addPhase(InjectionMetrics.Phase.COMPRESS, start);
+            });
+        }
+    }
+
+    /**
+     * Records a file's current state in the manifest, when running incrementally, and
+     * counts it as done towards its directory's checkpoint.
+     *
+     * @param file       the file
+     * @param checkpoint the checkpoint of the file's directory, or {@code null} when not incremental
+     * @throws IOException if the file's attributes cannot be read or the journal cannot be written
+     */
+    private void recordInManifest(Path file, DirectoryCheckpoint checkpoint) throws IOException {
+        if (manifest != null) {
+            manifest.record(file);
+            checkpoint.fileDone();
+        }
+    }
+
+    /**
+     * Outstanding work in one directory, journaled as a checkpoint once none is left.
+     *
+     * <p>
+     * The count starts at one for the walk itself, which is released when the walk
+     * leaves the directory; each page being processed adds one until it is recorded.
+     * A page that fails is never counted down, so its directory is not checkpointed
+     * and is processed again on the next run.
+     */
+    private final class DirectoryCheckpoint {
+
+        /** The directory. */
+        private final Path dir;
+
+        /** Pages not yet recorded, plus one while the walk is in the directory. */
+        private final AtomicInteger outstanding = new AtomicInteger(1);
+
+        /**
+         * Creates the checkpoint for a directory the walk just entered.
+         *
+         * @param dir the directory
+         */
+        DirectoryCheckpoint(Path dir) {
+            this.dir = dir;
+        }
+
+        /**
+         * Counts a page of the directory as being processed.
+         */
+        void fileStarted() {
+            outstanding.incrementAndGet();
+        }
+
+        /**
+         * Counts a page, or the walk, as done, journaling the directory if it was the last.
+         *
+         * @throws IOException if the journal cannot be written
+         */
+        void fileDone() throws IOException {
+            if (outstanding.decrementAndGet() == 0) {
+                manifest.checkpoint(dir);
+            }
+        }
+    }
+
+    /**
+     * Processes a single HTML file by detecting its type and injecting appropriate styles,
+     * writing it on the calling thread.
+     *
+     * @param htmlFile the HTML file to process
+     * @param siteRoot the root of the site (for relative path calculations)
+     * @throws IOException if file reading or writing fails
+     */
+    private void processHtmlFile(File htmlFile, File siteRoot) throws IOException {
+        PageWrite write = prepareHtmlFile(htmlFile, siteRoot);
+        if (write != null) {
+            writePage(write);
+        }
+    }
+
+    /**
+     * Reads, classifies and transforms a single HTML file: the first pipeline stages.
+     *
+     * <p>
+     * Only the head section is scanned. A page that needs no change is reported
+     * here; otherwise the snippet and the byte range it goes into are returned for
+     * {@link #writePage(PageWrite)}. A snippet written by another plugin version or
+     * configuration is replaced in place. Time spent scanning, classifying and
+     * rendering is recorded in the execution metrics.
+     *
+     * @param htmlFile the HTML file to process
+     * @param siteRoot the root of the site (for relative path calculations)
+     * @return the pending write, or {@code null} if the page is left as it is
+     * @throws IOException if file reading fails
+     */
+    private PageWrite prepareHtmlFile(File htmlFile, File siteRoot) throws IOException {
+        PluginEvents.HtmlFileEvent event = PluginEvents.beginHtmlFile();
+        long start = System.nanoTime();
+        Path htmlPath = htmlFile.toPath();
+        PageType pageType = null;
+        String outcome = PluginEvents.NO_HEAD;
+        long bytesRead = 0;
+        PageWrite write = null;
+
+        try (FileChannel channel = FileChannel.open(htmlPath, StandardOpenOption.READ)) {
+            HtmlHeadInjector.HeadScan scan = headInjector.scan(channel);
+            bytesRead = scan.getBytesRead();
+            metrics.addPhase(InjectionMetrics.Phase.SCAN, start);
+
+            // Check if styles are already injected (avoid duplicate injection)
+            boolean upgrade = false;
+            if (scan.isAlreadyInjected()) {
+                if (isCurrentStamp(scan.getStamp())) {
+                    outcome = PluginEvents.ALREADY_INJECTED;
+                    getLog().debug("Skipping already injected file: " + htmlFile);
+                    return null;
+                }
+                if (!scan.hasBlock()) {
+                    outcome = PluginEvents.ALREADY_INJECTED;
+                    getLog().warn("Cannot upgrade injected styles, snippet not recognised: " + htmlFile);
+                    return null;
+                }
+                // Injected by another plugin version or configuration: replace the snippet
+                upgrade = true;
+            }
+
+            // Detect page type
+            long classifyStart = System.nanoTime();
+            pageType = detectPageType(htmlFile);
+            metrics.addPhase(InjectionMetrics.Phase.CLASSIFY, classifyStart);
+
+            if (!upgrade && !scan.hasInsertionPoint()) {
+                getLog().warn("No <head> section found in HTML, cannot inject styles");
+                return null;
+            }
+
+            // Generate the style injection snippet, relative to the styles directory
+            long transformStart = System.nanoTime();
+            String relativePath = calculateRelativePath(htmlFile, siteRoot);
+            byte[] styleSnippet = generateStyleSnippet(pageType, relativePath).getBytes(StandardCharsets.UTF_8);
+            metrics.addPhase(InjectionMetrics.Phase.TRANSFORM, transformStart);
+
+            // Inject styles before </head>, or in place of the stale snippet
+            long spliceStart = upgrade ? scan.getBlockStart() : scan.getInsertOffset();
+            long spliceEnd = upgrade ? scan.getBlockEnd() : spliceStart;
+            write = new PageWrite(htmlFile, pageType, upgrade, spliceStart, spliceEnd, styleSnippet,
+                    bytesRead, System.nanoTime() - start, event);
+            return write;
+        } finally {
+            if (write == null) {
+                metrics.recordFile(() -> describe(htmlFile), null, System.nanoTime() - start, bytesRead, 0);
+                PluginEvents.commitHtmlFile(event, htmlPath, pageType, bytesRead, 0, outcome);
+            }
+        }
+    }
+
+    /**
+     * Writes a prepared page: the last pipeline stage.
+     *
+     * <p>
+     * The snippet is spliced in by streaming the file into a sibling temporary file
+     * that then replaces the original in a single atomic rename, so an interrupted
+     * build leaves every page either untouched or fully injected. The page is
+     * reported in the execution metrics and as an {@code HtmlFile} Flight Recorder
+     * event once written.
+     *
+     * @param write the prepared page
+     * @throws IOException if file reading or writing fails
+     */
+    private void writePage(PageWrite write) throws IOException {
+        long start = System.nanoTime();
+        long bytesRead = write.headBytes;
+        long bytesWritten = 0;
+        boolean written = false;
+
+        try {
+            Path splicedFile;
+            try (FileChannel channel = FileChannel.open(write.path, StandardOpenOption.READ)) {
+                splicedFile = headInjector.splice(channel, write.spliceStart, write.spliceEnd, write.snippet,
+                        write.path);
+                bytesRead += channel.size();
+                bytesWritten = channel.size() - (write.spliceEnd - write.spliceStart) + write.snippet.length;
+            }
+
+            HtmlHeadInjector.replace(splicedFile, write.path);
+            metrics.addPhase(InjectionMetrics.Phase.WRITE, start);
+            written = true;
+
+            // Update statistics
+            processedFiles.increment();
+            if (write.upgrade) {
+                upgradedFiles.increment();
+            }
+            pageTypeCounts.get(write.pageType).increment();
+
+            getLog().debug("Injected " + write.pageType.getName() + " styles into: " + write.file);
+        } finally {
+            String outcome = !written ? PluginEvents.NO_HEAD
+                    : write.upgrade ? PluginEvents.UPGRADED : PluginEvents.INJECTED;
+            metrics.recordFile(() -> describe(write.file), written ? write.pageType : null,
+                    write.prepareNanos + System.nanoTime() - start, bytesRead, bytesWritten);
+            PluginEvents.commitHtmlFile(write.event, write.path, write.pageType, bytesRead, bytesWritten, outcome);
+        }
+    }
+
+    /**
+     * A page that has been read, classified and transformed, waiting to be written.
+     */
+    private static final class PageWrite {
+
+        /** The page. */
+        private final File file;
+
+        /** The page, as a path. */
+        private final Path path;
+
+        /** The detected page type. */
+        private final PageType pageType;
+
+        /** Whether a stale snippet is replaced rather than a new one inserted. */
+        private final boolean upgrade;
+
+        /** First byte offset replaced by the snippet. */
+        private final long spliceStart;
+
+        /** Byte offset after the replaced range; equal to {@link #spliceStart} for an insertion. */
+        private final long spliceEnd;
+
+        /** The snippet bytes. */
+        private final byte[] snippet;
+
+        /** Bytes read while scanning the head. */
+        private final long headBytes;
+
+        /** Time spent reading, classifying and transforming the page. */
+        private final long prepareNanos;
+
+        /** The page's Flight Recorder event, committed once the page is written, or {@code null} if disabled. */
+        private final PluginEvents.HtmlFileEvent event;
+
+        /**
+         * Creates a pending write.
+         *
+         * @param file         the page
+         * @param pageType     the detected page type
+         * @param upgrade      whether a stale snippet is replaced
+         * @param spliceStart  first byte offset replaced by the snippet
+         * @param spliceEnd    byte offset after the replaced range
+         * @param snippet      the snippet bytes
+         * @param headBytes    bytes read while scanning the head
+         * @param prepareNanos time spent preparing the write
+         * @param event        the page's Flight Recorder event
+         */
+        PageWrite(File file, PageType pageType, boolean upgrade, long spliceStart, long spliceEnd,
+                byte[] snippet, long headBytes, long prepareNanos, PluginEvents.HtmlFileEvent event) {
+            this.file = file;
+            this.path = file.toPath();
+            this.pageType = pageType;
+            this.upgrade = upgrade;
+            this.spliceStart = spliceStart;
+            this.spliceEnd = spliceEnd;
+            this.snippet = snippet;
+            this.headBytes = headBytes;
+            this.prepareNanos = prepareNanos;
+            this.event = event;
+        }
+    }
+
+    /**
+     * Returns how a page is named in the metrics report.
+     *
+     * @param htmlFile the page
+     * @return the path relative to the build directory, or the absolute path if outside it
+     */
+    private String describe(File htmlFile) {
+        Path path = htmlFile.toPath().toAbsolutePath();
+        Path base = buildDirectory.toPath().toAbsolutePath();
+        return (path.startsWith(base) ? base.relativize(path) : path).toString().replace('\\', '/');
+    }
+
+    /**
+     * Detects the page type based on file path and content.
+     *
+     * <p>
+     * Detection priority:
+     * <ol>
+     * <li>Filename match (coverage.html, source-xref.html)</li>
+     * <li>Path-based detection (/jacoco/, /xref/, /apidocs/), cached per directory</li>
+     * <li>Content-based detection (HTML markers, single streaming pass)</li>
+     * <li>Default to SITE type</li>
+     * </ol>
+     *
+     * @param htmlFile the HTML file being processed
+     * @return the detected page type
+     * @throws IOException if the file content cannot be read
+     */
+    private PageType detectPageType(File htmlFile) throws IOException {
+        return pageTypeCache.classify(htmlFile.toPath());
+    }
+
+    /**
+     * Calculates the relative path from an HTML file's directory to the site root.
+     *
+     * @param htmlFile the HTML file being processed
+     * @param siteRoot the root directory of the site
+     * @return the relative path with trailing slash (e.g., "../../../")
      */
     private String calculateRelativePath(File htmlFile, File siteRoot) {
         Path htmlPath = htmlFile.toPath().getParent();
@@ -679,9 +1910,19 @@ public class InjectSiteStylesMojo extends AbstractMojo {
      * <p>
      * The snippet includes:
      * <ul>
-     * <li>An HTML comment marker for detection</li>
-     * <li>A CSS link tag for the page-specific stylesheet</li>
+     * <li>An HTML comment marker for detection, stamped with the plugin version and
+     * configuration hash</li>
+     * <li>The web font stylesheet, when enabled, linked as {@code media="print"} and
+     * marked {@code data-tjd} for the bundled script to apply, after a preconnect to
+     * the font file origin</li>
+     * <li>The page type's critical CSS inline, when enabled and bundled, with the shared
+     * core stylesheet and the page type's delta linked as {@code media="print"} and
+     * marked {@code data-tjd}, for the bundled script to apply once loaded (plain links
+     * in {@code <noscript>}); otherwise blocking links to both</li>
+     * <li>The page type's print stylesheet, linked with {@code media="print"}</li>
      * <li>A deferred script tag for the JavaScript bundle</li>
+     * <li>Assets referenced under their fingerprinted names when enabled</li>
+     * <li>An HTML comment closing the snippet</li>
      * </ul>
      *
      * @param pageType     the type of page being processed
@@ -689,51 +1930,45 @@ public class InjectSiteStylesMojo extends AbstractMojo {
      * @return the HTML snippet to inject
      */
     private String generateStyleSnippet(PageType pageType, String relativePath) {
-        String stylesPath = relativePath + stylesDir + "/";
+        String stylesPath = relativePath + stylesDir + "/" + (sharedAssets ? assetBundleHash + "/" : "");
 
-        return "\n<!-- " + INJECTION_MARKER + " [" + pageType.getName() + "] -->\n" +
-                "<link rel=\"stylesheet\" href=\"" + stylesPath + pageType.getCssFile() + "\">\n" +
-                "<script src=\"" + stylesPath + JS_FILE + "\" defer></script>\n";
-    }
+        List<String> stylesheets = new ArrayList<>();
+        stylesheets.add(stylesPath + publishedName(CORE_CSS_FILE));
+        stylesheets.add(stylesPath + publishedName(pageType.getCssFile()));
 
-    /**
-     * Injects the style snippet into HTML content before the closing head tag.
-     *
-     * <p>
-     * Injection strategy:
-     * <ol>
-     * <li>Try to inject before {@code </head>} (preferred)</li>
-     * <li>Fall back to after {@code <head>} if no closing tag</li>
-     * <li>Return {@code null} if no head section found</li>
-     * </ol>
-     *
-     * @param content      the HTML content to modify
-     * @param styleSnippet the style snippet to inject
-     * @return the modified content, or {@code null} if injection failed
-     */
-    private String injectStyles(String content, String styleSnippet) {
-        // Try to inject before </head>
-        Pattern headPattern = Pattern.compile("(</head>)", Pattern.CASE_INSENSITIVE);
-        Matcher matcher = headPattern.matcher(content);
+        StringBuilder snippet = new StringBuilder("\n").append(INJECTION_MARKER).append(' ').append(injectionStamp)
+                .append(" [").append(pageType.getName()).append("] -->\n");
 
-        if (matcher.find()) {
-            return content.substring(0, matcher.start()) +
-                    styleSnippet +
-                    content.substring(matcher.start());
+        // Stylesheets linked without blocking, applied by the bundled script
+        List<String> deferred = new ArrayList<>();
+        if (webFonts) {
+            snippet.append("<link rel=\"preconnect\" href=\"").append(WEB_FONTS_ORIGIN).append("\" crossorigin>\n");
+            deferred.add(WEB_FONTS_URL.replace("&", "&amp;"));
         }
-
-        // If no </head>, try after <head>
-        Pattern headOpenPattern = Pattern.compile("(<head[^>]*>)", Pattern.CASE_INSENSITIVE);
-        Matcher openMatcher = headOpenPattern.matcher(content);
-
-        if (openMatcher.find()) {
-            return content.substring(0, openMatcher.end()) +
-                    styleSnippet +
-                    content.substring(openMatcher.end());
+        String critical = criticalStyles.get(pageType);
+        if (critical != null) {
+            snippet.append("<style>").append(critical).append("</style>\n");
+            deferred.addAll(stylesheets);
+        } else {
+            for (String href : stylesheets) {
+                snippet.append("<link rel=\"stylesheet\" href=\"").append(href).append("\">\n");
+            }
+        }
+        for (String href : deferred) {
+            snippet.append("<link rel=\"stylesheet\" href=\"").append(href).append("\" media=\"print\" data-tjd>\n");
+        }
+        if (!deferred.isEmpty()) {
+            snippet.append("<noscript>");
+            for (String href : deferred) {
+                snippet.append("<link rel=\"stylesheet\" href=\"").append(href).append("\">");
+            }
+            snippet.append("</noscript>\n");
         }
+        snippet.append("<link rel=\"stylesheet\" href=\"").append(stylesPath)
+                .append(publishedName(pageType.getPrintCssFile())).append("\" media=\"print\">\n");
 
-        // No head section found
-        getLog().warn("No <head> section found in HTML, cannot inject styles");
-        return null;
+        return snippet.append("<script src=\"").append(stylesPath).append(publishedName(JS_FILE))
+                .append("\" defer></script>\n")
+                .append(INJECTION_END_MARKER).append('\n').toString();
     }
 }
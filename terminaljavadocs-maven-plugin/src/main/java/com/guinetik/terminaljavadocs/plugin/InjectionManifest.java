@@ -0,0 +1,462 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persisted record of HTML files already handled by {@link InjectSiteStylesMojo}.
+ *
+ * <p>
+ * Each entry stores a file's path, size and last-modified time as they were right
+ * after processing. On the next run, a file whose size and
+ * modification time still match its entry is skipped using only the attributes the
+ * tree walk already provides, without opening the file.
+ *
+ * <p>
+ * The manifest is tied to the plugin version and the snippet configuration. If either
+ * differs from the recorded values, the previous entries are discarded and every file
+ * is processed again.
+ *
+ * <p>
+ * File format (UTF-8 text):
+ * <pre>
+ * # Terminal Javadocs injection manifest
+ * version=1.0.51
+ * config=&lt;sha-256 of the snippet configuration&gt;
+ * &lt;size&gt;\t&lt;mtime-millis&gt;\t&lt;absolute path&gt;
+ * </pre>
+ *
+ * <p>
+ * The manifest itself is only written at the end of a successful run. So that a
+ * killed run does not lose its progress, entries recorded during the run can also be
+ * appended to a journal, one block per completed directory (see
+ * {@link #checkpoint(Path)}). The journal has the same header and entry lines, and
+ * each block ends with a {@code #checkpoint} line naming the directory. On the next
+ * load, entries of complete blocks count as previous entries, so the pages finished
+ * before the interruption are skipped like any other unchanged file; a block cut
+ * short by the interruption is ignored. The journal is removed by {@link #save()}.
+ *
+ * <p>
+ * Instances are safe for concurrent use by the parallel processing workers.
+ */
+final class InjectionManifest {
+
+    /** First line of every manifest file. */
+    private static final String HEADER = "# Terminal Javadocs injection manifest";
+
+    /** First line of every journal file. */
+    private static final String JOURNAL_HEADER = "# Terminal Javadocs processing journal";
+
+    /** Prefix of the line closing a directory checkpoint in the journal. */
+    private static final String CHECKPOINT = "#checkpoint\t";
+
+    private final Path manifestFile;
+    private final String version;
+    private final String configHash;
+
+    /** The journal location, or {@code null} when progress is not journaled. */
+    private final Path journalFile;
+
+    /** Entries loaded from the previous run, keyed by absolute path. */
+    private final Map<String, Entry> previous;
+
+    /** Entries restored from complete checkpoints of an interrupted run, keyed by absolute path. */
+    private final Map<String, Entry> resumed;
+
+    /** Entries confirmed or recorded during this run, keyed by absolute path. */
+    private final Map<String, Entry> current = new ConcurrentHashMap<>();
+
+    /** Keys recorded during this run but not yet journaled, by parent directory. */
+    private final Map<String, List<String>> unjournaled = new ConcurrentHashMap<>();
+
+    /** Open journal writer, created on the first checkpoint; guarded by {@code this}. */
+    private BufferedWriter journal;
+
+    /**
+     * Creates a manifest bound to a file and configuration.
+     *
+     * @param manifestFile the manifest location
+     * @param journalFile  the journal location, or {@code null} to disable journaling
+     * @param version      the plugin version
+     * @param configHash   hash of the snippet configuration
+     * @param previous     entries from the previous run, including {@code resumed}
+     * @param resumed      entries restored from the journal of an interrupted run
+     */
+    private InjectionManifest(Path manifestFile, Path journalFile, String version, String configHash,
+            Map<String, Entry> previous, Map<String, Entry> resumed) {
+        this.manifestFile = manifestFile;
+        this.journalFile = journalFile;
+        this.version = version;
+        this.configHash = configHash;
+        this.previous = previous;
+        this.resumed = resumed;
+    }
+
+    /**
+     * Loads the manifest from disk.
+     *
+     * <p>
+     * A missing, unreadable or outdated manifest yields an empty one, so every
+     * file will be processed.
+     *
+     * @param manifestFile the manifest location (typically under {@code target/})
+     * @param version      the current plugin version
+     * @param config       the snippet configuration values that affect the output
+     * @return the loaded manifest, without a journal
+     */
+    static InjectionManifest load(Path manifestFile, String version, String config) {
+        return load(manifestFile, null, version, config);
+    }
+
+    /**
+     * Loads the manifest from disk, together with the journal of an interrupted run.
+     *
+     * <p>
+     * A missing, unreadable or outdated manifest yields an empty one; a missing or
+     * outdated journal restores nothing.
+     *
+     * @param manifestFile the manifest location (typically under {@code target/})
+     * @param journalFile  the journal location, or {@code null} to disable journaling
+     * @param version      the current plugin version
+     * @param config       the snippet configuration values that affect the output
+     * @return the loaded manifest
+     */
+    static InjectionManifest load(Path manifestFile, Path journalFile, String version, String config) {
+        String configHash = sha256(config.getBytes(StandardCharsets.UTF_8));
+        Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+        if (Files.isRegularFile(manifestFile)) {
+            try (BufferedReader reader = Files.newBufferedReader(manifestFile, StandardCharsets.UTF_8)) {
+                if (HEADER.equals(reader.readLine())
+                        && ("version=" + version).equals(reader.readLine())
+                        && ("config=" + configHash).equals(reader.readLine())) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        String[] parts = line.split("\t", 3);
+                        if (parts.length == 3) {
+                            entries.put(parts[2], new Entry(Long.parseLong(parts[0]), Long.parseLong(parts[1])));
+                        }
+                    }
+                }
+            } catch (IOException | NumberFormatException e) {
+                entries.clear();
+            }
+        }
+
+        Map<String, Entry> resumed = journalFile != null
+                ? loadJournal(journalFile, version, configHash)
+                : Collections.<String, Entry>emptyMap();
+        entries.putAll(resumed);
+        return new InjectionManifest(manifestFile, journalFile, version, configHash, entries, resumed);
+    }
+
+    /**
+     * Reads the entries of every complete checkpoint in a journal.
+     *
+     * @param journalFile the journal location
+     * @param version     the current plugin version
+     * @param configHash  hash of the current snippet configuration
+     * @return the restored entries; empty if the journal is missing, outdated or unreadable
+     */
+    private static Map<String, Entry> loadJournal(Path journalFile, String version, String configHash) {
+        Map<String, Entry> restored = new HashMap<>();
+        if (!Files.isRegularFile(journalFile)) {
+            return restored;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(journalFile, StandardCharsets.UTF_8)) {
+            if (JOURNAL_HEADER.equals(reader.readLine())
+                    && ("version=" + version).equals(reader.readLine())
+                    && ("config=" + configHash).equals(reader.readLine())) {
+                Map<String, Entry> block = new HashMap<>();
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith(CHECKPOINT)) {
+                        restored.putAll(block);
+                        block.clear();
+                        continue;
+                    }
+                    String[] parts = line.split("\t", 3);
+                    if (parts.length == 3) {
+                        block.put(parts[2], new Entry(Long.parseLong(parts[0]), Long.parseLong(parts[1])));
+                    }
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Only the last block can be cut short, and it was not yet added
+        }
+        return restored;
+    }
+
+    /**
+     * Checks whether a file is unchanged since it was last processed.
+     * Uses only the given attributes; the file is not opened.
+     *
+     * <p>
+     * Unchanged files are carried over into the manifest written by {@link #save()}.
+     *
+     * @param file  the file to check
+     * @param attrs the file's attributes, as reported by the tree walk
+     * @return {@code true} if the file can be skipped
+     */
+    boolean isUnchanged(Path file, BasicFileAttributes attrs) {
+        String key = key(file);
+        Entry entry = previous.get(key);
+        if (entry != null
+                && entry.size == attrs.size()
+                && entry.lastModified == attrs.lastModifiedTime().toMillis()) {
+            current.put(key, entry);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Records a file in its final, processed state.
+     * Only the file's attributes are read; its content is not opened again.
+     *
+     * @param file the file that was just processed
+     * @throws IOException if the file's attributes cannot be read
+     */
+    void record(Path file) throws IOException {
+        BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        String key = key(file);
+        current.put(key, new Entry(attrs.size(), attrs.lastModifiedTime().toMillis()));
+        if (journalFile != null) {
+            unjournaled.computeIfAbsent(key(file.getParent()),
+                    dir -> Collections.synchronizedList(new ArrayList<>())).add(key);
+        }
+    }
+
+    /**
+     * Appends the entries recorded for a directory's files to the journal and closes
+     * them with a checkpoint line.
+     *
+     * <p>
+     * Must only be called once every file of the directory has been recorded. The
+     * journal is flushed after each checkpoint, so a build killed afterwards keeps the
+     * directory's progress. Does nothing without a journal or new entries.
+     *
+     * @param dir the directory whose files are complete
+     * @throws IOException if the journal cannot be written
+     */
+    synchronized void checkpoint(Path dir) throws IOException {
+        String dirKey = key(dir);
+        List<String> keys = unjournaled.remove(dirKey);
+        if (journalFile == null || keys == null) {
+            return;
+        }
+        if (journal == null) {
+            journal = openJournal();
+        }
+        for (String key : keys) {
+            writeEntry(journal, key, current.get(key));
+        }
+        journal.write(CHECKPOINT + dirKey);
+        journal.newLine();
+        journal.flush();
+    }
+
+    /**
+     * Starts a fresh journal holding the entries restored from the previous one,
+     * then opens it for appending.
+     *
+     * <p>
+     * Rewriting instead of appending drops a block cut short by an interruption,
+     * which would otherwise run into the next checkpoint.
+     *
+     * @return the journal writer
+     * @throws IOException if the journal cannot be written
+     */
+    private BufferedWriter openJournal() throws IOException {
+        Files.createDirectories(journalFile.toAbsolutePath().getParent());
+        try (BufferedWriter writer = Files.newBufferedWriter(journalFile, StandardCharsets.UTF_8)) {
+            writer.write(JOURNAL_HEADER);
+            writer.newLine();
+            writer.write("version=" + version);
+            writer.newLine();
+            writer.write("config=" + configHash);
+            writer.newLine();
+            if (!resumed.isEmpty()) {
+                for (Map.Entry<String, Entry> e : new TreeMap<>(resumed).entrySet()) {
+                    writeEntry(writer, e.getKey(), e.getValue());
+                }
+                writer.write(CHECKPOINT + "resumed");
+                writer.newLine();
+            }
+        }
+        return Files.newBufferedWriter(journalFile, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Returns the number of entries restored from the journal of an interrupted run.
+     *
+     * @return the resumed entry count
+     */
+    int getResumed() {
+        return resumed.size();
+    }
+
+    /**
+     * Returns the number of entries recorded or carried over during this run.
+     *
+     * @return the entry count
+     */
+    int size() {
+        return current.size();
+    }
+
+    /**
+     * Writes the manifest atomically, replacing the previous one.
+     * Entries for files not seen during this run are dropped.
+     *
+     * @throws IOException if the manifest cannot be written
+     */
+    void save() throws IOException {
+        Path dir = manifestFile.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path temp = Files.createTempFile(dir, manifestFile.getFileName().toString(), ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writer.write(HEADER);
+                writer.newLine();
+                writer.write("version=" + version);
+                writer.newLine();
+                writer.write("config=" + configHash);
+                writer.newLine();
+                for (Map.Entry<String, Entry> e : new TreeMap<>(current).entrySet()) {
+                    writeEntry(writer, e.getKey(), e.getValue());
+                }
+            }
+            Files.move(temp, manifestFile, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        // The manifest now covers everything the journal did
+        close();
+        if (journalFile != null) {
+            Files.deleteIfExists(journalFile);
+        }
+    }
+
+    /**
+     * Closes the journal, keeping it on disk for the next run to resume from.
+     * Called when a run ends without saving the manifest.
+     *
+     * @throws IOException if the journal cannot be closed
+     */
+    synchronized void close() throws IOException {
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+    }
+
+    /**
+     * Writes one entry line.
+     *
+     * @param writer the manifest or journal writer
+     * @param key    the entry's absolute path
+     * @param entry  the entry
+     * @throws IOException if writing fails
+     */
+    private static void writeEntry(BufferedWriter writer, String key, Entry entry) throws IOException {
+        writer.write(entry.size + "\t" + entry.lastModified + "\t" + key);
+        writer.newLine();
+    }
+
+    /**
+     * Returns the manifest key for a file.
+     *
+     * @param file the file
+     * @return the normalized absolute path
+     */
+    private static String key(Path file) {
+        return file.toAbsolutePath().normalize().toString();
+    }
+
+    /**
+     * Computes the SHA-256 hash of some bytes.
+     *
+     * @param bytes the input
+     * @return the lowercase hex digest
+     */
+    static String sha256(byte[] bytes) {
+        return toHex(newDigest().digest(bytes));
+    }
+
+    /**
+     * Computes the SHA-256 hash of some bytes in Base64, as Content-Security-Policy
+     * hash sources spell it.
+     *
+     * @param bytes the input
+     * @return the Base64 digest
+     */
+    static String sha256Base64(byte[] bytes) {
+        return Base64.getEncoder().encodeToString(newDigest().digest(bytes));
+    }
+
+    /**
+     * Creates a SHA-256 message digest.
+     *
+     * @return a new digest instance
+     */
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Formats bytes as lowercase hexadecimal.
+     *
+     * @param bytes the bytes to format
+     * @return the hex string
+     */
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Recorded state of a single file.
+     */
+    private static final class Entry {
+
+        private final long size;
+        private final long lastModified;
+
+        /**
+         * Creates an entry.
+         *
+         * @param size         the file size in bytes
+         * @param lastModified the last-modified time in milliseconds
+         */
+        Entry(long size, long lastModified) {
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+    }
+}
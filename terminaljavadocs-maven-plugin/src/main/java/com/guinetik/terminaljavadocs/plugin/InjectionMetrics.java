@@ -0,0 +1,432 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import com.guinetik.terminaljavadocs.plugin.InjectSiteStylesMojo.PageType;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Timing and throughput metrics of one {@link InjectSiteStylesMojo} execution.
+ *
+ * <p>
+ * Records the time spent in each {@link Phase}, bytes read and written, time per
+ * {@link PageType} and the slowest pages. Per-file phases ({@link Phase#SCAN},
+ * {@link Phase#CLASSIFY}, {@link Phase#WRITE}) are summed over all worker threads,
+ * so with parallelism they can add up to more than the wall-clock {@link Phase#WALK}
+ * that contains them.
+ *
+ * <p>
+ * The results are logged and written as JSON so post-site cost can be tracked
+ * across builds. Instances are safe for concurrent use.
+ */
+final class InjectionMetrics {
+
+    /**
+     * Measured phases of an execution.
+     */
+    enum Phase {
+        /** Loading plugin resources and rendering the style assets. */
+        RESOURCES("resources"),
+        /** Installing style assets and themed JaCoCo images. */
+        ASSETS("assets"),
+        /** Walking site trees, including the file work it dispatches (wall clock). */
+        WALK("walk"),
+        /** Scanning page heads for the marker and insertion point. */
+        SCAN("scan"),
+        /** Detecting page types. */
+        CLASSIFY("classify"),
+        /** Rendering snippets for the pages to write. */
+        TRANSFORM("transform"),
+        /** Splicing snippets and replacing pages (summed over writer threads). */
+        WRITE("write"),
+        /** Loading and saving the incremental manifest. */
+        MANIFEST("manifest"),
+        /** Writing precompressed {@code .gz} siblings (summed over compression threads). */
+        COMPRESS("compress");
+
+        /** Name used in the log and the JSON report. */
+        private final String name;
+
+        /**
+         * Creates a phase.
+         *
+         * @param name the report name
+         */
+        Phase(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Returns the report name of this phase.
+         *
+         * @return the name
+         */
+        String getName() {
+            return name;
+        }
+    }
+
+    /** Orders slow files fastest first, so the heap head is the one to evict. */
+    private static final Comparator<SlowFile> FASTEST_FIRST = Comparator.comparingLong(f -> f.nanos);
+
+    /** Number of slowest files retained. */
+    private final int slowestLimit;
+
+    /** Start of the execution, from {@link System#nanoTime()}. */
+    private final long startNanos = System.nanoTime();
+
+    /** Nanoseconds spent per phase. */
+    private final Map<Phase, LongAdder> phaseNanos = new EnumMap<>(Phase.class);
+
+    /** Nanoseconds spent on injected pages, per page type. */
+    private final Map<PageType, LongAdder> typeNanos = new EnumMap<>(PageType.class);
+
+    /** Injected pages per page type. */
+    private final Map<PageType, LongAdder> typeFiles = new EnumMap<>(PageType.class);
+
+    /** Bytes written per page type. */
+    private final Map<PageType, LongAdder> typeBytes = new EnumMap<>(PageType.class);
+
+    /** Pages opened, whether or not they were injected. */
+    private final LongAdder files = new LongAdder();
+
+    /** Bytes read from pages. */
+    private final LongAdder bytesRead = new LongAdder();
+
+    /** Bytes written to pages. */
+    private final LongAdder bytesWritten = new LongAdder();
+
+    /** The slowest files seen so far, fastest first; guarded by itself. */
+    private final PriorityQueue<SlowFile> slowest;
+
+    /**
+     * Duration a file must exceed to enter {@link #slowest}: the fastest retained file
+     * once the list is full, {@code -1} before. Lets most files skip the lock.
+     */
+    private volatile long slowestThreshold = -1;
+
+    /** Wall-clock duration, fixed by {@link #stop()}; {@code -1} while running. */
+    private volatile long elapsedNanos = -1;
+
+    /**
+     * Creates metrics starting now.
+     *
+     * @param slowestLimit the number of slowest files to retain, {@code 0} for none
+     */
+    InjectionMetrics(int slowestLimit) {
+        this.slowestLimit = Math.max(0, slowestLimit);
+        this.slowest = new PriorityQueue<>(this.slowestLimit + 1, FASTEST_FIRST);
+        for (Phase phase : Phase.values()) {
+            phaseNanos.put(phase, new LongAdder());
+        }
+        for (PageType pageType : PageType.values()) {
+            typeNanos.put(pageType, new LongAdder());
+            typeFiles.put(pageType, new LongAdder());
+            typeBytes.put(pageType, new LongAdder());
+        }
+    }
+
+    /**
+     * Adds time to a phase.
+     *
+     * @param phase      the phase
+     * @param startNanos the start of the measured work, from {@link System#nanoTime()}
+     */
+    void addPhase(Phase phase, long startNanos) {
+        phaseNanos.get(phase).add(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Records a processed page.
+     *
+     * <p>
+     * Only pages slower than the fastest of the retained slowest files take a lock, and
+     * only they have their report name computed.
+     *
+     * @param file     supplies the page as it should appear in the report
+     * @param pageType the detected page type, or {@code null} if the page was not injected
+     * @param nanos    the time spent on the page
+     * @param read     the bytes read from the page
+     * @param written  the bytes written to the page
+     */
+    void recordFile(Supplier<String> file, PageType pageType, long nanos, long read, long written) {
+        files.increment();
+        bytesRead.add(read);
+        bytesWritten.add(written);
+        if (pageType != null) {
+            typeNanos.get(pageType).add(nanos);
+            typeFiles.get(pageType).increment();
+            typeBytes.get(pageType).add(written);
+        }
+        if (slowestLimit == 0 || nanos <= slowestThreshold) {
+            return;
+        }
+        synchronized (slowest) {
+            if (slowest.size() < slowestLimit || slowest.peek().nanos < nanos) {
+                slowest.add(new SlowFile(file.get(), pageType, nanos, read));
+                if (slowest.size() > slowestLimit) {
+                    slowest.poll();
+                }
+                if (slowest.size() == slowestLimit) {
+                    slowestThreshold = slowest.peek().nanos;
+                }
+            }
+        }
+    }
+
+    /**
+     * Fixes the wall-clock duration of the execution.
+     */
+    void stop() {
+        elapsedNanos = System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Returns the time spent in a phase.
+     *
+     * @param phase the phase
+     * @return the nanoseconds spent
+     */
+    long getPhaseNanos(Phase phase) {
+        return phaseNanos.get(phase).sum();
+    }
+
+    /**
+     * Returns the number of pages opened.
+     *
+     * @return the page count
+     */
+    long getFiles() {
+        return files.sum();
+    }
+
+    /**
+     * Returns the bytes read from pages.
+     *
+     * @return the byte count
+     */
+    long getBytesRead() {
+        return bytesRead.sum();
+    }
+
+    /**
+     * Returns the bytes written to pages.
+     *
+     * @return the byte count
+     */
+    long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    /**
+     * Returns the slowest files, slowest first.
+     *
+     * @return a snapshot of the retained files
+     */
+    List<SlowFile> getSlowestFiles() {
+        List<SlowFile> result;
+        synchronized (slowest) {
+            result = new ArrayList<>(slowest);
+        }
+        result.sort(Collections.reverseOrder(FASTEST_FIRST));
+        return result;
+    }
+
+    /**
+     * Logs a summary of the metrics.
+     *
+     * @param log the log to write to
+     */
+    void logSummary(Log log) {
+        log.info("  Throughput: " + format(filesPerSecond()) + " files/s, "
+                + getBytesRead() + " bytes read, " + getBytesWritten() + " bytes written");
+        StringBuilder phases = new StringBuilder("  Phases (ms):");
+        for (Phase phase : Phase.values()) {
+            phases.append(' ').append(phase.getName()).append('=').append(format(millis(getPhaseNanos(phase))));
+        }
+        log.info(phases.toString());
+        for (PageType pageType : PageType.values()) {
+            long count = typeFiles.get(pageType).sum();
+            if (count > 0) {
+                log.info("  " + pageType.getName() + ": " + count + " files in "
+                        + format(millis(typeNanos.get(pageType).sum())) + " ms");
+            }
+        }
+        List<SlowFile> slowestFiles = getSlowestFiles();
+        if (!slowestFiles.isEmpty()) {
+            log.info("  Slowest files:");
+            for (SlowFile file : slowestFiles) {
+                log.info("    " + format(millis(file.nanos)) + " ms  " + file.file);
+            }
+        }
+    }
+
+    /**
+     * Writes the metrics as JSON.
+     *
+     * @param target the report file; replaced atomically
+     * @throws IOException if writing fails
+     */
+    void writeJson(Path target) throws IOException {
+        StringBuilder json = new StringBuilder(1024);
+        json.append("{\n");
+        json.append("  \"wallTimeMs\": ").append(format(millis(elapsedNanos()))).append(",\n");
+        json.append("  \"files\": ").append(getFiles()).append(",\n");
+        json.append("  \"filesPerSecond\": ").append(format(filesPerSecond())).append(",\n");
+        json.append("  \"bytesRead\": ").append(getBytesRead()).append(",\n");
+        json.append("  \"bytesWritten\": ").append(getBytesWritten()).append(",\n");
+
+        json.append("  \"phasesMs\": {");
+        String separator = "\n";
+        for (Phase phase : Phase.values()) {
+            json.append(separator).append("    ").append(quote(phase.getName())).append(": ")
+                    .append(format(millis(getPhaseNanos(phase))));
+            separator = ",\n";
+        }
+        json.append("\n  },\n");
+
+        json.append("  \"pageTypes\": {");
+        separator = "\n";
+        for (PageType pageType : PageType.values()) {
+            json.append(separator).append("    ").append(quote(pageType.getName()))
+                    .append(": { \"files\": ").append(typeFiles.get(pageType).sum())
+                    .append(", \"timeMs\": ").append(format(millis(typeNanos.get(pageType).sum())))
+                    .append(", \"bytesWritten\": ").append(typeBytes.get(pageType).sum()).append(" }");
+            separator = ",\n";
+        }
+        json.append("\n  },\n");
+
+        json.append("  \"slowestFiles\": [");
+        separator = "\n";
+        for (SlowFile file : getSlowestFiles()) {
+            json.append(separator).append("    { \"path\": ").append(quote(file.file))
+                    .append(", \"type\": ").append(file.pageType != null ? quote(file.pageType.getName()) : "null")
+                    .append(", \"timeMs\": ").append(format(millis(file.nanos)))
+                    .append(", \"bytes\": ").append(file.bytes).append(" }");
+            separator = ",\n";
+        }
+        json.append(separator.equals("\n") ? "]\n" : "\n  ]\n");
+        json.append("}\n");
+
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        AssetWriter.writeAtomically(json.toString().getBytes(StandardCharsets.UTF_8), target);
+    }
+
+    /**
+     * Returns the wall-clock duration, up to now if the execution is still running.
+     *
+     * @return the elapsed nanoseconds
+     */
+    private long elapsedNanos() {
+        long elapsed = elapsedNanos;
+        return elapsed >= 0 ? elapsed : System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Returns the page throughput over the wall-clock duration.
+     *
+     * @return pages per second
+     */
+    private double filesPerSecond() {
+        long elapsed = elapsedNanos();
+        return elapsed > 0 ? getFiles() * (double) TimeUnit.SECONDS.toNanos(1) / elapsed : 0;
+    }
+
+    /**
+     * Converts nanoseconds to milliseconds.
+     *
+     * @param nanos the nanoseconds
+     * @return the milliseconds
+     */
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * Formats a number with three decimals, independently of the default locale.
+     *
+     * @param value the number
+     * @return the formatted number
+     */
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    /**
+     * Quotes a string as a JSON string literal.
+     *
+     * @param value the string
+     * @return the literal
+     */
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < 0x20) {
+                quoted.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    /**
+     * A page among the slowest of the execution.
+     */
+    static final class SlowFile {
+
+        private final String file;
+        private final PageType pageType;
+        private final long nanos;
+        private final long bytes;
+
+        /**
+         * Creates an entry.
+         *
+         * @param file     the page
+         * @param pageType the page type, or {@code null} if the page was not injected
+         * @param nanos    the time spent on the page
+         * @param bytes    the bytes read from the page
+         */
+        SlowFile(String file, PageType pageType, long nanos, long bytes) {
+            this.file = file;
+            this.pageType = pageType;
+            this.nanos = nanos;
+            this.bytes = bytes;
+        }
+
+        /**
+         * Returns the page.
+         *
+         * @return the page path as reported
+         */
+        String getFile() {
+            return file;
+        }
+
+        /**
+         * Returns the time spent on the page.
+         *
+         * @return the nanoseconds
+         */
+        long getNanos() {
+            return nanos;
+        }
+    }
+}
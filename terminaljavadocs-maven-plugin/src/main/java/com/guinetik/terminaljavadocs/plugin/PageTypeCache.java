@@ -0,0 +1,115 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import com.guinetik.terminaljavadocs.plugin.InjectSiteStylesMojo.PageType;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Directory-scoped memoization of page type classification.
+ *
+ * <p>
+ * Path-based detection depends only on a page's directory, so it is computed once
+ * per directory as the tree walk enters it ({@link #visitDirectory(Path)}) instead
+ * of once per page, so the thousands of pages in an {@code apidocs/} or
+ * {@code xref/} subtree cost one path check per directory. Content sniffing only
+ * runs for pages in directories the path cannot classify, such as the site root,
+ * where sibling pages genuinely differ.
+ *
+ * <p>
+ * Safe for concurrent use: directories are registered by the walking thread and
+ * looked up by worker threads.
+ */
+final class PageTypeCache {
+
+    private final PageTypeClassifier classifier;
+
+    /** Path-derived type per directory; empty when the path is inconclusive. */
+    private final Map<Path, Optional<PageType>> directories = new ConcurrentHashMap<>();
+
+    /** Pages classified without reading their content. */
+    private final LongAdder hits = new LongAdder();
+
+    /** Pages whose content had to be sniffed. */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param classifier the classifier used for directories and content
+     */
+    PageTypeCache(PageTypeClassifier classifier) {
+        this.classifier = classifier;
+    }
+
+    /**
+     * Classifies a directory when the tree walk enters it.
+     *
+     * @param dir the directory being entered
+     */
+    void visitDirectory(Path dir) {
+        directoryType(dir.toAbsolutePath());
+    }
+
+    /**
+     * Returns the page type of an HTML file.
+     *
+     * @param file the HTML file
+     * @return the page type
+     * @throws IOException if the content has to be sniffed and cannot be read
+     */
+    PageType classify(Path file) throws IOException {
+        Path absolute = file.toAbsolutePath();
+        if (classifier.isLandingFileName(absolute.getFileName().toString())) {
+            hits.increment();
+            return PageType.LANDING;
+        }
+
+        Optional<PageType> directoryType = directoryType(absolute.getParent());
+        if (directoryType.isPresent()) {
+            hits.increment();
+            return directoryType.get();
+        }
+
+        misses.increment();
+        return classifier.classifyContent(absolute);
+    }
+
+    /**
+     * Returns the number of pages classified from the cache.
+     *
+     * @return the hit count
+     */
+    long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of pages that required content sniffing.
+     *
+     * @return the miss count
+     */
+    long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the cached type of a directory, computing it if needed.
+     *
+     * @param dir the absolute directory path
+     * @return the directory's page type, or empty if the path is inconclusive
+     */
+    private Optional<PageType> directoryType(Path dir) {
+        Optional<PageType> cached = directories.get(dir);
+        if (cached != null) {
+            return cached;
+        }
+
+        Optional<PageType> type = Optional.ofNullable(classifier.classifyDirectory(dir));
+        directories.put(dir, type);
+        return type;
+    }
+}
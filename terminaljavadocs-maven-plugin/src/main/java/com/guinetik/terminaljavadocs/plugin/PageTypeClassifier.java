@@ -0,0 +1,303 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import com.guinetik.terminaljavadocs.plugin.InjectSiteStylesMojo.PageType;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Classifies generated HTML pages into {@link PageType}s.
+ *
+ * <p>
+ * Classification first looks at the filename and path. Only when those are
+ * inconclusive is the content scanned, using a single Aho-Corasick automaton over
+ * raw bytes that recognises every content marker in one pass. Markers keep the
+ * historical priority order (landing, coverage, JXR, Javadoc); the scan stops as
+ * soon as a landing marker is seen, since nothing can outrank it.
+ *
+ * <p>
+ * Instances are immutable and safe to share between threads.
+ */
+final class PageTypeClassifier {
+
+    /** Read buffer size for content scanning. */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** Page types detectable from content, in priority order. */
+    private static final PageType[] CONTENT_TYPES = {
+        PageType.LANDING, PageType.COVERAGE, PageType.JXR, PageType.JAVADOC
+    };
+
+    /**
+     * Content markers for each entry of {@link #CONTENT_TYPES}.
+     * A page is assigned the first type for which any marker occurs.
+     */
+    private static final String[][] CONTENT_MARKERS = {
+        // Landing pages (coverage.html, source-xref.html)
+        {"class=\"terminal-header\"", "class=\"terminal-brand\"", "class=\"module-list\""},
+        // JaCoCo coverage reports
+        {"jacoco", "Coverage Report", "class=\"el_package\"", "class=\"el_class\"", "class=\"ctr2\""},
+        // JXR source cross-reference
+        {"jxr", "Cross-Reference", "class=\"jxr_", "id=\"jxr_"},
+        // Javadoc API documentation
+        {"Generated by javadoc", "class=\"summary-table\"", "class=\"member-signature\"",
+            "class=\"description\""},
+    };
+
+    /** Value in {@link #output} for states that complete no marker. */
+    private static final int NO_MATCH = Integer.MAX_VALUE;
+
+    /**
+     * Flattened DFA transition table indexed by {@code state * 256 + byte}. Entries hold
+     * the target state premultiplied by 256; entries whose target completes a marker
+     * are stored bitwise-inverted (negative), so the hot loop needs a single sign test.
+     */
+    private final int[] transitions;
+
+    /** Highest-priority marker completed on reaching each state, or {@link #NO_MATCH}. */
+    private final int[] output;
+
+    /**
+     * Bytes that leave the root state. While the automaton sits at the root, all other
+     * bytes are skipped with an independent table lookup rather than a dependent
+     * transition, which is what makes the common no-match case fast.
+     */
+    private final boolean[] leavesRoot = new boolean[256];
+
+    /**
+     * Compiles the content-marker automaton.
+     */
+    PageTypeClassifier() {
+        List<int[]> trie = new ArrayList<>();
+        List<Integer> outputs = new ArrayList<>();
+        trie.add(newState());
+        outputs.add(NO_MATCH);
+
+        // Build the trie
+        for (int priority = 0; priority < CONTENT_MARKERS.length; priority++) {
+            for (String marker : CONTENT_MARKERS[priority]) {
+                int state = 0;
+                for (byte b : marker.getBytes(StandardCharsets.US_ASCII)) {
+                    int c = b & 0xFF;
+                    if (trie.get(state)[c] < 0) {
+                        trie.get(state)[c] = trie.size();
+                        trie.add(newState());
+                        outputs.add(NO_MATCH);
+                    }
+                    state = trie.get(state)[c];
+                }
+                outputs.set(state, Math.min(outputs.get(state), priority));
+            }
+        }
+
+        // Breadth-first: compute failure links and turn the trie into a full DFA
+        int[][] next = trie.toArray(new int[0][]);
+        output = new int[next.length];
+        for (int i = 0; i < output.length; i++) {
+            output[i] = outputs.get(i);
+        }
+        int[] failure = new int[next.length];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < 256; c++) {
+            if (next[0][c] < 0) {
+                next[0][c] = 0;
+            } else {
+                queue.add(next[0][c]);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.remove();
+            output[state] = Math.min(output[state], output[failure[state]]);
+            for (int c = 0; c < 256; c++) {
+                int child = next[state][c];
+                if (child < 0) {
+                    next[state][c] = next[failure[state]][c];
+                } else {
+                    failure[child] = next[failure[state]][c];
+                    queue.add(child);
+                }
+            }
+        }
+
+        for (int c = 0; c < 256; c++) {
+            leavesRoot[c] = next[0][c] != 0;
+        }
+
+        // Flatten into the premultiplied, output-tagged table
+        transitions = new int[next.length * 256];
+        for (int state = 0; state < next.length; state++) {
+            for (int c = 0; c < 256; c++) {
+                int target = next[state][c];
+                transitions[state * 256 + c] = output[target] == NO_MATCH ? target * 256 : ~(target * 256);
+            }
+        }
+    }
+
+    /**
+     * Creates an empty trie state with no transitions.
+     *
+     * @return the transition row
+     */
+    private static int[] newState() {
+        int[] row = new int[256];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    /**
+     * Classifies a page by filename and path alone.
+     *
+     * <p>
+     * Detection priority:
+     * <ol>
+     * <li>Filename match (coverage.html, source-xref.html)</li>
+     * <li>Path-based detection (/jacoco/, /xref/, /apidocs/)</li>
+     * </ol>
+     *
+     * @param htmlFile the HTML file being processed
+     * @return the page type, or {@code null} if the content must be inspected
+     */
+    PageType classifyPath(File htmlFile) {
+        if (isLandingFileName(htmlFile.getName())) {
+            return PageType.LANDING;
+        }
+        return classifyDirectory(htmlFile.getAbsoluteFile().getParentFile().toPath());
+    }
+
+    /**
+     * Checks whether a filename is one of the landing pages generated by the
+     * {@code generate-landing-pages} goal.
+     *
+     * @param fileName the file name
+     * @return {@code true} for coverage.html and source-xref.html
+     */
+    boolean isLandingFileName(String fileName) {
+        String name = fileName.toLowerCase();
+        return name.equals("coverage.html") || name.equals("source-xref.html");
+    }
+
+    /**
+     * Classifies every page in a directory by the directory path alone.
+     * The result applies to all non-landing pages in the directory and its subtree.
+     *
+     * @param dir the directory
+     * @return the page type, or {@code null} if the path is inconclusive
+     */
+    PageType classifyDirectory(Path dir) {
+        String path = dir.toAbsolutePath().toString().replace('\\', '/').toLowerCase() + "/";
+
+        // Path-based detection (most reliable)
+        if (path.contains("/jacoco/") || path.contains("/coverage/")) {
+            return PageType.COVERAGE;
+        }
+        if (path.contains("/xref/") || path.contains("/xref-test/")) {
+            return PageType.JXR;
+        }
+        if (path.contains("/apidocs/") || path.contains("/testapidocs/") || path.contains("/javadoc/")) {
+            return PageType.JAVADOC;
+        }
+        return null;
+    }
+
+    /**
+     * Classifies a page by streaming its content through the marker automaton.
+     *
+     * @param file the HTML file
+     * @return the detected page type, {@link PageType#SITE} if no marker matches
+     * @throws IOException if the file cannot be read
+     */
+    PageType classifyContent(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            byte[] bytes = buffer.array();
+            Scan scan = new Scan();
+            int read;
+            while ((read = channel.read(buffer)) != -1) {
+                if (scan.feed(bytes, 0, read)) {
+                    break;
+                }
+                buffer.clear();
+            }
+            return scan.result();
+        }
+    }
+
+    /**
+     * Classifies in-memory page content.
+     *
+     * @param content the raw page bytes
+     * @return the detected page type, {@link PageType#SITE} if no marker matches
+     */
+    PageType classifyContent(byte[] content) {
+        Scan scan = new Scan();
+        scan.feed(content, 0, content.length);
+        return scan.result();
+    }
+
+    /**
+     * Incremental state of one content scan.
+     */
+    private final class Scan {
+
+        private int state;
+        private int best = NO_MATCH;
+
+        /**
+         * Feeds bytes into the automaton.
+         *
+         * @param bytes  the buffer
+         * @param offset the start offset
+         * @param length the number of bytes
+         * @return {@code true} if the result is decided and scanning can stop
+         */
+        boolean feed(byte[] bytes, int offset, int length) {
+            int[] table = transitions;
+            boolean[] skip = leavesRoot;
+            int s = state;
+            int end = offset + length;
+            for (int i = offset; i < end; i++) {
+                if (s == 0) {
+                    // Fast path: skip bytes that cannot start a marker
+                    while (i < end && !skip[bytes[i] & 0xFF]) {
+                        i++;
+                    }
+                    if (i == end) {
+                        break;
+                    }
+                }
+                s = table[s + (bytes[i] & 0xFF)];
+                if (s < 0) {
+                    s = ~s;
+                    int match = output[s >> 8];
+                    if (match < best) {
+                        best = match;
+                        if (best == 0) {
+                            state = s;
+                            return true;
+                        }
+                    }
+                }
+            }
+            state = s;
+            return false;
+        }
+
+        /**
+         * Returns the page type for the highest-priority marker seen.
+         *
+         * @return the page type
+         */
+        PageType result() {
+            return best == NO_MATCH ? PageType.SITE : CONTENT_TYPES[best];
+        }
+    }
+}
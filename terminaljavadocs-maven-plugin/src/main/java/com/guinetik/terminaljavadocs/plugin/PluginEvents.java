@@ -0,0 +1,279 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import com.guinetik.terminaljavadocs.plugin.InjectSiteStylesMojo.PageType;
+import java.nio.file.Path;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder events emitted by the plugin.
+ *
+ * <p>
+ * Three events are defined, all disabled by default:
+ * <ul>
+ * <li>{@code com.guinetik.terminaljavadocs.HtmlFile} - one per HTML page, with its
+ * path, page type, bytes read and written, and outcome</li>
+ * <li>{@code com.guinetik.terminaljavadocs.SiteWalk} - one per site tree walk</li>
+ * <li>{@code com.guinetik.terminaljavadocs.AssetCopy} - one per style asset or
+ * JaCoCo image installed</li>
+ * </ul>
+ * Enable them in a recording settings file, for example with
+ * {@code jfr configure +com.guinetik.terminaljavadocs.HtmlFile#enabled=true}.
+ *
+ * <p>
+ * Each {@code begin} method first asks a shared, never-committed instance of its
+ * event type whether the event is enabled in a running recording. Only then is an
+ * event allocated and timed, so while an event is disabled (the default, or with no
+ * recording running) {@code begin} costs a flag check and returns {@code null}, and
+ * {@code commit} returns at once without computing any event data (paths, names). On
+ * a JVM without Flight Recorder the event classes are never loaded and every method
+ * is a no-op.
+ */
+final class PluginEvents {
+
+    /** Outcome of a page that received the style snippet. */
+    static final String INJECTED = "injected";
+
+    /** Outcome of a page whose stale snippet was replaced. */
+    static final String UPGRADED = "upgraded";
+
+    /** Outcome of a page that already carried the current snippet. */
+    static final String ALREADY_INJECTED = "already-injected";
+
+    /** Outcome of a page skipped because it is unchanged since the previous run. */
+    static final String UNCHANGED = "unchanged";
+
+    /** Outcome of a page without a head section. */
+    static final String NO_HEAD = "no-head";
+
+    /** Outcome of an asset whose bytes were written. */
+    static final String WRITTEN = "written";
+
+    /** Outcome of an asset created as a hard link. */
+    static final String LINKED = "linked";
+
+    /** Whether the running JVM provides the Flight Recorder event API. */
+    private static final boolean SUPPORTED = isSupported();
+
+    /**
+     * Static utility class.
+     */
+    private PluginEvents() {
+    }
+
+    /**
+     * Starts timing an HTML page.
+     *
+     * @return the event, or {@code null} if it is disabled or Flight Recorder is missing
+     */
+    static HtmlFileEvent beginHtmlFile() {
+        if (!SUPPORTED || !Probes.HTML_FILE.isEnabled()) {
+            return null;
+        }
+        HtmlFileEvent event = new HtmlFileEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Commits an HTML page event if it is enabled.
+     *
+     * @param event        the event from {@link #beginHtmlFile()}, may be {@code null}
+     * @param file         the page
+     * @param pageType     the page type, or {@code null} if it was not detected
+     * @param bytesRead    the bytes read from the page
+     * @param bytesWritten the bytes written to the page
+     * @param outcome      what happened to the page, for example {@link #INJECTED}
+     */
+    static void commitHtmlFile(HtmlFileEvent event, Path file, PageType pageType, long bytesRead,
+            long bytesWritten, String outcome) {
+        if (event == null || !event.shouldCommit()) {
+            return;
+        }
+        event.path = file.toString();
+        event.pageType = pageType != null ? pageType.getName() : null;
+        event.bytesRead = bytesRead;
+        event.bytesWritten = bytesWritten;
+        event.outcome = outcome;
+        event.commit();
+    }
+
+    /**
+     * Starts timing a site tree walk.
+     *
+     * @return the event, or {@code null} if it is disabled or Flight Recorder is missing
+     */
+    static SiteWalkEvent beginSiteWalk() {
+        if (!SUPPORTED || !Probes.SITE_WALK.isEnabled()) {
+            return null;
+        }
+        SiteWalkEvent event = new SiteWalkEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Commits a site tree walk event if it is enabled.
+     *
+     * @param event       the event from {@link #beginSiteWalk()}, may be {@code null}
+     * @param root        the walked directory
+     * @param directories the number of directories entered
+     * @param files       the number of files visited
+     */
+    static void commitSiteWalk(SiteWalkEvent event, Path root, long directories, long files) {
+        if (event == null || !event.shouldCommit()) {
+            return;
+        }
+        event.root = root.toString();
+        event.directories = directories;
+        event.files = files;
+        event.commit();
+    }
+
+    /**
+     * Starts timing an asset installation.
+     *
+     * @return the event, or {@code null} if it is disabled or Flight Recorder is missing
+     */
+    static AssetCopyEvent beginAssetCopy() {
+        if (!SUPPORTED || !Probes.ASSET_COPY.isEnabled()) {
+            return null;
+        }
+        AssetCopyEvent event = new AssetCopyEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Commits an asset installation event if it is enabled.
+     *
+     * @param event   the event from {@link #beginAssetCopy()}, may be {@code null}
+     * @param target  the installed file
+     * @param bytes   the asset size
+     * @param outcome {@link #WRITTEN}, {@link #LINKED} or {@link #UNCHANGED}
+     */
+    static void commitAssetCopy(AssetCopyEvent event, Path target, long bytes, String outcome) {
+        if (event == null || !event.shouldCommit()) {
+            return;
+        }
+        event.path = target.toString();
+        event.bytes = bytes;
+        event.outcome = outcome;
+        event.commit();
+    }
+
+    /**
+     * Checks whether the Flight Recorder event API is present. It is part of Java 11
+     * and later and of Java 8 builds from update 262.
+     *
+     * @return {@code true} if {@code jdk.jfr.Event} can be loaded
+     */
+    private static boolean isSupported() {
+        try {
+            Class.forName("jdk.jfr.Event", false, PluginEvents.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * One instance of each event type, only used to check whether the type is enabled.
+     * Held in its own class so the event classes load only when Flight Recorder is
+     * present.
+     */
+    private static final class Probes {
+
+        static final HtmlFileEvent HTML_FILE = new HtmlFileEvent();
+
+        static final SiteWalkEvent SITE_WALK = new SiteWalkEvent();
+
+        static final AssetCopyEvent ASSET_COPY = new AssetCopyEvent();
+
+        /**
+         * Static holder class.
+         */
+        private Probes() {
+        }
+    }
+
+    /**
+     * An HTML page processed by {@link InjectSiteStylesMojo}.
+     */
+    @Name("com.guinetik.terminaljavadocs.HtmlFile")
+    @Label("HTML File")
+    @Description("An HTML page scanned and, if needed, injected with the Terminal Javadocs styles")
+    @Category({"Terminal Javadocs", "Site"})
+    @Enabled(false)
+    @StackTrace(false)
+    static final class HtmlFileEvent extends Event {
+
+        @Label("Path")
+        String path;
+
+        @Label("Page Type")
+        String pageType;
+
+        @Label("Bytes Read")
+        @DataAmount
+        long bytesRead;
+
+        @Label("Bytes Written")
+        @DataAmount
+        long bytesWritten;
+
+        @Label("Outcome")
+        @Description("injected, upgraded, already-injected, unchanged or no-head")
+        String outcome;
+    }
+
+    /**
+     * A walk over one site directory tree.
+     */
+    @Name("com.guinetik.terminaljavadocs.SiteWalk")
+    @Label("Site Walk")
+    @Description("A single-pass walk over a site directory tree, including the work it dispatches")
+    @Category({"Terminal Javadocs", "Site"})
+    @Enabled(false)
+    @StackTrace(false)
+    static final class SiteWalkEvent extends Event {
+
+        @Label("Root")
+        String root;
+
+        @Label("Directories")
+        long directories;
+
+        @Label("Files")
+        long files;
+    }
+
+    /**
+     * A style asset or JaCoCo image installed into a site.
+     */
+    @Name("com.guinetik.terminaljavadocs.AssetCopy")
+    @Label("Asset Copy")
+    @Description("A theme asset written, hard-linked or found up to date")
+    @Category({"Terminal Javadocs", "Site"})
+    @Enabled(false)
+    @StackTrace(false)
+    static final class AssetCopyEvent extends Event {
+
+        @Label("Path")
+        String path;
+
+        @Label("Size")
+        @DataAmount
+        long bytes;
+
+        @Label("Outcome")
+        @Description("written, linked or unchanged")
+        String outcome;
+    }
+}
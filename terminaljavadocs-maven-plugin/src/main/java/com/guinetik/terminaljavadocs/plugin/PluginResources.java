@@ -0,0 +1,142 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable in-memory cache of the static resources shipped in the plugin JAR.
+ *
+ * <p>
+ * Every resource is read from the classpath once per mojo execution and then served
+ * from memory for every target directory. This removes the per-module JAR lookups
+ * and decompression that copying used to cost. The branded JavaScript is rendered
+ * once per distinct name/logo combination.
+ *
+ * <p>
+ * Returned arrays are shared and must not be modified.
+ */
+final class PluginResources {
+
+    /** Resource bytes keyed by classpath path; missing resources are absent. */
+    private final Map<String, byte[]> resources;
+
+    /** Rendered JavaScript keyed by resource path and branding values. */
+    private final Map<String, byte[]> renderedJs = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the cache from already loaded resources.
+     *
+     * @param resources the resource bytes keyed by classpath path
+     */
+    private PluginResources(Map<String, byte[]> resources) {
+        this.resources = Collections.unmodifiableMap(resources);
+    }
+
+    /**
+     * Loads resources from the classpath into a new cache.
+     *
+     * @param resourcePaths the classpath paths of every resource to cache
+     * @return the cache; resources that do not exist are simply absent
+     * @throws IOException if a resource exists but cannot be read
+     */
+    static PluginResources load(Iterable<String> resourcePaths) throws IOException {
+        Map<String, byte[]> loaded = new LinkedHashMap<>();
+        for (String path : resourcePaths) {
+            byte[] bytes = readResource(path);
+            if (bytes != null) {
+                loaded.put(path, bytes);
+            }
+        }
+        return new PluginResources(loaded);
+    }
+
+    /**
+     * Returns a cached resource.
+     *
+     * @param resourcePath the classpath path
+     * @return the resource bytes (shared, do not modify), or {@code null} if the resource is missing
+     */
+    byte[] get(String resourcePath) {
+        return resources.get(resourcePath);
+    }
+
+    /**
+     * Returns a JavaScript resource with the project branding tokens replaced.
+     *
+     * <p>
+     * Replaces the following tokens:
+     * <ul>
+     * <li>{@code %%PROJECT_NAME%%} - replaced with the project name</li>
+     * <li>{@code %%PROJECT_LOGO%%} - replaced with the project logo URL</li>
+     * </ul>
+     *
+     * @param resourcePath the classpath path of the script
+     * @param projectName  the project name, may be {@code null}
+     * @param projectLogo  the project logo URL, may be {@code null}
+     * @return the rendered bytes (shared, do not modify), or {@code null} if the resource is missing
+     */
+    byte[] getBrandedJs(String resourcePath, String projectName, String projectLogo) {
+        byte[] js = resources.get(resourcePath);
+        if (js == null) {
+            return null;
+        }
+        String name = projectName != null ? projectName : "";
+        String logo = projectLogo != null ? projectLogo : "";
+        return renderedJs.computeIfAbsent(resourcePath + '\0' + name + '\0' + logo, key -> {
+            String content = new String(js, StandardCharsets.UTF_8);
+            content = content.replace("%%PROJECT_NAME%%", name);
+            content = content.replace("%%PROJECT_LOGO%%", logo);
+            return content.getBytes(StandardCharsets.UTF_8);
+        });
+    }
+
+    /**
+     * Reads a classpath resource, trying multiple classloaders.
+     *
+     * <p>
+     * Attempts loading in this order:
+     * <ol>
+     * <li>Thread context classloader</li>
+     * <li>Class classloader</li>
+     * <li>Direct resource stream with leading slash</li>
+     * </ol>
+     *
+     * @param resourcePath the resource path to load
+     * @return the resource bytes, or {@code null} if not found
+     * @throws IOException if reading fails
+     */
+    private static byte[] readResource(String resourcePath) throws IOException {
+        InputStream is = Thread.currentThread()
+                .getContextClassLoader()
+                .getResourceAsStream(resourcePath);
+
+        if (is == null) {
+            is = PluginResources.class.getClassLoader().getResourceAsStream(resourcePath);
+        }
+
+        if (is == null) {
+            is = PluginResources.class.getResourceAsStream("/" + resourcePath);
+        }
+
+        if (is == null) {
+            return null;
+        }
+
+        try (InputStream in = is) {
+            // Java 8 compatible way to read all bytes from InputStream
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            byte[] data = new byte[8192];
+            int bytesRead;
+            while ((bytesRead = in.read(data, 0, data.length)) != -1) {
+                buffer.write(data, 0, bytesRead);
+            }
+            return buffer.toByteArray();
+        }
+    }
+}
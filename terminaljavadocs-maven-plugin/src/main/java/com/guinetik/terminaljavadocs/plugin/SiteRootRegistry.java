@@ -0,0 +1,143 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import org.apache.maven.execution.MavenSession;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SessionData;
+
+/**
+ * Build-wide registry of site directories already processed by
+ * {@link InjectSiteStylesMojo}.
+ *
+ * <p>
+ * The goal runs once per reactor project and each execution also looks at the sites
+ * of every other module, so without coordination the same trees are walked once per
+ * module. The registry is stored in the repository session data, which lives exactly
+ * as long as the Maven build and is shared by every execution in it. Directories are
+ * tracked by their canonical (real) path, so symbolic links and the different ways
+ * of reaching a module site all resolve to one entry.
+ *
+ * <p>
+ * A directory counts as processed if it, or any directory containing it, has been
+ * registered. The registry also hands out per-file locks so that executions
+ * running concurrently under {@code mvn -T} never rewrite the same page at once.
+ * Instances are safe for concurrent use.
+ */
+final class SiteRootRegistry {
+
+    /** Key of the registry in the session data. */
+    private static final String SESSION_KEY = SiteRootRegistry.class.getName();
+
+    /** Number of lock stripes guarding individual files. */
+    private static final int LOCK_STRIPES = 256;
+
+    /** Canonical paths of the processed directories. */
+    private final Set<Path> roots = new HashSet<>();
+
+    /**
+     * Lock stripes serializing work on the same file across executions. Semaphores
+     * rather than monitors, so a page scanned on one thread can be released by the
+     * thread that writes it.
+     */
+    private final Semaphore[] fileLocks = new Semaphore[LOCK_STRIPES];
+
+    /**
+     * Creates an empty registry.
+     */
+    SiteRootRegistry() {
+        for (int i = 0; i < fileLocks.length; i++) {
+            fileLocks[i] = new Semaphore(1);
+        }
+    }
+
+    /**
+     * Returns the registry shared by all executions of the current build.
+     *
+     * <p>
+     * Falls back to a new, execution-local registry when the session carries no
+     * repository session (for example in unit tests) or holds a registry created by
+     * a different version of the plugin.
+     *
+     * @param session the current Maven session, may be {@code null}
+     * @return the registry
+     */
+    static SiteRootRegistry forSession(MavenSession session) {
+        RepositorySystemSession repositorySession = session != null ? session.getRepositorySession() : null;
+        if (repositorySession == null || repositorySession.getData() == null) {
+            return new SiteRootRegistry();
+        }
+        SessionData data = repositorySession.getData();
+        Object existing = data.get(SESSION_KEY);
+        if (existing == null) {
+            SiteRootRegistry created = new SiteRootRegistry();
+            if (data.set(SESSION_KEY, null, created)) {
+                return created;
+            }
+            existing = data.get(SESSION_KEY);
+        }
+        return existing instanceof SiteRootRegistry ? (SiteRootRegistry) existing : new SiteRootRegistry();
+    }
+
+    /**
+     * Registers a directory unconditionally.
+     * Used for a project's own site, which must be processed by its own execution
+     * even if an earlier execution already saw an older version of it.
+     *
+     * @param dir the directory
+     * @throws IOException if the canonical path cannot be resolved
+     */
+    synchronized void register(File dir) throws IOException {
+        roots.add(canonical(dir));
+    }
+
+    /**
+     * Registers a directory unless it has already been processed during this build.
+     *
+     * @param dir the directory
+     * @return {@code true} if the caller should process the directory, {@code false}
+     *         if it or a containing directory is already registered
+     * @throws IOException if the canonical path cannot be resolved
+     */
+    synchronized boolean claim(File dir) throws IOException {
+        Path path = canonical(dir);
+        for (Path candidate = path; candidate != null; candidate = candidate.getParent()) {
+            if (roots.contains(candidate)) {
+                return false;
+            }
+        }
+        roots.add(path);
+        return true;
+    }
+
+    /**
+     * Returns the lock guarding a file.
+     *
+     * <p>
+     * In a parallel build, an execution may process another module's site while
+     * that module's own execution does the same. Holding this lock from reading a file
+     * until it has been replaced ensures the second one sees the first one's result.
+     *
+     * @param file the file
+     * @return a single-permit semaphore; the same for equal normalized paths
+     */
+    Semaphore lockFor(Path file) {
+        int hash = file.toAbsolutePath().normalize().hashCode();
+        return fileLocks[(hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1)];
+    }
+
+    /**
+     * Resolves the canonical path of a directory.
+     *
+     * @param dir the directory, which must exist
+     * @return the real path with symbolic links resolved
+     * @throws IOException if the path cannot be resolved
+     */
+    private static Path canonical(File dir) throws IOException {
+        return dir.toPath().toRealPath();
+    }
+}
@@ -0,0 +1,57 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * A processing stage driven by {@link SiteWalker}.
+ *
+ * <p>
+ * Each site root is traversed once; every registered visitor sees each directory
+ * and file of that traversal. Stages such as JaCoCo image theming and HTML style
+ * injection are implemented as visitors so they share a single pass over the tree
+ * instead of each walking it separately.
+ *
+ * @see SiteWalker
+ */
+interface SiteVisitor {
+
+    /**
+     * Called when the walk enters a directory, before any of its entries.
+     *
+     * @param dir   the directory
+     * @param attrs the directory's attributes
+     * @throws IOException if the stage fails
+     */
+    default void preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+    }
+
+    /**
+     * Called for every regular file in the tree.
+     *
+     * @param file  the file
+     * @param attrs the file's attributes, as read by the walk
+     * @throws IOException if the stage fails
+     */
+    default void visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+    }
+
+    /**
+     * Called when the walk leaves a directory, after all of its entries.
+     *
+     * @param dir the directory
+     * @throws IOException if the stage fails
+     */
+    default void postVisitDirectory(Path dir) throws IOException {
+    }
+
+    /**
+     * Called once after the walk has completed, for example to wait for
+     * asynchronous work the stage submitted.
+     *
+     * @throws IOException if the stage fails
+     */
+    default void finish() throws IOException {
+    }
+}
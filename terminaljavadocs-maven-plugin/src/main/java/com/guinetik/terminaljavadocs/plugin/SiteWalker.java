@@ -0,0 +1,114 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Walks a site directory tree once and dispatches every directory and file to a
+ * list of {@link SiteVisitor} stages.
+ *
+ * <p>
+ * Directory listings and file attributes are read exactly once per root, no
+ * matter how many stages consume them. Counters for visited directories and files
+ * are kept across walks so the cost of traversal can be reported.
+ */
+final class SiteWalker {
+
+    private final Log log;
+
+    /** Number of directories entered. */
+    private final LongAdder directories = new LongAdder();
+
+    /** Number of files visited. */
+    private final LongAdder files = new LongAdder();
+
+    /**
+     * Creates a walker.
+     *
+     * @param log the log for reporting unreadable entries
+     */
+    SiteWalker(Log log) {
+        this.log = log;
+    }
+
+    /**
+     * Walks a tree, dispatching to every visitor, then calls {@link SiteVisitor#finish()}
+     * on each of them. Each walk is reported as a {@code SiteWalk} Flight Recorder event.
+     *
+     * @param root     the directory to walk
+     * @param visitors the stages to run, in dispatch order
+     * @throws IOException if traversal or a stage fails
+     */
+    void walk(Path root, List<? extends SiteVisitor> visitors) throws IOException {
+        PluginEvents.SiteWalkEvent event = PluginEvents.beginSiteWalk();
+        long directoriesBefore = directories.sum();
+        long filesBefore = files.sum();
+
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                directories.increment();
+                for (SiteVisitor visitor : visitors) {
+                    visitor.preVisitDirectory(dir, attrs);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                files.increment();
+                for (SiteVisitor visitor : visitors) {
+                    visitor.visitFile(file, attrs);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                if (exc != null) {
+                    throw exc;
+                }
+                for (SiteVisitor visitor : visitors) {
+                    visitor.postVisitDirectory(dir);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                log.warn("Failed to visit file: " + file + " - " + exc.getMessage());
+                return FileVisitResult.CONTINUE;
+            }
+        });
+
+        for (SiteVisitor visitor : visitors) {
+            visitor.finish();
+        }
+        PluginEvents.commitSiteWalk(event, root, directories.sum() - directoriesBefore, files.sum() - filesBefore);
+    }
+
+    /**
+     * Returns the number of directories entered across all walks.
+     *
+     * @return the directory count
+     */
+    long getDirectories() {
+        return directories.sum();
+    }
+
+    /**
+     * Returns the number of files visited across all walks.
+     *
+     * @return the file count
+     */
+    long getFiles() {
+        return files.sum();
+    }
+}
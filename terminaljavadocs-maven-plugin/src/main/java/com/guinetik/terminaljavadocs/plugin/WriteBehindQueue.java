@@ -0,0 +1,235 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded write-behind stage that performs page writes on dedicated threads.
+ *
+ * <p>
+ * Producers scan and classify pages, then hand the I/O-bound part (streaming the
+ * page into a temporary file and renaming it over the original) to this queue, so
+ * reading the next page overlaps with writing the previous one. The queue holds at
+ * most {@code capacity} pending writes; a producer submitting to a full queue blocks
+ * until a writer catches up, which bounds the memory held by queued pages.
+ *
+ * <p>
+ * Every submitted write runs, even after another one failed, so resources the tasks
+ * release in their own {@code finally} blocks are never leaked. The first failure is
+ * rethrown by the next {@link #submit(WriteTask)} or {@link #await()}.
+ * Instances are safe for concurrent use.
+ */
+final class WriteBehindQueue implements Closeable {
+
+    /**
+     * A single deferred write.
+     */
+    interface WriteTask {
+
+        /**
+         * Performs the write.
+         *
+         * @throws IOException if the write fails
+         */
+        void write() throws IOException;
+    }
+
+    /** Marker task telling a writer thread to exit. */
+    private static final WriteTask STOP = () -> {
+    };
+
+    /** Writes waiting for a writer thread. */
+    private final BlockingQueue<WriteTask> queue;
+
+    /** The writer threads. */
+    private final Thread[] writers;
+
+    /** Monitor guarding {@link #pending}. */
+    private final Object idle = new Object();
+
+    /** Number of submitted writes that have not finished; guarded by {@link #idle}. */
+    private long pending;
+
+    /** First failure of any write. */
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    /** Number of writes submitted. */
+    private final LongAdder submitted = new LongAdder();
+
+    /** Number of submissions that blocked because the queue was full. */
+    private final LongAdder stalls = new LongAdder();
+
+    /**
+     * Creates the queue and starts its writer threads.
+     * Threads are daemons so a failed build never hangs on shutdown.
+     *
+     * @param capacity   the maximum number of queued writes, at least {@code 1}
+     * @param threads    the number of writer threads, at least {@code 1}
+     * @param namePrefix the prefix of the writer thread names
+     */
+    WriteBehindQueue(int capacity, int threads, String namePrefix) {
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.writers = new Thread[Math.max(1, threads)];
+        for (int i = 0; i < writers.length; i++) {
+            writers[i] = new Thread(this::drain, namePrefix + (i + 1));
+            writers[i].setDaemon(true);
+            writers[i].start();
+        }
+    }
+
+    /**
+     * Queues a write, blocking while the queue is full.
+     *
+     * @param task the write to perform
+     * @throws IOException if an earlier write failed (the task is then not queued)
+     *                     or the caller was interrupted while waiting
+     */
+    void submit(WriteTask task) throws IOException {
+        rethrowFailure();
+        synchronized (idle) {
+            pending++;
+        }
+        try {
+            if (!queue.offer(task)) {
+                stalls.increment();
+                queue.put(task);
+            }
+        } catch (InterruptedException e) {
+            finished();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while queueing HTML file writes");
+        }
+        submitted.increment();
+    }
+
+    /**
+     * Waits until every submitted write has finished, rethrowing the first failure.
+     *
+     * @throws IOException if a write failed or the wait was interrupted
+     */
+    void await() throws IOException {
+        synchronized (idle) {
+            while (pending > 0) {
+                try {
+                    idle.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while writing HTML files");
+                }
+            }
+        }
+        rethrowFailure();
+    }
+
+    /**
+     * Lets the writer threads finish the queued writes, then stops them.
+     */
+    @Override
+    public void close() {
+        boolean interrupted = false;
+        for (int i = 0; i < writers.length; i++) {
+            while (true) {
+                try {
+                    queue.put(STOP);
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        for (Thread writer : writers) {
+            while (true) {
+                try {
+                    writer.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the number of writes submitted.
+     *
+     * @return the submitted count
+     */
+    long getSubmitted() {
+        return submitted.sum();
+    }
+
+    /**
+     * Returns how often a producer had to wait for a free slot in the queue.
+     *
+     * @return the number of blocked submissions
+     */
+    long getStalls() {
+        return stalls.sum();
+    }
+
+    /**
+     * Writer thread loop: performs queued writes until told to stop.
+     */
+    private void drain() {
+        while (true) {
+            WriteTask task;
+            try {
+                task = queue.take();
+            } catch (InterruptedException e) {
+                // Writers are only stopped through the queue, so pending writes always run
+                continue;
+            }
+            if (task == STOP) {
+                return;
+            }
+            try {
+                task.write();
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            } finally {
+                finished();
+            }
+        }
+    }
+
+    /**
+     * Marks one submitted write as finished, waking {@link #await()} when none remain.
+     */
+    private void finished() {
+        synchronized (idle) {
+            if (--pending == 0) {
+                idle.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Rethrows the first write failure, if any.
+     *
+     * @throws IOException if a write failed with an I/O error or an unexpected exception
+     */
+    private void rethrowFailure() throws IOException {
+        Throwable cause = failure.get();
+        if (cause == null) {
+            return;
+        }
+        if (cause instanceof IOException) {
+            throw (IOException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        throw new IOException("Failed to write HTML file", cause);
+    }
+}
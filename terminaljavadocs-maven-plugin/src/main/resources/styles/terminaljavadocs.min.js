@@ -1 +1 @@
-!function(){"use strict";var e=["https://cdnjs.cloudflare.com/ajax/libs/prism/1.29.0/components/prism-java.min.js","https://cdnjs.cloudflare.com/ajax/libs/prism/1.29.0/components/prism-markup.min.js","https://cdnjs.cloudflare.com/ajax/libs/prism/1.29.0/components/prism-bash.min.js","https://cdnjs.cloudflare.com/ajax/libs/prism/1.29.0/components/prism-json.min.js","https://cdnjs.cloudflare.com/ajax/libs/prism/1.29.0/components/prism-properties.min.js"];function t(e){return new Promise(function(t,n){var a=document.createElement("script");a.src=e,a.onload=t,a.onerror=n,document.head.appendChild(a)})}function n(){"undefined"!=typeof Prism&&(Prism.highlightAll(),console.log("✓ Prism syntax highlighting applied"))}function a(){document.querySelectorAll("pre code, pre.source").forEach(function(e){var t="PRE"===e.tagName?e:e.parentElement,n=e.textContent||"";if(!e.className||!e.className.match(/language-/)){var a=function(e,t){if(t){if(-1!==t.indexOf("java"))return"java";if(-1!==t.indexOf("xml"))return"xml";if(-1!==t.indexOf("bash")||-1!==t.indexOf("shell"))return"bash";if(-1!==t.indexOf("json"))return"json"}var n=e.trim();return n.match(/^<\?xml/)||n.match(/^<(dependency|plugin|project|groupId|artifactId)/)?"xml":n.match(/^(package|import|public\s+class|public\s+interface|@\w+)/m)?"java":n.match(/^(\$|#!\/bin\/(ba)?sh|mvn |npm |git )/m)?"bash":n.match(/^\s*[\[{]/)&&n.match(/[\]}]\s*$/)?"json":null}(n,e.className);a&&(e.classList.add("language-"+a),t.classList.add("language-"+a))}var o=e.className&&e.className.match(/language-(\w+)/);if(o){var i=o[1];t.classList.contains("language-"+i)||t.classList.add("language-"+i)}}),t("https://cdnjs.cloudflare.com/ajax/libs/prism/1.29.0/prism.min.js").then(function(){return Promise.all(e.map(t))}).then(n).catch(function(e){console.warn("Prism loading failed:",e)})}"loading"===document.readyState?document.addEventListener("DOMContentLoaded",a):a()}(),function(){"use strict";var e="%%PROJECT_LOGO%%",t="%%PROJECT_NAME%%";function n(e){return e&&0!==e.indexOf("%%PROJECT")&&e.length>0}function a(){return n(t)?t:"Terminal Javadocs"}function o(){var t,o=(t=(window.location.pathname.match(/\//g)||[]).length-1)<=0?"./":"../".repeat(t),i=document.createElement("header");i.id="topbar",i.className="topbar-minimal",i.innerHTML='<div class="topbar-minimal-inner"><a href="'+o+'index.html" class="brand" title="Back to Home">'+(n(e)?'<img src="'+e+'" alt="'+a()+'" width="28" height="28" />':'<svg xmlns="http://www.w3.org/2000/svg" viewBox="0 0 100 100" width="28" height="28"><circle cx="50" cy="85" r="8" fill="#00ff41"/><path d="M50 10 L30 75 L40 75 L50 45 L60 75 L70 75 Z" fill="#00ff41"/></svg>')+'<span class="project-title">'+a()+"</span></a></div>",document.body.insertBefore(i,document.body.firstChild),document.body.classList.add("topBarEnabled")}function i(){var e=document.querySelector("#topbar .btn-navbar"),t=document.querySelector("#topbar nav.nav-collapse ul.nav");if(e&&t){var n=document.querySelector("#topbar .brand"),a=document.querySelector("#topbar .brand img");if(n&&a&&!document.querySelector("#project-title")){var o=a.alt||document.title.split("–")[0].trim(),i=document.createElement("span");i.id="project-title",i.textContent=o,i.className="project-title",n.appendChild(i)}var r=!1;l(),e.addEventListener("click",function(e){e.preventDefault(),e.stopPropagation(),s()&&((r=!r)?t.classList.add("open"):c())}),t.addEventListener("click",function(e){if(s()){var n=e.target.closest(".dropdown-toggle");if(n){e.preventDefault(),e.stopPropagation();var a=n.closest(".dropdown");if(a){var o=a.classList.contains("open");t.querySelectorAll(".dropdown").forEach(function(e){e.classList.remove("open")}),o||a.classList.add("open")}}}}),document.addEventListener("click",function(n){r&&(t.contains(n.target)||e.contains(n.target)||c())}),t.querySelectorAll("a:not(.dropdown-toggle)").forEach(function(e){e.addEventListener("click",function(){var e=this.getAttribute("href");e&&0===e.indexOf("#")&&setTimeout(c,100)})}),window.addEventListener("resize",function(){l()})}function s(){return window.innerWidth<=992}function c(){r=!1,t.classList.remove("open"),t.querySelectorAll(".dropdown").forEach(function(e){e.classList.remove("open")})}function l(){s()?t.querySelectorAll(".dropdown-toggle[data-toggle]").forEach(function(e){e.setAttribute("data-toggle-disabled",e.getAttribute("data-toggle")),e.removeAttribute("data-toggle")}):(t.querySelectorAll(".dropdown-toggle[data-toggle-disabled]").forEach(function(e){e.setAttribute("data-toggle",e.getAttribute("data-toggle-disabled")),e.removeAttribute("data-toggle-disabled")}),c())}}function r(){var e=document.querySelector("#topbar");document.querySelector(".terminal-header")||(e?i():o())}"loading"===document.readyState?document.addEventListener("DOMContentLoaded",r):r()}(),function(){"use strict";var e=["https://cdnjs.cloudflare.com/ajax/libs/prism/1.29.0/components/prism-java.min.js","https://cdnjs.cloudflare.com/ajax/libs/prism/1.29.0/components/prism-markup.min.js","https://cdnjs.cloudflare.com/ajax/libs/prism/1.29.0/components/prism-bash.min.js","https://cdnjs.cloudflare.com/ajax/libs/prism/1.29.0/components/prism-json.min.js","https://cdnjs.cloudflare.com/ajax/libs/prism/1.29.0/components/prism-properties.min.js"];function t(e){return new Promise(function(t,n){var a=document.createElement("script");a.src=e,a.onload=t,a.onerror=n,document.head.appendChild(a)})}function n(){"undefined"!=typeof Prism&&(Prism.highlightAll(),console.log("✓ Prism syntax highlighting applied"))}function a(){document.querySelectorAll("pre code, pre.source").forEach(function(e){var t="PRE"===e.tagName?e:e.parentElement,n=e.textContent||"";if(!e.className||!e.className.match(/language-/)){var a=function(e,t){if(t){if(-1!==t.indexOf("java"))return"java";if(-1!==t.indexOf("xml"))return"xml";if(-1!==t.indexOf("bash")||-1!==t.indexOf("shell"))return"bash";if(-1!==t.indexOf("json"))return"json"}var n=e.trim();return n.match(/^<\?xml/)||n.match(/^<(dependency|plugin|project|groupId|artifactId)/)?"xml":n.match(/^(package|import|public\s+class|public\s+interface|@\w+)/m)?"java":n.match(/^(\$|#!\/bin\/(ba)?sh|mvn |npm |git )/m)?"bash":n.match(/^\s*[\[{]/)&&n.match(/[\]}]\s*$/)?"json":null}(n,e.className);a&&(e.classList.add("language-"+a),t.classList.add("language-"+a))}var o=e.className&&e.className.match(/language-(\w+)/);if(o){var i=o[1];t.classList.contains("language-"+i)||t.classList.add("language-"+i)}}),t("https://cdnjs.cloudflare.com/ajax/libs/prism/1.29.0/prism.min.js").then(function(){return Promise.all(e.map(t))}).then(n).catch(function(e){console.warn("Prism loading failed:",e)})}"loading"===document.readyState?document.addEventListener("DOMContentLoaded",a):a()}(),function(){"use strict";function e(){var e=document.querySelector("#topbar .btn-navbar"),t=document.querySelector("#topbar nav.nav-collapse ul.nav");if(e&&t){var n=!1;e.addEventListener("click",function(e){e.preventDefault(),e.stopPropagation(),a()&&(n=!n,t.classList.toggle("open",n))}),document.addEventListener("mousedown",function(a){!n||t.contains(a.target)||e.contains(a.target)||o()}),t.querySelectorAll(".dropdown-toggle").forEach(function(e){e.addEventListener("click",function(e){if(a()){e.preventDefault(),e.stopPropagation();var n=this.parentElement,o=n.classList.contains("open");t.querySelectorAll(".dropdown.open").forEach(function(e){e.classList.remove("open")}),o||n.classList.add("open")}})}),window.addEventListener("resize",function(){window.innerWidth>992&&o()})}function a(){return window.innerWidth<=992}function o(){n=!1,t.classList.remove("open"),t.querySelectorAll(".dropdown.open").forEach(function(e){e.classList.remove("open")})}}"loading"===document.readyState?document.addEventListener("DOMContentLoaded",e):e()}();
\ No newline at end of file
+!function(){"use strict";document.querySelectorAll('link[rel="stylesheet"][data-tjd]').forEach(function(e){e.sheet?e.media="all":e.addEventListener("load",function(){e.media="all"})})}(),function(){"use strict";var e="terminaljavadocs-prism.min.js",t={java:"terminaljavadocs-prism-java.min.js",javascript:"terminaljavadocs-prism-javascript.min.js",js:"terminaljavadocs-prism-javascript.min.js",xml:"terminaljavadocs-prism-markup.min.js",markup:"terminaljavadocs-prism-markup.min.js",html:"terminaljavadocs-prism-markup.min.js",css:"terminaljavadocs-prism-css.min.js",bash:"terminaljavadocs-prism-bash.min.js",shell:"terminaljavadocs-prism-bash.min.js",json:"terminaljavadocs-prism-json.min.js",properties:"terminaljavadocs-prism-properties.min.js"},n=document.currentScript?document.currentScript.src.replace(/[^\/]*$/,""):"",a='code[class*="language-"], [class*="language-"] code';function r(e){return new Promise(function(t,n){var a=document.createElement("script");a.src=e,a.onload=t,a.onerror=n,document.head.appendChild(a)})}function o(e){var t=e.className.match(/language-(\w+)/)||e.parentElement.className.match(/language-(\w+)/);return t&&t[1]}function i(e,t,n){return e.util.encode(e.tokenize(t,e.languages[n])).map(function(t){return e.Token.stringify(t,n)})}function c(e,t){var n=o(e);n&&Prism.languages[n]&&(e.classList.add("language-"+n),t(e.textContent,n).then(function(t){!function(e,t){var n=document.createTextNode(e.textContent);e.textContent="",e.appendChild(n);var a=document.createRange();a.selectNodeContents(e);var r=0;!function o(){var i=a.createContextualFragment(t.slice(r,r+500).join(""));n.deleteData(0,i.textContent.length),e.insertBefore(i,n),(r+=500)<t.length?requestAnimationFrame(o):e.removeChild(n)}()}(e,t)}))}function s(t){if("undefined"!=typeof Prism){var r=document.querySelectorAll(a),o=function(t){function a(e,t){return Promise.resolve(i(Prism,e,t))}var r;try{var o="self.Prism={disableWorkerMessageHandler:true};importScripts("+[n+e].concat(t).map(function(e){return JSON.stringify(e)}).join(",")+");var highlightChunks="+i+";onmessage=function(e){var d=e.data;postMessage({id:d.id,chunks:highlightChunks(Prism,d.code,d.language)});};";r=new Worker(URL.createObjectURL(new Blob([o],{type:"text/javascript"})))}catch(e){return a}var c={},s=0;return r.onmessage=function(e){var t=c[e.data.id];delete c[e.data.id],t.resolve(e.data.chunks)},r.onerror=function(e){e.preventDefault(),r.terminate(),r=null,Object.keys(c).forEach(function(e){var t=c[e];delete c[e],t.resolve(a(t.code,t.language))})},function(e,t){return r?new Promise(function(n){var a=s++;c[a]={resolve:n,code:e,language:t},r.postMessage({id:a,code:e,language:t})}):a(e,t)}}(t);if("IntersectionObserver"in window){var s=new IntersectionObserver(function(e){e.forEach(function(e){e.isIntersecting&&(s.unobserve(e.target),c(e.target,o))})},{rootMargin:"600px 0px"});r.forEach(function(e){s.observe(e)})}else r.forEach(function(e){c(e,o)})}}function l(){document.querySelectorAll("pre code, pre.source").forEach(function(e){var t="PRE"===e.tagName?e:e.parentElement,n=e.textContent||"";if(!e.className||!e.className.match(/language-/)){var a=function(e,t){if(t){if(-1!==t.indexOf("java"))return"java";if(-1!==t.indexOf("xml"))return"xml";if(-1!==t.indexOf("bash")||-1!==t.indexOf("shell"))return"bash";if(-1!==t.indexOf("json"))return"json"}var n=e.trim();return n.match(/^<\?xml/)||n.match(/^<(dependency|plugin|project|groupId|artifactId)/)?"xml":n.match(/^(package|import|public\s+class|public\s+interface|@\w+)/m)?"java":n.match(/^(\$|#!\/bin\/(ba)?sh|mvn |npm |git )/m)?"bash":n.match(/^\s*[\[{]/)&&n.match(/[\]}]\s*$/)?"json":null}(n,e.className);a&&(e.classList.add("language-"+a),t.classList.add("language-"+a))}var r=e.className&&e.className.match(/language-(\w+)/);if(r){var o=r[1];t.classList.contains("language-"+o)||t.classList.add("language-"+o)}});var i=function(){var e=[];return document.querySelectorAll(a).forEach(function(a){var r=t[o(a)];r&&-1===e.indexOf(n+r)&&e.push(n+r)}),e}();0!==i.length&&(window.Prism=window.Prism||{},window.Prism.manual=!0,r(n+e).then(function(){return Promise.all(i.map(r))}).then(function(){s(i)}).catch(function(e){console.warn("Prism loading failed:",e)}))}"loading"===document.readyState?document.addEventListener("DOMContentLoaded",l):l()}(),function(){"use strict";var e="%%PROJECT_LOGO%%",t="%%PROJECT_NAME%%";function n(e){return e&&0!==e.indexOf("%%PROJECT")&&e.length>0}function a(){return n(t)?t:"Terminal Javadocs"}function r(){var t,r=(t=(window.location.pathname.match(/\//g)||[]).length-1)<=0?"./":"../".repeat(t),o=document.createElement("header");o.id="topbar",o.className="topbar-minimal",o.innerHTML='<div class="topbar-minimal-inner"><a href="'+r+'index.html" class="brand" title="Back to Home">'+(n(e)?'<img src="'+e+'" alt="'+a()+'" width="28" height="28" />':'<svg xmlns="http://www.w3.org/2000/svg" viewBox="0 0 100 100" width="28" height="28"><circle cx="50" cy="85" r="8" fill="#00ff41"/><path d="M50 10 L30 75 L40 75 L50 45 L60 75 L70 75 Z" fill="#00ff41"/></svg>')+'<span class="project-title">'+a()+"</span></a></div>",document.body.insertBefore(o,document.body.firstChild),document.body.classList.add("topBarEnabled")}function o(){var e=document.querySelector("#topbar .btn-navbar"),t=document.querySelector("#topbar nav.nav-collapse ul.nav");if(e&&t){var n=document.querySelector("#topbar .brand"),a=document.querySelector("#topbar .brand img");if(n&&a&&!document.querySelector("#project-title")){var r=a.alt||document.title.split("–")[0].trim(),o=document.createElement("span");o.id="project-title",o.textContent=r,o.className="project-title",n.appendChild(o)}var i=!1;l(),e.addEventListener("click",function(e){e.preventDefault(),e.stopPropagation(),c()&&((i=!i)?t.classList.add("open"):s())}),t.addEventListener("click",function(e){if(c()){var n=e.target.closest(".dropdown-toggle");if(n){e.preventDefault(),e.stopPropagation();var a=n.closest(".dropdown");if(a){var r=a.classList.contains("open");t.querySelectorAll(".dropdown").forEach(function(e){e.classList.remove("open")}),r||a.classList.add("open")}}}}),document.addEventListener("click",function(n){i&&(t.contains(n.target)||e.contains(n.target)||s())}),t.querySelectorAll("a:not(.dropdown-toggle)").forEach(function(e){e.addEventListener("click",function(){var e=this.getAttribute("href");e&&0===e.indexOf("#")&&setTimeout(s,100)})}),window.addEventListener("resize",function(){l()})}function c(){return window.innerWidth<=992}function s(){i=!1,t.classList.remove("open"),t.querySelectorAll(".dropdown").forEach(function(e){e.classList.remove("open")})}function l(){c()?t.querySelectorAll(".dropdown-toggle[data-toggle]").forEach(function(e){e.setAttribute("data-toggle-disabled",e.getAttribute("data-toggle")),e.removeAttribute("data-toggle")}):(t.querySelectorAll(".dropdown-toggle[data-toggle-disabled]").forEach(function(e){e.setAttribute("data-toggle",e.getAttribute("data-toggle-disabled")),e.removeAttribute("data-toggle-disabled")}),s())}}function i(){var e=document.querySelector("#topbar");document.querySelector(".terminal-header")||(e?o():r())}"loading"===document.readyState?document.addEventListener("DOMContentLoaded",i):i()}();
\ No newline at end of file
@@ -0,0 +1,132 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link AssetWriter}.
+ *
+ * <p>
+ * Covers skip-if-unchanged writes, hard-link copies, and the guarantee that
+ * rewriting a linked asset never modifies the other links.
+ */
+public class AssetWriterTest {
+
+    /** Temporary directory for test file operations, cleaned up after each test. */
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    /**
+     * Verifies that identical content is not rewritten and changed content is.
+     *
+     * @throws Exception if file operations fail
+     */
+    @Test
+    public void testWriteSkipsIdenticalContent() throws Exception {
+        AssetWriter writer = new AssetWriter(false);
+        Path target = tempFolder.getRoot().toPath().resolve("a.css");
+
+        assertTrue(writer.write(bytes("body{}"), target));
+        assertFalse(writer.write(bytes("body{}"), target));
+        assertTrue(writer.write(bytes("body{color:red}"), target));
+
+        assertEquals(2, writer.getWritten());
+        assertEquals(1, writer.getUnchanged());
+        assertEquals("body{color:red}", new String(Files.readAllBytes(target), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Verifies that copies are hard links when enabled and are not relinked on a re-run.
+     *
+     * @throws Exception if file operations fail
+     */
+    @Test
+    public void testCopyCreatesHardLink() throws Exception {
+        AssetWriter writer = new AssetWriter(true);
+        Path source = tempFolder.getRoot().toPath().resolve("source.css");
+        Path target = tempFolder.getRoot().toPath().resolve("target.css");
+        writer.write(bytes("body{}"), source);
+
+        assertTrue(writer.copy(source, bytes("body{}"), target));
+        assertTrue(Files.isSameFile(source, target));
+        assertFalse(writer.copy(source, bytes("body{}"), target));
+    }
+
+    /**
+     * Verifies that writing new content to a hard-linked file leaves the other link intact.
+     *
+     * @throws Exception if file operations fail
+     */
+    @Test
+    public void testWriteBreaksHardLink() throws Exception {
+        AssetWriter writer = new AssetWriter(true);
+        Path source = tempFolder.getRoot().toPath().resolve("source.js");
+        Path target = tempFolder.getRoot().toPath().resolve("target.js");
+        writer.write(bytes("v1"), source);
+        writer.copy(source, bytes("v1"), target);
+
+        writer.write(bytes("v2"), target);
+
+        assertEquals("v1", new String(Files.readAllBytes(source), StandardCharsets.UTF_8));
+        assertEquals("v2", new String(Files.readAllBytes(target), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Verifies that concurrent writers of the same asset leave one complete file and
+     * no temporary files behind.
+     *
+     * @throws Exception if file operations fail
+     */
+    @Test
+    public void testConcurrentWritesAreAtomic() throws Exception {
+        AssetWriter writer = new AssetWriter(false);
+        Path target = tempFolder.getRoot().toPath().resolve("a.js");
+        byte[] first = new byte[256 * 1024];
+        byte[] second = new byte[256 * 1024];
+        Arrays.fill(first, (byte) 'a');
+        Arrays.fill(second, (byte) 'b');
+
+        Thread[] threads = new Thread[8];
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        for (int i = 0; i < threads.length; i++) {
+            byte[] content = i % 2 == 0 ? first : second;
+            threads[i] = new Thread(() -> {
+                try {
+                    for (int n = 0; n < 20; n++) {
+                        writer.write(content, target);
+                    }
+                } catch (Throwable t) {
+                    failure.set(t);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertNull(failure.get());
+        byte[] result = Files.readAllBytes(target);
+        assertTrue(Arrays.equals(first, result) || Arrays.equals(second, result));
+        assertEquals(1, tempFolder.getRoot().list().length);
+    }
+
+    /**
+     * Encodes a string as UTF-8.
+     *
+     * @param text the text
+     * @return the bytes
+     */
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
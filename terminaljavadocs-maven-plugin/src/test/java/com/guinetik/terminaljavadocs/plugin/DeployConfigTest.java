@@ -0,0 +1,71 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link DeployConfig}.
+ *
+ * <p>
+ * Covers the cache lifetimes of assets and pages, the base path, gzip variants
+ * and the nginx rendering of preload hints.
+ */
+public class DeployConfigTest {
+
+    /**
+     * Verifies the header rules for fingerprinted, precompressed assets under a base path.
+     */
+    @Test
+    public void testHeadersForImmutableAssets() {
+        DeployConfig config = new DeployConfig("docs", true, true);
+        config.addAsset("terminal-styles/terminaljavadocs.0a1b2c3d.min.js");
+        config.addPreload("xref/", "terminal-styles/terminaljavadocs.0a1b2c3d.min.js", "script");
+
+        String headers = config.renderHeaders();
+
+        assertTrue(headers.contains("/docs/terminal-styles/terminaljavadocs.0a1b2c3d.min.js\n"
+                + "  Cache-Control: public, max-age=31536000, immutable\n"
+                + "  Vary: Accept-Encoding\n"));
+        assertTrue(headers.contains("/docs/*.html\n  Cache-Control: public, max-age=300, must-revalidate\n"));
+        assertTrue(headers.contains("/docs/xref/*.html\n"
+                + "  Link: </docs/terminal-styles/terminaljavadocs.0a1b2c3d.min.js>; rel=preload; as=script\n"));
+    }
+
+    /**
+     * Verifies that assets under fixed names get a short lifetime and no variants without gzip.
+     */
+    @Test
+    public void testHeadersForFixedNames() {
+        DeployConfig config = new DeployConfig("/", false, false);
+        config.addAsset("terminal-styles/terminaljavadocs.min.js");
+
+        String headers = config.renderHeaders();
+
+        assertTrue(headers.contains(
+                "/terminal-styles/terminaljavadocs.min.js\n  Cache-Control: public, max-age=3600\n"));
+        assertFalse(headers.contains("Vary"));
+        assertFalse(config.renderNginx().contains("gzip_static"));
+    }
+
+    /**
+     * Verifies that nginx locations repeat every header they need and join preload links.
+     */
+    @Test
+    public void testNginxLocations() {
+        DeployConfig config = new DeployConfig("/", true, true);
+        config.addAsset("terminal-styles/a.1.min.css");
+        config.addPreload("apidocs/", "terminal-styles/a.1.min.css", "style");
+        config.addPreload("apidocs/", "terminal-styles/b.2.min.js", "script");
+
+        String nginx = config.renderNginx();
+
+        assertTrue(nginx.contains("gzip_static on;\n"));
+        assertTrue(nginx.contains("location = /terminal-styles/a.1.min.css {\n"
+                + "    add_header Cache-Control \"public, max-age=31536000, immutable\";\n}"));
+        assertTrue(nginx.contains("location ^~ /apidocs/ {\n    location ~* \\.html$ {\n"
+                + "        add_header Cache-Control \"public, max-age=300, must-revalidate\";\n"
+                + "        add_header Link \"</terminal-styles/a.1.min.css>; rel=preload; as=style, "
+                + "</terminal-styles/b.2.min.js>; rel=preload; as=script\";\n"));
+    }
+}
@@ -0,0 +1,114 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link GzipPrecompressor}.
+ *
+ * <p>
+ * Covers the round trip of a compressed sibling, skipping siblings that are up to
+ * date, and recognising leftover temporary files.
+ */
+public class GzipPrecompressorTest {
+
+    /** Temporary directory for test file operations, cleaned up after each test. */
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    /**
+     * Verifies that the sibling decompresses to the original and reports the bytes saved.
+     *
+     * @throws Exception if file operations fail
+     */
+    @Test
+    public void testCompressWritesSibling() throws Exception {
+        StringBuilder html = new StringBuilder("<html><body>");
+        for (int i = 0; i < 200; i++) {
+            html.append("<tr><td class=\"nc\">line ").append(i).append("</td></tr>\n");
+        }
+        String content = html.append("</body></html>").toString();
+        Path page = tempFolder.getRoot().toPath().resolve("page.html");
+        Files.write(page, content.getBytes(StandardCharsets.UTF_8));
+
+        GzipPrecompressor precompressor = new GzipPrecompressor(9);
+        assertTrue(precompressor.compress(page));
+
+        Path sibling = tempFolder.getRoot().toPath().resolve("page.html.gz");
+        assertEquals(content, gunzip(sibling));
+        assertEquals(Files.getLastModifiedTime(page), Files.getLastModifiedTime(sibling));
+        assertEquals(Files.size(page) - Files.size(sibling), precompressor.getBytesSaved());
+    }
+
+    /**
+     * Verifies that an up-to-date sibling is left alone and a changed file is compressed again.
+     *
+     * @throws Exception if file operations fail
+     */
+    @Test
+    public void testCompressSkipsUpToDateSibling() throws Exception {
+        Path asset = tempFolder.getRoot().toPath().resolve("styles.css");
+        Files.write(asset, "body{}".getBytes(StandardCharsets.UTF_8));
+        GzipPrecompressor precompressor = new GzipPrecompressor(6);
+
+        assertTrue(precompressor.compress(asset));
+        assertFalse(precompressor.compress(asset));
+
+        Files.write(asset, "body{color:red}".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(asset, FileTime.fromMillis(System.currentTimeMillis() + 5000));
+        assertTrue(precompressor.compress(asset));
+
+        assertEquals(2, precompressor.getWritten());
+        assertEquals(1, precompressor.getUnchanged());
+        assertEquals("body{color:red}", gunzip(GzipPrecompressor.siblingOf(asset)));
+    }
+
+    /**
+     * Verifies that only the precompressor's temporary file names are recognised.
+     */
+    @Test
+    public void testIsTemp() {
+        Path dir = tempFolder.getRoot().toPath();
+        assertTrue(GzipPrecompressor.isTemp(dir.resolve(".index.html.gz81723981.tmp")));
+        assertFalse(GzipPrecompressor.isTemp(dir.resolve("index.html.gz")));
+        assertFalse(GzipPrecompressor.isTemp(dir.resolve(".index.html81723981.tmp")));
+    }
+
+    /**
+     * Verifies that a level outside the deflate range is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsInvalidLevel() {
+        new GzipPrecompressor(10);
+    }
+
+    /**
+     * Decompresses a gzip file.
+     *
+     * @param file the gzip file
+     * @return the decompressed content as UTF-8
+     * @throws Exception if reading fails
+     */
+    private static String gunzip(Path file) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            byte[] buffer = new byte[4096];
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                out.write(buffer, 0, n);
+            }
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,242 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link HtmlHeadInjector}.
+ *
+ * <p>
+ * Covers head scanning (closing tag, opening tag fallback, marker detection),
+ * locating injected blocks for replacement, and byte-exact splicing of large documents.
+ */
+public class HtmlHeadInjectorTest {
+
+    /** Temporary directory for test file operations, cleaned up after each test. */
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    /** The injector under test. */
+    private final HtmlHeadInjector injector = new HtmlHeadInjector(
+            "<!-- terminal-javadocs-injected", "<!-- /terminal-javadocs-injected -->");
+
+    /**
+     * Verifies that the insertion point is the start of {@code </head>}, matched case-insensitively.
+     *
+     * @throws Exception if file operations fail
+     */
+    @Test
+    public void testScanFindsClosingHeadCaseInsensitive() throws Exception {
+        String html = "<html><HEAD><title>T</title></HeAd><body></body></html>";
+        HtmlHeadInjector.HeadScan scan = scan(html);
+
+        assertFalse(scan.isAlreadyInjected());
+        assertEquals(html.indexOf("</HeAd>"), scan.getInsertOffset());
+    }
+
+    /**
+     * Verifies the fallback to just after the opening head tag when there is no closing tag.
+     *
+     * @throws Exception if file operations fail
+     */
+    @Test
+    public void testScanFallsBackToOpeningHead() throws Exception {
+        String html = "<html><head lang=\"en\"><title>T</title><body></body></html>";
+        HtmlHeadInjector.HeadScan scan = scan(html);
+
+        assertEquals(html.indexOf("<title>"), scan.getInsertOffset());
+    }
+
+    /**
+     * Verifies that documents without a head section have no insertion point.
+     *
+     * @throws Exception if file operations fail
+     */
+    @Test
+    public void testScanWithoutHead() throws Exception {
+        HtmlHeadInjector.HeadScan scan = scan("<html><body>No head</body></html>");
+
+        assertFalse(scan.hasInsertionPoint());
+    }
+
+    /**
+     * Verifies that the injection marker in the head is detected.
+     *
+     * @throws Exception if file operations fail
+     */
+    @Test
+    public void testScanDetectsMarker() throws Exception {
+        HtmlHeadInjector.HeadScan scan = scan(
+                "<html><head><!-- <!-- terminal-javadocs-injected [site] --></head><body></body></html>");
+
+        assertTrue(scan.isAlreadyInjected());
+    }
+
+    /**
+     * Verifies that a marker split across read buffer boundaries is still detected.
+     *
+     * @throws Exception if file operations fail
+     */
+    @Test
+    public void testScanDetectsMarkerAcrossBufferBoundary() throws Exception {
+        StringBuilder html = new StringBuilder("<html><head>");
+        while (html.length() < HtmlHeadInjector.BUFFER_SIZE - 10) {
+            html.append(' ');
+        }
+        html.append("<!-- terminal-javadocs-injected [site] --></head><body></body></html>");
+
+        assertTrue(scan(html.toString()).isAlreadyInjected());
+    }
+
+    /**
+     * Verifies that a versioned block is located with its stamp, including the line
+     * breaks around it.
+     *
+     * @throws Exception if file operations fail
+     */
+    @Test
+    public void testScanLocatesVersionedBlock() throws Exception {
+        String block = "\n<!-- terminal-javadocs-injected v=1.0 cfg=0a1b2c3d [site] -->\n"
+                + "<link rel=\"stylesheet\" href=\"a.css\">\n<script src=\"a.js\" defer></script>\n"
+                + "<!-- /terminal-javadocs-injected -->\n";
+        String html = "<html><head><title>T</title>" + block + "</head><body></body></html>";
+        HtmlHeadInjector.HeadScan scan = scan(html);
+
+        assertTrue(scan.isAlreadyInjected());
+        assertEquals("v=1.0 cfg=0a1b2c3d [site]", scan.getStamp());
+        assertTrue(scan.hasBlock());
+        assertEquals(html.indexOf(block), scan.getBlockStart());
+        assertEquals(html.indexOf(block) + block.length(), scan.getBlockEnd());
+    }
+
+    /**
+     * Verifies that a block written before markers were versioned is located up to its
+     * script tag, including the doubled comment opener.
+     *
+     * @throws Exception if file operations fail
+     */
+    @Test
+    public void testScanLocatesLegacyBlock() throws Exception {
+        String block = "\n<!-- <!-- terminal-javadocs-injected [jxr] -->\n"
+                + "<link rel=\"stylesheet\" href=\"a.css\">\n<script src=\"a.js\" defer></script>\n";
+        String html = "<html><head><title>T</title>" + block + "<meta x></head><body><script></script></body></html>";
+        HtmlHeadInjector.HeadScan scan = scan(html);
+
+        assertEquals("[jxr]", scan.getStamp());
+        assertEquals(html.indexOf(block), scan.getBlockStart());
+        assertEquals(html.indexOf(block) + block.length(), scan.getBlockEnd());
+    }
+
+    /**
+     * Verifies that an injected page without a recognisable block cannot be replaced.
+     *
+     * @throws Exception if file operations fail
+     */
+    @Test
+    public void testScanWithoutRecognisableBlock() throws Exception {
+        HtmlHeadInjector.HeadScan scan = scan(
+                "<html><head><!-- terminal-javadocs-injected [site] --><link href=\"a.css\"></head>"
+                        + "<body><script></script></body></html>");
+
+        assertTrue(scan.isAlreadyInjected());
+        assertFalse(scan.hasBlock());
+    }
+
+    /**
+     * Verifies that a block spanning read buffers is located and replaced byte-exactly.
+     *
+     * @throws Exception if file operations fail
+     */
+    @Test
+    public void testSpliceReplacesBlockAcrossBufferBoundary() throws Exception {
+        StringBuilder head = new StringBuilder("<html><head>");
+        while (head.length() < HtmlHeadInjector.BUFFER_SIZE - 20) {
+            head.append(' ');
+        }
+        String stale = "\n<!-- terminal-javadocs-injected v=0.9 cfg=00000000 [site] -->\n"
+                + "<script src=\"old.js\" defer></script>\n<!-- /terminal-javadocs-injected -->\n";
+        String fresh = "\n<!-- terminal-javadocs-injected v=1.0 cfg=11111111 [site] -->\n"
+                + "<script src=\"new.js\" defer></script>\n<!-- /terminal-javadocs-injected -->\n";
+        String tail = "</head><body></body></html>";
+        Path page = tempFolder.newFile("upgrade.html").toPath();
+        Files.write(page, (head + stale + tail).getBytes(StandardCharsets.UTF_8));
+
+        Path temp;
+        try (FileChannel channel = FileChannel.open(page, StandardOpenOption.READ)) {
+            HtmlHeadInjector.HeadScan scan = injector.scan(channel);
+            assertTrue(scan.hasBlock());
+            temp = injector.splice(channel, scan.getBlockStart(), scan.getBlockEnd(),
+                    fresh.getBytes(StandardCharsets.UTF_8), page);
+        }
+        HtmlHeadInjector.replace(temp, page);
+
+        assertEquals(head + fresh + tail, new String(Files.readAllBytes(page), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Verifies that splicing a multi-megabyte page preserves every body byte exactly,
+     * including bytes that are not valid UTF-8.
+     *
+     * @throws Exception if file operations fail
+     */
+    @Test
+    public void testSplicePreservesLargeBody() throws Exception {
+        ByteArrayOutputStream original = new ByteArrayOutputStream();
+        original.write("<html><head><title>Big</title></head><body>".getBytes(StandardCharsets.UTF_8));
+        byte[] chunk = new byte[4096];
+        for (int i = 0; i < chunk.length; i++) {
+            chunk[i] = (byte) i;
+        }
+        for (int i = 0; i < 1024; i++) {
+            original.write(chunk);
+        }
+        original.write("</body></html>".getBytes(StandardCharsets.UTF_8));
+        byte[] originalBytes = original.toByteArray();
+
+        Path page = tempFolder.newFile("big.html").toPath();
+        Files.write(page, originalBytes);
+        byte[] snippet = "<link rel=\"stylesheet\" href=\"x.css\">".getBytes(StandardCharsets.UTF_8);
+
+        Path temp;
+        long offset;
+        try (FileChannel channel = FileChannel.open(page, StandardOpenOption.READ)) {
+            offset = injector.scan(channel).getInsertOffset();
+            temp = injector.splice(channel, offset, snippet, page);
+        }
+        HtmlHeadInjector.replace(temp, page);
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        expected.write(originalBytes, 0, (int) offset);
+        expected.write(snippet);
+        expected.write(originalBytes, (int) offset, originalBytes.length - (int) offset);
+
+        assertArrayEquals(expected.toByteArray(), Files.readAllBytes(page));
+        assertFalse("Temporary file should be moved", Files.exists(temp));
+    }
+
+    /**
+     * Writes HTML to a temporary file and scans it.
+     *
+     * @param html the HTML content
+     * @return the scan result
+     * @throws IOException if file operations fail
+     */
+    private HtmlHeadInjector.HeadScan scan(String html) throws IOException {
+        Path page = tempFolder.newFile().toPath();
+        Files.write(page, html.getBytes(StandardCharsets.UTF_8));
+        try (FileChannel channel = FileChannel.open(page, StandardOpenOption.READ)) {
+            return injector.scan(channel);
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package com.guinetik.terminaljavadocs.plugin;
 
+import org.apache.maven.execution.BuildSummary;
+import org.apache.maven.execution.MavenExecutionResult;
 import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Build;
 import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.DefaultSessionData;
+import org.eclipse.aether.RepositorySystemSession;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -13,10 +18,16 @@ import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.net.HttpURLConnection;
+import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -71,6 +82,7 @@ public class InjectSiteStylesMojoTest {
         setField(mojo, "skip", false);
         setField(mojo, "stylesDir", "terminal-styles");
         setField(mojo, "processNestedSites", true);
+        setField(mojo, "parallelism", 1);
 
         // Default mock behavior
         when(session.getProjects()).thenReturn(new ArrayList<>());
@@ -274,6 +286,8 @@ public class InjectSiteStylesMojoTest {
         mojo.execute();
 
         String content = readFile(new File(siteDir, "about.html"));
+        assertTrue("Unknown page should use the core CSS",
+                content.contains("terminaljavadocs-core.min.css"));
         assertTrue("Unknown page should use site CSS",
                 content.contains("terminaljavadocs-site.min.css"));
     }
@@ -333,6 +347,63 @@ public class InjectSiteStylesMojoTest {
         assertEquals("Should not have second marker (no re-injection)", -1, secondIndex);
     }
 
+    /**
+     * Verifies that a snippet written with a different configuration is replaced in
+     * place, and that a current snippet is left alone.
+     *
+     * @throws Exception if reflection or execution fails
+     */
+    @Test
+    public void testUpgradesStaleSnippetInPlace() throws Exception {
+        File page = new File(tempFolder.getRoot(), "site/apidocs/Foo.html");
+        String body = "<body><main>Foo</main></body></html>";
+        createHtmlFile(page, "<html><head><title>Foo</title></head>" + body);
+
+        mojo.execute();
+        String first = readFile(page);
+
+        setField(mojo, "stylesDir", "theme");
+        mojo.execute();
+        String upgraded = readFile(page);
+
+        assertNotEquals(first, upgraded);
+        assertEquals("Snippet should be replaced, not added", upgraded.indexOf("<!-- terminal-javadocs-injected"),
+                upgraded.lastIndexOf("<!-- terminal-javadocs-injected"));
+        assertTrue(upgraded.contains("href=\"../theme/terminaljavadocs-javadoc.min.css\""));
+        assertFalse(upgraded.contains("terminal-styles/"));
+        assertTrue(upgraded.startsWith("<html><head><title>Foo</title>\n<!-- terminal-javadocs-injected v="));
+        assertTrue(upgraded.endsWith("<!-- /terminal-javadocs-injected -->\n</head>" + body));
+        assertEquals(1, getCounter("upgradedFiles"));
+
+        setField(mojo, "incremental", false);
+        mojo.execute();
+        assertEquals("Current snippet should not be rewritten", upgraded, readFile(page));
+        assertEquals(1, getCounter("upgradedFiles"));
+    }
+
+    /**
+     * Verifies that a snippet written before markers were versioned is upgraded.
+     *
+     * @throws Exception if reflection or execution fails
+     */
+    @Test
+    public void testUpgradesLegacySnippet() throws Exception {
+        File page = new File(tempFolder.getRoot(), "site/index.html");
+        createHtmlFile(page, "<html><head><title>T</title>\n"
+                + "<!-- <!-- terminal-javadocs-injected [site] -->\n"
+                + "<link rel=\"stylesheet\" href=\"./terminal-styles/terminaljavadocs-site.min.css\">\n"
+                + "<script src=\"./terminal-styles/terminaljavadocs.min.js\" defer></script>\n"
+                + "</head><body></body></html>");
+
+        mojo.execute();
+
+        String content = readFile(page);
+        assertFalse(content.contains("<!-- <!--"));
+        assertEquals(content.indexOf("terminaljavadocs.min.js"), content.lastIndexOf("terminaljavadocs.min.js"));
+        assertTrue(content.contains("<!-- terminal-javadocs-injected v="));
+        assertTrue(content.endsWith("<!-- /terminal-javadocs-injected -->\n</head><body></body></html>"));
+    }
+
     // ========================================================================
     // Resource Handling Tests
     // ========================================================================
@@ -356,7 +427,7 @@ public class InjectSiteStylesMojoTest {
         assertTrue("Styles directory should be created", stylesDir.exists());
 
         // Check for at least one expected CSS file
-        File siteCss = new File(stylesDir, "terminaljavadocs-site.min.css");
+        File coreCss = new File(stylesDir, "terminaljavadocs-core.min.css");
         // Note: The file may or may not exist depending on whether resources are available
         // in the test classpath. The important thing is the directory was created.
     }
@@ -437,10 +508,766 @@ public class InjectSiteStylesMojoTest {
                 content.contains("custom-styles/"));
     }
 
+    // ========================================================================
+    // Parallel Processing Tests
+    // ========================================================================
+
+    /**
+     * Verifies that parallel mode produces byte-identical output to sequential mode
+     * across all page types.
+     *
+     * @throws Exception if reflection or execution fails
+     */
+    @Test
+    public void testParallelOutputMatchesSequential() throws Exception {
+        File sequentialRoot = tempFolder.newFolder("sequential");
+        File parallelRoot = tempFolder.newFolder("parallel");
+        createMixedSite(new File(sequentialRoot, "site"));
+        createMixedSite(new File(parallelRoot, "site"));
+
+        setField(mojo, "buildDirectory", sequentialRoot);
+        mojo.execute();
+
+        InjectSiteStylesMojo parallelMojo = new InjectSiteStylesMojo();
+        setField(parallelMojo, "session", session);
+        setField(parallelMojo, "project", project);
+        setField(parallelMojo, "buildDirectory", parallelRoot);
+        setField(parallelMojo, "stylesDir", "terminal-styles");
+        setField(parallelMojo, "processNestedSites", true);
+        setField(parallelMojo, "parallelism", 4);
+        parallelMojo.execute();
+
+        String[] pages = {
+            "index.html", "coverage.html", "jacoco/com/example/Foo.html",
+            "xref/com/example/Foo.html", "apidocs/com/example/Foo.html"
+        };
+        for (String page : pages) {
+            for (int i = 0; i < 10; i++) {
+                String name = page.replace(".html", i + ".html");
+                assertArrayEquals("Parallel output should match sequential for " + name,
+                        Files.readAllBytes(new File(sequentialRoot, "site/" + name).toPath()),
+                        Files.readAllBytes(new File(parallelRoot, "site/" + name).toPath()));
+            }
+        }
+    }
+
+    // ========================================================================
+    // Write-Behind Pipeline Tests
+    // ========================================================================
+
+    /**
+     * Verifies that pages written through a write-behind queue small enough to block
+     * the processing threads are byte-identical to pages written synchronously.
+     *
+     * @throws Exception if reflection or execution fails
+     */
+    @Test
+    public void testWriteBehindOutputMatchesSynchronous() throws Exception {
+        File synchronousRoot = tempFolder.newFolder("synchronous");
+        File queuedRoot = tempFolder.newFolder("queued");
+        createMixedSite(new File(synchronousRoot, "site"));
+        createMixedSite(new File(queuedRoot, "site"));
+
+        setField(mojo, "buildDirectory", synchronousRoot);
+        setField(mojo, "writeQueueDepth", 0);
+        mojo.execute();
+
+        setField(mojo, "buildDirectory", queuedRoot);
+        setField(mojo, "writeQueueDepth", 1);
+        setField(mojo, "parallelism", 4);
+        mojo.execute();
+
+        String[] pages = {
+            "index.html", "coverage.html", "jacoco/com/example/Foo.html",
+            "xref/com/example/Foo.html", "apidocs/com/example/Foo.html"
+        };
+        for (String page : pages) {
+            for (int i = 0; i < 10; i++) {
+                String name = page.replace(".html", i + ".html");
+                assertArrayEquals("Write-behind output should match synchronous for " + name,
+                        Files.readAllBytes(new File(synchronousRoot, "site/" + name).toPath()),
+                        Files.readAllBytes(new File(queuedRoot, "site/" + name).toPath()));
+            }
+        }
+    }
+
+    /**
+     * Verifies that temporary page files left by an interrupted run are removed, while
+     * ones newer than the execution, which a concurrent execution may be writing, are kept.
+     *
+     * @throws Exception if reflection or execution fails
+     */
+    @Test
+    public void testRemovesTempFilesOfInterruptedRun() throws Exception {
+        File siteDir = new File(tempFolder.getRoot(), "site");
+        File page = new File(siteDir, "index.html");
+        createHtmlFile(page, "<html><head></head><body></body></html>");
+        File stale = new File(siteDir, ".index.html8412390521.tmp");
+        File recent = new File(siteDir, ".index.html1177003141.tmp");
+        createHtmlFile(stale, "<html><head>");
+        createHtmlFile(recent, "<html><head>");
+        stale.setLastModified(System.currentTimeMillis() - 60_000);
+        recent.setLastModified(System.currentTimeMillis() + 60_000);
+
+        mojo.execute();
+
+        assertFalse("Leftover temporary file should be removed", stale.exists());
+        assertTrue("Temporary file newer than the execution should be kept", recent.exists());
+        assertEquals(1, getCounter("staleTempFiles"));
+        assertTrue(readFile(page).contains("terminal-javadocs-injected"));
+    }
+
+    // ========================================================================
+    // Incremental Processing Tests
+    // ========================================================================
+
+    /**
+     * Verifies that a file unchanged in size and modification time since the previous
+     * run is skipped without being read, and that changed files are processed again.
+     *
+     * @throws Exception if reflection or execution fails
+     */
+    @Test
+    public void testIncrementalSkipsUnchangedFiles() throws Exception {
+        File siteDir = new File(tempFolder.getRoot(), "site");
+        File page = new File(siteDir, "index.html");
+        createHtmlFile(page, "<html><head></head><body></body></html>");
+
+        mojo.execute();
+        assertTrue("Manifest should be written",
+                new File(tempFolder.getRoot(), "terminaljavadocs-manifest.txt").exists());
+
+        // Replace with un-injected content of the same size and timestamp
+        String injected = readFile(page);
+        long lastModified = page.lastModified();
+        String fresh = injected.replace("terminal-javadocs-injected", "xxxxxxxx-xxxxxxxx-xxxxxxxx");
+        createHtmlFile(page, fresh);
+        page.setLastModified(lastModified);
+
+        mojo.execute();
+        assertEquals("Unchanged file should not be read or rewritten", fresh, readFile(page));
+
+        // A new modification time marks the file as changed
+        page.setLastModified(lastModified + 5000);
+        mojo.execute();
+        assertTrue("Changed file should be processed again",
+                readFile(page).contains("terminal-javadocs-injected"));
+    }
+
+    /**
+     * Verifies that a run resumes from the journal of an interrupted one: pages in a
+     * checkpointed directory are skipped without being read, the rest are processed,
+     * and the journal is removed once the run completes.
+     *
+     * @throws Exception if reflection or execution fails
+     */
+    @Test
+    public void testResumesInterruptedRun() throws Exception {
+        File siteDir = new File(tempFolder.getRoot(), "site");
+        File done = new File(siteDir, "done/index.html");
+        File pending = new File(siteDir, "pending/index.html");
+        createHtmlFile(done, "<html><head></head><body></body></html>");
+        createHtmlFile(pending, "<html><head></head><body></body></html>");
+        setField(mojo, "incremental", false);
+        mojo.execute();
+
+        // A run killed after checkpointing done/, before saving its manifest
+        File journal = new File(tempFolder.getRoot(), "terminaljavadocs-journal.txt");
+        InjectionManifest interrupted = InjectionManifest.load(
+                new File(tempFolder.getRoot(), "terminaljavadocs-manifest.txt").toPath(), journal.toPath(),
+                (String) invoke("getPluginVersion"), (String) invoke("getSnippetConfig"));
+        interrupted.record(done.toPath());
+        interrupted.checkpoint(done.getParentFile().toPath());
+        interrupted.close();
+        createHtmlFile(pending, "<html><head></head><body></body></html>");
+
+        // Same size and timestamp, so only reading the file would reveal the change
+        long lastModified = done.lastModified();
+        String fresh = readFile(done).replace("terminal-javadocs-injected", "xxxxxxxx-xxxxxxxx-xxxxxxxx");
+        createHtmlFile(done, fresh);
+        done.setLastModified(lastModified);
+
+        setField(mojo, "incremental", true);
+        mojo.execute();
+
+        assertEquals("Checkpointed page should not be read or rewritten", fresh, readFile(done));
+        assertTrue("Page after the checkpoint should be processed",
+                readFile(pending).contains("terminal-javadocs-injected"));
+        assertFalse("Journal should be removed after a complete run", journal.exists());
+    }
+
+    /**
+     * Verifies that incremental mode can be disabled.
+     *
+     * @throws Exception if reflection or execution fails
+     */
+    @Test
+    public void testIncrementalDisabled() throws Exception {
+        setField(mojo, "incremental", false);
+        File siteDir = new File(tempFolder.getRoot(), "site");
+        createHtmlFile(new File(siteDir, "index.html"), "<html><head></head><body></body></html>");
+
+        mojo.execute();
+
+        assertFalse("No manifest should be written",
+                new File(tempFolder.getRoot(), "terminaljavadocs-manifest.txt").exists());
+    }
+
+    // ========================================================================
+    // Metrics Tests
+    // ========================================================================
+
+    /**
+     * Verifies that the metrics report lists the processed pages per type and the
+     * slowest files, and that it can be disabled.
+     *
+     * @throws Exception if reflection or execution fails
+     */
+    @Test
+    public void testWritesMetricsReport() throws Exception {
+        File siteDir = new File(tempFolder.getRoot(), "site");
+        createHtmlFile(new File(siteDir, "index.html"), "<html><head></head><body></body></html>");
+        createHtmlFile(new File(siteDir, "apidocs/Foo.html"), "<html><head></head><body></body></html>");
+        setField(mojo, "slowestFiles", 1);
+
+        mojo.execute();
+
+        File report = new File(tempFolder.getRoot(), "terminaljavadocs-metrics.json");
+        assertTrue("Metrics report should be written", report.exists());
+        String json = readFile(report);
+        assertTrue(json.contains("\"files\": 2,"));
+        assertTrue(json.contains("\"javadoc\": { \"files\": 1,"));
+        assertTrue(json.contains("\"site\": { \"files\": 1,"));
+        assertEquals("Only the slowest file should be listed", 1, json.split("\"path\"", -1).length - 1);
+        assertTrue(json.contains("\"path\": \"site/"));
+
+        report.delete();
+        setField(mojo, "writeMetrics", false);
+        mojo.execute();
+        assertFalse("Metrics report should not be written when disabled", report.exists());
+    }
+
+    // ========================================================================
+    // Shared Asset Tests
+    // ========================================================================
+
+    /**
+     * Verifies that staged modules reference the staging root's assets without a copy of
+     * their own, and that shared mode moves those assets into a single content-addressed
+     * directory.
+     *
+     * @throws Exception if reflection or execution fails
+     */
+    @Test
+    public void testSharedAssetsReferencedFromStagedModules() throws Exception {
+        File stagingDir = new File(tempFolder.getRoot(), "staging");
+        File moduleDir = new File(stagingDir, "module-a");
+        File modulePage = new File(moduleDir, "apidocs/com/example/Foo.html");
+        createHtmlFile(new File(stagingDir, "index.html"), "<html><head></head><body></body></html>");
+        createHtmlFile(modulePage, "<html><head></head><body></body></html>");
+        List<MavenProject> projects = reactorProject("module-a");
+        when(session.getProjects()).thenReturn(projects);
+
+        mojo.execute();
+
+        assertTrue("Module page references the root assets", readFile(modulePage)
+                .contains("../../../../terminal-styles/terminaljavadocs-javadoc.min.css"));
+        assertFalse("Staged module gets no copy", new File(moduleDir, "terminal-styles").exists());
+
+        setField(mojo, "sharedAssets", true);
+        mojo.execute();
+
+        File[] bundles = new File(stagingDir, "terminal-styles").listFiles(File::isDirectory);
+        assertNotNull(bundles);
+        assertEquals("Exactly one content-addressed bundle", 1, bundles.length);
+        String bundle = bundles[0].getName();
+        assertTrue("Bundle directory is named by content hash", bundle.matches("[0-9a-f]{12}"));
+        assertFalse("Staged module gets no copy", new File(moduleDir, "terminal-styles").exists());
+        assertTrue("Module page references the root bundle", readFile(modulePage)
+                .contains("../../../../terminal-styles/" + bundle + "/terminaljavadocs-javadoc.min.css"));
+    }
+
+    /**
+     * Verifies that assets whose bytes already match are not rewritten on a re-run.
+     *
+     * @throws Exception if reflection or execution fails
+     */
+    @Test
+    public void testUnchangedAssetsNotRewritten() throws Exception {
+        File siteDir = new File(tempFolder.getRoot(), "site");
+        createHtmlFile(new File(siteDir, "index.html"), "<html><head></head><body></body></html>");
+        mojo.execute();
+
+        File js = new File(siteDir, "terminal-styles/terminaljavadocs.min.js");
+        assertTrue(js.exists());
+        js.setLastModified(1000000000000L);
+
+        mojo.execute();
+
+        assertEquals("Matching asset should not be rewritten", 1000000000000L, js.lastModified());
+    }
+
+    /**
+     * Verifies that module site copies are hard-linked to the root copy when enabled.
+     *
+     * @throws Exception if reflection or execution fails
+     */
+    @Test
+    public void testHardlinkedModuleAssets() throws Exception {
+        setField(mojo, "hardlinkAssets", true);
+        File siteDir = new File(tempFolder.getRoot(), "site");
+        createHtmlFile(new File(siteDir, "index.html"), "<html><head></head><body></body></html>");
+        File moduleBuild = tempFolder.newFolder("module-b-target");
+        File moduleSite = new File(moduleBuild, "site");
+        createHtmlFile(new File(moduleSite, "index.html"), "<html><head></head><body></body></html>");
+        List<MavenProject> projects = reactorProject("module-b");
+        when(projects.get(0).getBuild().getDirectory()).thenReturn(moduleBuild.getAbsolutePath());
+        when(session.getProjects()).thenReturn(projects);
+
+        mojo.execute();
+
+        File rootJs = new File(siteDir, "terminal-styles/terminaljavadocs.min.js");
+        File moduleJs = new File(moduleSite, "terminal-styles/terminaljavadocs.min.js");
+        assertTrue(moduleJs.exists());
+        assertTrue("Module copy should be a link to the root copy",
+                Files.isSameFile(rootJs.toPath(), moduleJs.toPath()));
+    }
+
+    /**
+     * Verifies that in a parallel build, another module's site is left alone until that
+     * module's build has finished, since its generators may still be writing it.
+     *
+     * @throws Exception if reflection or execution fails
+     */
+    @Test
+    public void testParallelBuildSkipsUnfinishedModules() throws Exception {
+        File siteDir = new File(tempFolder.getRoot(), "site");
+        createHtmlFile(new File(siteDir, "index.html"), "<html><head></head><body></body></html>");
+        File moduleBuild = tempFolder.newFolder("module-c-target");
+        File modulePage = new File(moduleBuild, "site/index.html");
+        createHtmlFile(modulePage, "<html><head></head><body></body></html>");
+        List<MavenProject> projects = reactorProject("module-c");
+        MavenProject module = projects.get(0);
+        when(module.getBuild().getDirectory()).thenReturn(moduleBuild.getAbsolutePath());
+        when(session.getProjects()).thenReturn(projects);
+        MavenExecutionResult result = mock(MavenExecutionResult.class);
+        when(session.isParallel()).thenReturn(true);
+        when(session.getResult()).thenReturn(result);
+
+        mojo.execute();
+
+        assertFalse("Module still building should not be processed",
+                readFile(modulePage).contains("terminaljavadocs"));
+
+        when(result.getBuildSummary(module)).thenReturn(mock(BuildSummary.class));
+        mojo.execute();
+
+        assertTrue("Finished module should be processed", readFile(modulePage).contains("terminaljavadocs"));
+    }
+
+    /**
+     * Verifies that fingerprinted assets are installed, listed in the asset manifest and
+     * referenced by injected pages, and that changed asset content gets a new name.
+     *
+     * @throws Exception if reflection or execution fails
+     */
+    @Test
+    public void testFingerprintedAssets() throws Exception {
+        setField(mojo, "fingerprintAssets", true);
+        File siteDir = new File(tempFolder.getRoot(), "site");
+        createHtmlFile(new File(siteDir, "apidocs/Foo.html"), "<html><head></head><body></body></html>");
+
+        mojo.execute();
+
+        File stylesDir = new File(siteDir, "terminal-styles");
+        File manifest = new File(stylesDir, "asset-manifest.json");
+        assertTrue("Asset manifest should be written", manifest.exists());
+        assertFalse("Unhashed name should not be installed",
+                new File(stylesDir, "terminaljavadocs-javadoc.min.css").exists());
+
+        String[] css = stylesDir.list(
+                (dir, name) -> name.matches("terminaljavadocs-javadoc\\.[0-9a-f]{8}\\.min\\.css"));
+        assertEquals(1, css.length);
+        assertTrue(readFile(manifest).contains("\"terminaljavadocs-javadoc.min.css\": \"" + css[0] + "\""));
+        String page = readFile(new File(siteDir, "apidocs/Foo.html"));
+        assertTrue("Page should reference the fingerprinted stylesheet",
+                page.contains("../terminal-styles/" + css[0] + "\""));
+        assertTrue(page.matches("(?s).*terminaljavadocs\\.[0-9a-f]{8}\\.min\\.js\".*"));
+
+        assertNotEquals(InjectSiteStylesMojo.fingerprint("a.min.css", "body{}".getBytes(StandardCharsets.UTF_8)),
+                InjectSiteStylesMojo.fingerprint("a.min.css", "body{color:red}".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Verifies that Prism is installed beside the script rather than loaded from a
+     * third-party origin, and that the script loads the fingerprinted Prism names.
+     *
+     * @throws Exception if reflection or execution fails
+     */
+    @Test
+    public void testBundlesPrismLocally() throws Exception {
+        setField(mojo, "fingerprintAssets", true);
+        File siteDir = new File(tempFolder.getRoot(), "site");
+        createHtmlFile(new File(siteDir, "apidocs/Foo.html"), "<html><head></head><body></body></html>");
+
+        mojo.execute();
+
+        File stylesDir = new File(siteDir, "terminal-styles");
+        String[] core = stylesDir.list((dir, name) -> name.matches("terminaljavadocs-prism\\.[0-9a-f]{8}\\.min\\.js"));
+        String[] java = stylesDir.list(
+                (dir, name) -> name.matches("terminaljavadocs-prism-java\\.[0-9a-f]{8}\\.min\\.js"));
+        assertEquals(1, core.length);
+        assertEquals(1, java.length);
+
+        String[] scripts = stylesDir.list((dir, name) -> name.matches("terminaljavadocs\\.[0-9a-f]{8}\\.min\\.js"));
+        assertEquals(1, scripts.length);
+        String script = readFile(new File(stylesDir, scripts[0]));
+        assertFalse("Prism should not come from a CDN", script.contains("cdnjs"));
+        assertTrue(script.contains("\"" + core[0] + "\""));
+        assertTrue(script.contains("\"" + java[0] + "\""));
+        assertFalse("Unhashed Prism names should be rewritten", script.contains("\"terminaljavadocs-prism.min.js\""));
+
+        Map<String, String> names = new LinkedHashMap<>();
+        names.put("terminaljavadocs-prism.min.js", "terminaljavadocs-prism.0123abcd.min.js");
+        byte[] linked = InjectSiteStylesMojo.linkReferences("terminaljavadocs.min.js",
+                "load('terminaljavadocs-prism.min.js')".getBytes(StandardCharsets.UTF_8), names);
+        assertEquals("load('terminaljavadocs-prism.0123abcd.min.js')", new String(linked, StandardCharsets.UTF_8));
+        byte[] css = "body{}".getBytes(StandardCharsets.UTF_8);
+        assertSame(css, InjectSiteStylesMojo.linkReferences("terminaljavadocs-core.min.css", css, names));
+    }
+
+    /**
+     * Verifies that inlining, on by default, puts the page type's critical CSS into pages
+     * and links the full stylesheets as print media for the bundled script to apply,
+     * with a noscript fallback and no inline handler, that print rules get their own
+     * print stylesheet, and that disabling inlining links the stylesheets as blocking
+     * resources.
+     *
+     * @throws Exception if reflection or execution fails
+     */
+    @Test
+    public void testInlinesCriticalCss() throws Exception {
+        File siteDir = new File(tempFolder.getRoot(), "site");
+        createHtmlFile(new File(siteDir, "apidocs/Foo.html"),
+                "<html><head><title>Foo</title></head><body><div class=\"top-nav\"></div></body></html>");
+
+        setField(mojo, "webFonts", false);
+        mojo.execute();
+
+        String page = readFile(new File(siteDir, "apidocs/Foo.html"));
+        String styles = "../terminal-styles/";
+        String critical = readFile(new File(getClass().getClassLoader()
+                .getResource("styles/terminaljavadocs-javadoc.critical.min.css").toURI()));
+        assertTrue("Critical CSS should be inlined", page.contains("<style>" + critical + "</style>"));
+        assertTrue(page.contains("<link rel=\"stylesheet\" href=\"" + styles + "terminaljavadocs-javadoc.min.css\" "
+                + "media=\"print\" data-tjd>"));
+        assertFalse("No inline handler should be needed", page.contains("onload="));
+        assertTrue(page.contains("<noscript>"
+                + "<link rel=\"stylesheet\" href=\"" + styles + "terminaljavadocs-core.min.css\">"
+                + "<link rel=\"stylesheet\" href=\"" + styles + "terminaljavadocs-javadoc.min.css\"></noscript>"));
+        assertTrue(page.contains("<link rel=\"stylesheet\" href=\"" + styles
+                + "terminaljavadocs-javadoc.print.min.css\" media=\"print\">"));
+        assertTrue("Print CSS should be installed",
+                new File(siteDir, "terminal-styles/terminaljavadocs-javadoc.print.min.css").exists());
+        assertTrue("The bundled script should apply the stylesheets",
+                readFile(new File(siteDir, "terminal-styles/terminaljavadocs.min.js")).contains("data-tjd"));
+        assertEquals("'sha256-47DEQpj8HBSa+/TImW+5JCeuQeRkm5NMpJWZG3hSuFU='",
+                InjectSiteStylesMojo.styleHash(new byte[0]));
+
+        setField(mojo, "inlineCriticalCss", false);
+        mojo.execute();
+
+        page = readFile(new File(siteDir, "apidocs/Foo.html"));
+        assertFalse("Stale snippet should be replaced", page.contains("<style>"));
+        assertFalse(page.contains("data-tjd"));
+        assertTrue(page.contains(
+                "<link rel=\"stylesheet\" href=\"" + styles + "terminaljavadocs-javadoc.min.css\">\n"));
+        assertTrue(page.contains("terminaljavadocs-javadoc.print.min.css\" media=\"print\">"));
+    }
+
+    /**
+     * Verifies that web fonts are linked without blocking, after a preconnect to the font
+     * origin, rather than imported by the core stylesheet, and that disabling them leaves
+     * no request to Google Fonts.
+     *
+     * @throws Exception if reflection or execution fails
+     */
+    @Test
+    public void testLoadsWebFontsWithoutBlocking() throws Exception {
+        File siteDir = new File(tempFolder.getRoot(), "site");
+        createHtmlFile(new File(siteDir, "index.html"), "<html><head></head><body></body></html>");
+
+        mojo.execute();
+
+        String page = readFile(new File(siteDir, "index.html"));
+        String fonts = InjectSiteStylesMojo.WEB_FONTS_URL.replace("&", "&amp;");
+        assertTrue(page.contains("<link rel=\"preconnect\" href=\"https://fonts.gstatic.com\" crossorigin>\n"));
+        assertTrue(page.contains("<link rel=\"stylesheet\" href=\"" + fonts + "\" media=\"print\" data-tjd>"));
+        assertTrue(page.contains("<noscript><link rel=\"stylesheet\" href=\"" + fonts + "\">"));
+        assertTrue(InjectSiteStylesMojo.WEB_FONTS_URL.endsWith("&display=swap"));
+        assertFalse("The core should not import the fonts",
+                readFile(new File(siteDir, "terminal-styles/" + InjectSiteStylesMojo.CORE_CSS_FILE)).contains("@import"));
+
+        setField(mojo, "webFonts", false);
+        mojo.execute();
+
+        page = readFile(new File(siteDir, "index.html"));
+        assertFalse(page.contains("fonts.googleapis.com"));
+        assertFalse(page.contains("fonts.gstatic.com"));
+    }
+
+    /**
+     * Verifies that the generated deploy configuration, served by a stand-in static
+     * host, gives fingerprinted assets immutable caching, pages a short lifetime with
+     * preload hints, and both {@code Vary: Accept-Encoding} with their gzip siblings.
+     *
+     * @throws Exception if reflection, execution or a request fails
+     */
+    @Test
+    public void testDeployConfigServedByStaticHost() throws Exception {
+        setField(mojo, "deployConfig", true);
+        setField(mojo, "fingerprintAssets", true);
+        setField(mojo, "gzip", true);
+        File siteDir = new File(tempFolder.getRoot(), "site");
+        createHtmlFile(new File(siteDir, "index.html"), "<html><head></head><body></body></html>");
+        createHtmlFile(new File(siteDir, "apidocs/com/example/Foo.html"), "<html><head></head><body></body></html>");
+
+        mojo.execute();
+
+        assertTrue("nginx snippet should be written next to the site",
+                new File(tempFolder.getRoot(), "terminaljavadocs-nginx.conf").exists());
+        String[] css = new File(siteDir, "terminal-styles").list(
+                (dir, name) -> name.matches("terminaljavadocs-javadoc\\.[0-9a-f]{8}\\.min\\.css"));
+        assertEquals(1, css.length);
+
+        try (StaticSiteServer server = new StaticSiteServer(siteDir.toPath(), 0)) {
+            HttpURLConnection page = request(server, "/apidocs/com/example/Foo.html");
+            assertEquals(200, page.getResponseCode());
+            assertEquals("gzip", page.getHeaderField("Content-Encoding"));
+            assertEquals("Accept-Encoding", page.getHeaderField("Vary"));
+            assertTrue(page.getHeaderField("Cache-Control").contains("must-revalidate"));
+            assertTrue("Javadoc pages should preload their stylesheet", page.getHeaderField("Link")
+                    .contains("</terminal-styles/" + css[0] + ">; rel=preload; as=style"));
+
+            assertNull("Pages of mixed type get no preload hints",
+                    request(server, "/index.html").getHeaderField("Link"));
+
+            HttpURLConnection asset = request(server, "/terminal-styles/" + css[0]);
+            assertEquals(200, asset.getResponseCode());
+            assertEquals("gzip", asset.getHeaderField("Content-Encoding"));
+            assertEquals("public, max-age=31536000, immutable", asset.getHeaderField("Cache-Control"));
+        }
+    }
+
+    /**
+     * Verifies that gzip siblings are written for injected pages and style assets when
+     * enabled, and that only the sibling of a page changed since is rewritten on a re-run.
+     *
+     * @throws Exception if reflection or execution fails
+     */
+    @Test
+    public void testWritesGzipSiblings() throws Exception {
+        setField(mojo, "gzip", true);
+        setField(mojo, "parallelism", 4);
+        File siteDir = new File(tempFolder.getRoot(), "site");
+        File index = new File(siteDir, "index.html");
+        File other = new File(siteDir, "apidocs/Foo.html");
+        createHtmlFile(index, "<html><head></head><body></body></html>");
+        createHtmlFile(other, "<html><head></head><body></body></html>");
+
+        mojo.execute();
+
+        File indexGz = new File(siteDir, "index.html.gz");
+        File otherGz = new File(siteDir, "apidocs/Foo.html.gz");
+        assertTrue("Injected page should get a gzip sibling", indexGz.exists());
+        assertTrue(otherGz.exists());
+        assertTrue("Style assets should get gzip siblings",
+                new File(siteDir, "terminal-styles/terminaljavadocs-javadoc.min.css.gz").exists());
+        assertTrue(new File(siteDir, "terminal-styles/terminaljavadocs.min.js.gz").exists());
+        assertEquals(index.lastModified(), indexGz.lastModified());
+
+        setField(mojo, "incremental", false);
+        createHtmlFile(other, "<html><head></head><body><p>changed</p></body></html>");
+        other.setLastModified(otherGz.lastModified() + 5000);
+        indexGz.setLastModified(index.lastModified());
+        long indexGzSize = indexGz.length();
+
+        mojo.execute();
+
+        assertEquals("Up-to-date sibling should be kept", index.lastModified(), indexGz.lastModified());
+        assertEquals(indexGzSize, indexGz.length());
+        assertEquals("Changed page's sibling should be rewritten", other.lastModified(), otherGz.lastModified());
+    }
+
+    /**
+     * Verifies that JaCoCo images are themed and HTML is injected in the same run,
+     * including HTML files inside the jacoco-resources tree.
+     *
+     * @throws Exception if reflection or execution fails
+     */
+    @Test
+    public void testThemesJacocoAndInjectsInOneWalk() throws Exception {
+        File siteDir = new File(tempFolder.getRoot(), "site");
+        File jacocoResources = new File(siteDir, "jacoco/jacoco-resources");
+        jacocoResources.mkdirs();
+        Files.write(new File(jacocoResources, "redbar.gif").toPath(), new byte[] {1, 2, 3});
+        File page = new File(siteDir, "jacoco/index.html");
+        createHtmlFile(page, "<html><head></head><body></body></html>");
+
+        mojo.execute();
+
+        assertNotEquals("JaCoCo image should be replaced", 3,
+                new File(jacocoResources, "redbar.gif").length());
+        assertTrue(new File(jacocoResources, "greenbar.gif").exists());
+        assertTrue(readFile(page).contains("terminaljavadocs-coverage.min.css"));
+    }
+
+    /**
+     * Verifies that a module site processed by one execution is not walked again by
+     * a later execution in the same build.
+     *
+     * @throws Exception if reflection or execution fails
+     */
+    @Test
+    public void testModuleSiteProcessedOncePerBuild() throws Exception {
+        RepositorySystemSession repositorySession = mock(RepositorySystemSession.class);
+        when(repositorySession.getData()).thenReturn(new DefaultSessionData());
+        when(session.getRepositorySession()).thenReturn(repositorySession);
+
+        File moduleBuild = tempFolder.newFolder("module-b-target");
+        File modulePage = new File(moduleBuild, "site/index.html");
+        createHtmlFile(modulePage, "<html><head></head><body></body></html>");
+        List<MavenProject> projects = reactorProject("module-b");
+        when(projects.get(0).getBuild().getDirectory()).thenReturn(moduleBuild.getAbsolutePath());
+        when(session.getProjects()).thenReturn(projects);
+        createHtmlFile(new File(tempFolder.getRoot(), "site/index.html"), "<html><head></head><body></body></html>");
+
+        mojo.execute();
+        assertTrue(readFile(modulePage).contains("terminal-javadocs-injected"));
+
+        // A second execution for another project in the same build
+        createHtmlFile(modulePage, "<html><head></head><body></body></html>");
+        File otherBuild = tempFolder.newFolder("module-c-target");
+        createHtmlFile(new File(otherBuild, "site/index.html"), "<html><head></head><body></body></html>");
+        InjectSiteStylesMojo other = new InjectSiteStylesMojo();
+        setField(other, "session", session);
+        setField(other, "project", mock(MavenProject.class));
+        setField(other, "buildDirectory", otherBuild);
+        setField(other, "stylesDir", "terminal-styles");
+        setField(other, "processNestedSites", true);
+        other.execute();
+
+        assertFalse("Module site should not be walked twice in one build",
+                readFile(modulePage).contains("terminal-javadocs-injected"));
+    }
+
+    /**
+     * Verifies that concurrent executions in a parallel build that share a module
+     * site inject every page exactly once.
+     *
+     * @throws Exception if reflection or execution fails
+     */
+    @Test
+    public void testConcurrentExecutionsInjectOnce() throws Exception {
+        RepositorySystemSession repositorySession = mock(RepositorySystemSession.class);
+        when(repositorySession.getData()).thenReturn(new DefaultSessionData());
+        when(session.getRepositorySession()).thenReturn(repositorySession);
+
+        File moduleBuild = tempFolder.newFolder("module-b-target");
+        File moduleSite = new File(moduleBuild, "site");
+        for (int i = 0; i < 50; i++) {
+            createHtmlFile(new File(moduleSite, "page" + i + ".html"), "<html><head></head><body></body></html>");
+        }
+        List<MavenProject> projects = reactorProject("module-b");
+        MavenProject module = projects.get(0);
+        when(module.getBuild().getDirectory()).thenReturn(moduleBuild.getAbsolutePath());
+        when(session.getProjects()).thenReturn(projects);
+        createHtmlFile(new File(tempFolder.getRoot(), "site/index.html"), "<html><head></head><body></body></html>");
+
+        // The module's own execution runs alongside the parent's
+        InjectSiteStylesMojo moduleMojo = new InjectSiteStylesMojo();
+        setField(moduleMojo, "session", session);
+        setField(moduleMojo, "project", module);
+        setField(moduleMojo, "buildDirectory", moduleBuild);
+        setField(moduleMojo, "stylesDir", "terminal-styles");
+        setField(moduleMojo, "processNestedSites", true);
+
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+        Thread parentThread = new Thread(() -> runMojo(mojo, failures));
+        Thread moduleThread = new Thread(() -> runMojo(moduleMojo, failures));
+        parentThread.start();
+        moduleThread.start();
+        parentThread.join();
+        moduleThread.join();
+
+        assertTrue(failures.toString(), failures.isEmpty());
+        for (int i = 0; i < 50; i++) {
+            String content = readFile(new File(moduleSite, "page" + i + ".html"));
+            assertEquals("Page should be injected exactly once", content.indexOf("<!-- terminal-javadocs-injected"),
+                    content.lastIndexOf("<!-- terminal-javadocs-injected"));
+            assertTrue(content.contains("terminal-javadocs-injected"));
+        }
+    }
+
     // ========================================================================
     // Helper Methods
     // ========================================================================
 
+    /**
+     * Executes a mojo, collecting any failure instead of throwing it.
+     *
+     * @param target   the mojo to execute
+     * @param failures the list receiving failures
+     */
+    private void runMojo(InjectSiteStylesMojo target, List<Throwable> failures) {
+        try {
+            target.execute();
+        } catch (Throwable t) {
+            failures.add(t);
+        }
+    }
+
+    /**
+     * Reads one of the mojo's counters.
+     *
+     * @param fieldName the name of the counter field
+     * @return the counter value
+     * @throws Exception if reflection fails
+     */
+    private long getCounter(String fieldName) throws Exception {
+        Field field = InjectSiteStylesMojo.class.getDeclaredField(fieldName);
+        field.setAccessible(true);
+        return ((LongAdder) field.get(mojo)).sum();
+    }
+
+    /**
+     * Requests a path from a stand-in static host, accepting gzip.
+     *
+     * @param server the server
+     * @param path   the request path
+     * @return the connection, with the response received
+     * @throws IOException if the request fails
+     */
+    private static HttpURLConnection request(StaticSiteServer server, String path) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(server.getBaseUrl() + path).openConnection();
+        connection.setRequestProperty("Accept-Encoding", "gzip");
+        connection.getResponseCode();
+        return connection;
+    }
+
+    /**
+     * Invokes a private no-argument method of the mojo under test.
+     *
+     * @param methodName the name of the method
+     * @return the method's result
+     * @throws Exception if reflection fails
+     */
+    private Object invoke(String methodName) throws Exception {
+        Method method = InjectSiteStylesMojo.class.getDeclaredMethod(methodName);
+        method.setAccessible(true);
+        return method.invoke(mojo);
+    }
+
     /**
      * Sets a private field on an object using reflection.
      *
@@ -467,6 +1294,42 @@ public class InjectSiteStylesMojoTest {
         Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
     }
 
+    /**
+     * Creates a reactor containing one mocked module project.
+     *
+     * @param artifactId the module's artifact ID
+     * @return the reactor project list
+     */
+    private List<MavenProject> reactorProject(String artifactId) {
+        MavenProject module = mock(MavenProject.class);
+        Build build = mock(Build.class);
+        when(module.getArtifactId()).thenReturn(artifactId);
+        when(module.getBuild()).thenReturn(build);
+        when(build.getDirectory()).thenReturn(new File(tempFolder.getRoot(), artifactId + "-none").getAbsolutePath());
+        List<MavenProject> projects = new ArrayList<>();
+        projects.add(module);
+        return projects;
+    }
+
+    /**
+     * Creates a site with several pages of every page type.
+     *
+     * @param siteDir the site directory to populate
+     * @throws IOException if a file cannot be written
+     */
+    private void createMixedSite(File siteDir) throws IOException {
+        String[] pages = {
+            "index.html", "coverage.html", "jacoco/com/example/Foo.html",
+            "xref/com/example/Foo.html", "apidocs/com/example/Foo.html"
+        };
+        for (String page : pages) {
+            for (int i = 0; i < 10; i++) {
+                createHtmlFile(new File(siteDir, page.replace(".html", i + ".html")),
+                        "<html><head><title>Page " + i + "</title></head><body>" + page + "</body></html>");
+            }
+        }
+    }
+
     /**
      * Reads a file's content as a UTF-8 string.
      *
@@ -0,0 +1,190 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link InjectionManifest}.
+ *
+ * <p>
+ * Covers persistence, change detection by size and modification time,
+ * invalidation on version or configuration changes, pruning, and resuming from
+ * the journal of an interrupted run.
+ */
+public class InjectionManifestTest {
+
+    /** Temporary directory for test file operations, cleaned up after each test. */
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    /**
+     * Verifies that a recorded file is reported as unchanged after a reload.
+     *
+     * @throws Exception if file operations fail
+     */
+    @Test
+    public void testRecordedFileIsUnchanged() throws Exception {
+        Path manifestFile = tempFolder.getRoot().toPath().resolve("manifest.txt");
+        Path page = writePage("a.html", "<html></html>");
+
+        InjectionManifest manifest = InjectionManifest.load(manifestFile, "1.0", "config");
+        manifest.record(page);
+        manifest.save();
+
+        InjectionManifest reloaded = InjectionManifest.load(manifestFile, "1.0", "config");
+        assertTrue(reloaded.isUnchanged(page, attributes(page)));
+    }
+
+    /**
+     * Verifies that a different size or modification time marks the file as changed.
+     *
+     * @throws Exception if file operations fail
+     */
+    @Test
+    public void testModifiedFileIsChanged() throws Exception {
+        Path manifestFile = tempFolder.getRoot().toPath().resolve("manifest.txt");
+        Path page = writePage("a.html", "<html></html>");
+
+        InjectionManifest manifest = InjectionManifest.load(manifestFile, "1.0", "config");
+        manifest.record(page);
+        manifest.save();
+
+        Files.setLastModifiedTime(page, FileTime.fromMillis(attributes(page).lastModifiedTime().toMillis() + 2000));
+        assertFalse(InjectionManifest.load(manifestFile, "1.0", "config").isUnchanged(page, attributes(page)));
+
+        Files.write(page, "<html><body></body></html>".getBytes(StandardCharsets.UTF_8));
+        assertFalse(InjectionManifest.load(manifestFile, "1.0", "config").isUnchanged(page, attributes(page)));
+    }
+
+    /**
+     * Verifies that a version or configuration change discards previous entries.
+     *
+     * @throws Exception if file operations fail
+     */
+    @Test
+    public void testVersionOrConfigChangeInvalidates() throws Exception {
+        Path manifestFile = tempFolder.getRoot().toPath().resolve("manifest.txt");
+        Path page = writePage("a.html", "<html></html>");
+
+        InjectionManifest manifest = InjectionManifest.load(manifestFile, "1.0", "config");
+        manifest.record(page);
+        manifest.save();
+
+        assertFalse(InjectionManifest.load(manifestFile, "1.1", "config").isUnchanged(page, attributes(page)));
+        assertFalse(InjectionManifest.load(manifestFile, "1.0", "other").isUnchanged(page, attributes(page)));
+    }
+
+    /**
+     * Verifies that only entries seen during a run are written back.
+     *
+     * @throws Exception if file operations fail
+     */
+    @Test
+    public void testSavePrunesUnseenEntries() throws Exception {
+        Path manifestFile = tempFolder.getRoot().toPath().resolve("manifest.txt");
+        Path kept = writePage("kept.html", "<html></html>");
+        Path removed = writePage("removed.html", "<html></html>");
+
+        InjectionManifest first = InjectionManifest.load(manifestFile, "1.0", "config");
+        first.record(kept);
+        first.record(removed);
+        first.save();
+
+        InjectionManifest second = InjectionManifest.load(manifestFile, "1.0", "config");
+        assertTrue(second.isUnchanged(kept, attributes(kept)));
+        second.save();
+
+        assertEquals(1, second.size());
+        assertFalse(InjectionManifest.load(manifestFile, "1.0", "config").isUnchanged(removed, attributes(removed)));
+    }
+
+    /**
+     * Verifies that checkpointed entries of a run that never saved its manifest are
+     * restored on the next load, and that the journal is removed once a run saves.
+     *
+     * @throws Exception if file operations fail
+     */
+    @Test
+    public void testResumesFromJournal() throws Exception {
+        Path manifestFile = tempFolder.getRoot().toPath().resolve("manifest.txt");
+        Path journalFile = tempFolder.getRoot().toPath().resolve("journal.txt");
+        Path done = writePage("done.html", "<html></html>");
+
+        InjectionManifest interrupted = InjectionManifest.load(manifestFile, journalFile, "1.0", "config");
+        interrupted.record(done);
+        interrupted.checkpoint(done.getParent());
+        interrupted.close();
+
+        InjectionManifest resumed = InjectionManifest.load(manifestFile, journalFile, "1.0", "config");
+        assertEquals(1, resumed.getResumed());
+        assertTrue(resumed.isUnchanged(done, attributes(done)));
+
+        resumed.save();
+        assertFalse(Files.exists(journalFile));
+        assertTrue(InjectionManifest.load(manifestFile, "1.0", "config").isUnchanged(done, attributes(done)));
+    }
+
+    /**
+     * Verifies that entries without a closing checkpoint, as left by a run killed while
+     * journaling, are ignored, and that a journal of another configuration is discarded.
+     *
+     * @throws Exception if file operations fail
+     */
+    @Test
+    public void testIgnoresIncompleteOrOutdatedJournal() throws Exception {
+        Path manifestFile = tempFolder.getRoot().toPath().resolve("manifest.txt");
+        Path journalFile = tempFolder.getRoot().toPath().resolve("journal.txt");
+        Path done = writePage("done.html", "<html></html>");
+        Path partial = writePage("partial.html", "<html></html>");
+
+        InjectionManifest interrupted = InjectionManifest.load(manifestFile, journalFile, "1.0", "config");
+        interrupted.record(done);
+        interrupted.checkpoint(done.getParent());
+        interrupted.close();
+        String cutShort = Files.size(partial) + "\t" + attributes(partial).lastModifiedTime().toMillis()
+                + "\t" + partial.toAbsolutePath() + "\n";
+        Files.write(journalFile, cutShort.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        InjectionManifest resumed = InjectionManifest.load(manifestFile, journalFile, "1.0", "config");
+        assertEquals(1, resumed.getResumed());
+        assertTrue(resumed.isUnchanged(done, attributes(done)));
+        assertFalse(resumed.isUnchanged(partial, attributes(partial)));
+
+        assertEquals(0, InjectionManifest.load(manifestFile, journalFile, "1.0", "other").getResumed());
+    }
+
+    /**
+     * Writes a page into the temporary folder.
+     *
+     * @param name    the file name
+     * @param content the file content
+     * @return the path of the written file
+     * @throws Exception if the file cannot be written
+     */
+    private Path writePage(String name, String content) throws Exception {
+        Path page = tempFolder.getRoot().toPath().resolve(name);
+        Files.write(page, content.getBytes(StandardCharsets.UTF_8));
+        return page;
+    }
+
+    /**
+     * Reads a file's basic attributes.
+     *
+     * @param file the file
+     * @return the attributes
+     * @throws Exception if the attributes cannot be read
+     */
+    private BasicFileAttributes attributes(Path file) throws Exception {
+        return Files.readAttributes(file, BasicFileAttributes.class);
+    }
+}
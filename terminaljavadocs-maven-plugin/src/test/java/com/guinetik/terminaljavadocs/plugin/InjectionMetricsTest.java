@@ -0,0 +1,102 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import com.guinetik.terminaljavadocs.plugin.InjectSiteStylesMojo.PageType;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link InjectionMetrics}.
+ *
+ * <p>
+ * Covers the bounded slowest-file list, per-type totals and the JSON report.
+ */
+public class InjectionMetricsTest {
+
+    /** Temporary directory for test file operations, cleaned up after each test. */
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    /**
+     * Verifies that only the N slowest files are kept, slowest first.
+     */
+    @Test
+    public void testKeepsSlowestFiles() {
+        InjectionMetrics metrics = new InjectionMetrics(3);
+        long[] nanos = {50, 10, 90, 30, 70, 20};
+        for (long n : nanos) {
+            metrics.recordFile(() -> "page-" + n + ".html", PageType.SITE, n, 100, 120);
+        }
+
+        List<InjectionMetrics.SlowFile> slowest = metrics.getSlowestFiles();
+        assertEquals(3, slowest.size());
+        assertEquals("page-90.html", slowest.get(0).getFile());
+        assertEquals("page-70.html", slowest.get(1).getFile());
+        assertEquals("page-50.html", slowest.get(2).getFile());
+        assertEquals(6, metrics.getFiles());
+        assertEquals(600, metrics.getBytesRead());
+        assertEquals(720, metrics.getBytesWritten());
+    }
+
+    /**
+     * Verifies that once the slowest list is full, faster files are counted without
+     * their report name being computed.
+     */
+    @Test
+    public void testFasterFilesAreNotNamed() {
+        InjectionMetrics metrics = new InjectionMetrics(2);
+        metrics.recordFile(() -> "a.html", PageType.SITE, 50, 10, 0);
+        metrics.recordFile(() -> "b.html", PageType.SITE, 60, 10, 0);
+        metrics.recordFile(() -> {
+            throw new AssertionError("Faster file should not be named");
+        }, PageType.SITE, 40, 10, 0);
+
+        assertEquals(2, metrics.getSlowestFiles().size());
+        assertEquals(3, metrics.getFiles());
+    }
+
+    /**
+     * Verifies that a limit of zero retains no files but still counts them.
+     */
+    @Test
+    public void testZeroLimitKeepsNoFiles() {
+        InjectionMetrics metrics = new InjectionMetrics(0);
+        metrics.recordFile(() -> "a.html", null, 5, 10, 0);
+
+        assertTrue(metrics.getSlowestFiles().isEmpty());
+        assertEquals(1, metrics.getFiles());
+    }
+
+    /**
+     * Verifies that the JSON report holds phases, page types and escaped paths.
+     *
+     * @throws Exception if file operations fail
+     */
+    @Test
+    public void testWriteJson() throws Exception {
+        InjectionMetrics metrics = new InjectionMetrics(5);
+        metrics.addPhase(InjectionMetrics.Phase.WALK, System.nanoTime() - 2_000_000);
+        metrics.recordFile(() -> "site/api/\"Quoted\".html", PageType.JAVADOC, 1_500_000, 4096, 4200);
+        metrics.recordFile(() -> "site/index.html", null, 100_000, 8192, 0);
+        metrics.stop();
+
+        Path report = tempFolder.getRoot().toPath().resolve("target/terminaljavadocs-metrics.json");
+        metrics.writeJson(report);
+
+        String json = new String(Files.readAllBytes(report), StandardCharsets.UTF_8);
+        assertTrue(json.contains("\"files\": 2,"));
+        assertTrue(json.contains("\"bytesRead\": 12288,"));
+        assertTrue(json.contains("\"walk\": "));
+        assertFalse(json.contains("\"walk\": 0.000"));
+        assertTrue(json.contains("\"javadoc\": { \"files\": 1, \"timeMs\": 1.500, \"bytesWritten\": 4200 }"));
+        assertTrue(json.contains("\"path\": \"site/api/\\\"Quoted\\\".html\", \"type\": \"javadoc\""));
+        assertTrue(json.contains("\"type\": null"));
+    }
+}
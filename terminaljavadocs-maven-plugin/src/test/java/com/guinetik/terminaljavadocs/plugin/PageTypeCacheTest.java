@@ -0,0 +1,85 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import com.guinetik.terminaljavadocs.plugin.InjectSiteStylesMojo.PageType;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link PageTypeCache}.
+ *
+ * <p>
+ * Verifies that pages in path-classified directories are resolved from the
+ * cache, that content sniffing is limited to inconclusive directories, and
+ * that hit/miss counts are reported.
+ */
+public class PageTypeCacheTest {
+
+    /** Temporary directory for test file operations, cleaned up after each test. */
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    /**
+     * Verifies that pages in a path-classified directory are cache hits and are not read.
+     *
+     * @throws Exception if file operations fail
+     */
+    @Test
+    public void testClassifiedDirectoryIsHit() throws Exception {
+        PageTypeCache cache = new PageTypeCache(new PageTypeClassifier());
+        Path apidocs = tempFolder.newFolder("site", "apidocs").toPath();
+        cache.visitDirectory(apidocs);
+
+        // Files need not exist: classification must not touch their content
+        assertEquals(PageType.JAVADOC, cache.classify(apidocs.resolve("A.html")));
+        assertEquals(PageType.JAVADOC, cache.classify(apidocs.resolve("B.html")));
+        assertEquals(PageType.LANDING, cache.classify(apidocs.resolve("coverage.html")));
+
+        assertEquals(3, cache.getHits());
+        assertEquals(0, cache.getMisses());
+    }
+
+    /**
+     * Verifies that pages in an inconclusive directory are sniffed individually.
+     *
+     * @throws Exception if file operations fail
+     */
+    @Test
+    public void testMixedDirectoryIsSniffed() throws Exception {
+        PageTypeCache cache = new PageTypeCache(new PageTypeClassifier());
+        Path site = tempFolder.newFolder("site").toPath();
+        cache.visitDirectory(site);
+
+        Path plain = site.resolve("about.html");
+        Files.write(plain, "<html><body>About</body></html>".getBytes(StandardCharsets.UTF_8));
+        Path report = site.resolve("report.html");
+        Files.write(report, "<html><body class=\"el_class\"></body></html>".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(PageType.SITE, cache.classify(plain));
+        assertEquals(PageType.COVERAGE, cache.classify(report));
+        assertEquals(0, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    /**
+     * Verifies that a nested directory keeps the path priority order of the classifier.
+     *
+     * @throws Exception if file operations fail
+     */
+    @Test
+    public void testNestedDirectoryKeepsPathPriority() throws Exception {
+        PageTypeCache cache = new PageTypeCache(new PageTypeClassifier());
+        Path apidocs = tempFolder.newFolder("site", "apidocs").toPath();
+        Path nested = tempFolder.newFolder("site", "apidocs", "jacoco").toPath();
+        cache.visitDirectory(apidocs);
+        cache.visitDirectory(nested);
+
+        assertEquals(PageType.COVERAGE, cache.classify(nested.resolve("index.html")));
+    }
+}
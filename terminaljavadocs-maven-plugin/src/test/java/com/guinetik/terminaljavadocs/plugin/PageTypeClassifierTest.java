@@ -0,0 +1,104 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import com.guinetik.terminaljavadocs.plugin.InjectSiteStylesMojo.PageType;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link PageTypeClassifier}.
+ *
+ * <p>
+ * Covers path-based classification, every content marker group, the
+ * priority order between groups, and streaming across buffer boundaries.
+ */
+public class PageTypeClassifierTest {
+
+    /** Temporary directory for test file operations, cleaned up after each test. */
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    /** The classifier under test. */
+    private final PageTypeClassifier classifier = new PageTypeClassifier();
+
+    /**
+     * Verifies filename and path based detection.
+     */
+    @Test
+    public void testClassifyPath() {
+        assertEquals(PageType.LANDING, classifier.classifyPath(new File("/site/coverage.html")));
+        assertEquals(PageType.LANDING, classifier.classifyPath(new File("/site/source-xref.html")));
+        assertEquals(PageType.COVERAGE, classifier.classifyPath(new File("/site/jacoco/index.html")));
+        assertEquals(PageType.JXR, classifier.classifyPath(new File("/site/xref-test/index.html")));
+        assertEquals(PageType.JAVADOC, classifier.classifyPath(new File("/site/apidocs/index.html")));
+        assertNull(classifier.classifyPath(new File("/site/about.html")));
+    }
+
+    /**
+     * Verifies that each content marker group maps to its page type.
+     */
+    @Test
+    public void testClassifyContentMarkers() {
+        assertEquals(PageType.LANDING, classify("<div class=\"module-list\"></div>"));
+        assertEquals(PageType.COVERAGE, classify("<td class=\"el_package\">com.example</td>"));
+        assertEquals(PageType.COVERAGE, classify("<title>Coverage Report</title>"));
+        assertEquals(PageType.JXR, classify("<a id=\"jxr_L1\"></a>"));
+        assertEquals(PageType.JAVADOC, classify("<!-- Generated by javadoc (17) -->"));
+        assertEquals(PageType.JAVADOC, classify("<div class=\"member-signature\"></div>"));
+        assertEquals(PageType.SITE, classify("<html><body>Plain page</body></html>"));
+    }
+
+    /**
+     * Verifies that a higher-priority marker wins regardless of where it occurs.
+     */
+    @Test
+    public void testPriorityOrder() {
+        assertEquals(PageType.LANDING,
+                classify("<!-- Generated by javadoc --> jxr jacoco <div class=\"terminal-brand\">"));
+        assertEquals(PageType.COVERAGE, classify("Cross-Reference ... jacoco"));
+        assertEquals(PageType.JXR, classify("class=\"description\" then jxr"));
+    }
+
+    /**
+     * Verifies that markers are matched case-sensitively, as before.
+     */
+    @Test
+    public void testCaseSensitive() {
+        assertEquals(PageType.SITE, classify("JACOCO JXR generated by Javadoc"));
+    }
+
+    /**
+     * Verifies streaming classification of a file whose marker spans a buffer boundary.
+     *
+     * @throws Exception if file operations fail
+     */
+    @Test
+    public void testClassifyFileAcrossBufferBoundary() throws Exception {
+        StringBuilder html = new StringBuilder("<html><body>");
+        while (html.length() < 64 * 1024 - 3) {
+            html.append('x');
+        }
+        html.append("Cross-Reference</body></html>");
+        Path page = tempFolder.newFile("page.html").toPath();
+        Files.write(page, html.toString().getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(PageType.JXR, classifier.classifyContent(page));
+    }
+
+    /**
+     * Classifies in-memory content.
+     *
+     * @param content the content
+     * @return the detected page type
+     */
+    private PageType classify(String content) {
+        return classifier.classifyContent(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,141 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import com.guinetik.terminaljavadocs.plugin.InjectSiteStylesMojo.PageType;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link PluginEvents}.
+ *
+ * <p>
+ * Records the plugin's Flight Recorder events in an in-process recording and
+ * checks that they are off by default and carry their fields when enabled.
+ */
+public class PluginEventsTest {
+
+    /** Temporary directory for test file operations, cleaned up after each test. */
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    /**
+     * Verifies that no event is recorded unless it is enabled.
+     *
+     * @throws Exception if recording fails
+     */
+    @Test
+    public void testDisabledByDefault() throws Exception {
+        List<RecordedEvent> events = record(false);
+
+        assertTrue(events.isEmpty());
+    }
+
+    /**
+     * Verifies that no event is allocated while its type is disabled, with or without a
+     * running recording.
+     */
+    @Test
+    public void testNoEventAllocatedWhileDisabled() {
+        assertNull(PluginEvents.beginHtmlFile());
+        try (Recording recording = new Recording()) {
+            recording.start();
+            assertNull(PluginEvents.beginHtmlFile());
+            assertNull(PluginEvents.beginSiteWalk());
+            assertNull(PluginEvents.beginAssetCopy());
+
+            recording.enable("com.guinetik.terminaljavadocs.HtmlFile");
+            assertNotNull(PluginEvents.beginHtmlFile());
+        }
+    }
+
+    /**
+     * Verifies that enabled events are recorded with their fields.
+     *
+     * @throws Exception if recording fails
+     */
+    @Test
+    public void testRecordsEnabledEvents() throws Exception {
+        List<RecordedEvent> events = record(true);
+
+        assertEquals(3, events.size());
+        RecordedEvent html = find(events, "com.guinetik.terminaljavadocs.HtmlFile");
+        assertTrue(html.getString("path").endsWith("index.html"));
+        assertEquals("javadoc", html.getString("pageType"));
+        assertEquals(1024, html.getLong("bytesRead"));
+        assertEquals(1100, html.getLong("bytesWritten"));
+        assertEquals(PluginEvents.INJECTED, html.getString("outcome"));
+
+        RecordedEvent walk = find(events, "com.guinetik.terminaljavadocs.SiteWalk");
+        assertEquals(1, walk.getLong("directories"));
+        assertEquals(0, walk.getLong("files"));
+
+        RecordedEvent asset = find(events, "com.guinetik.terminaljavadocs.AssetCopy");
+        assertTrue(asset.getString("path").endsWith("a.css"));
+        assertEquals(6, asset.getLong("bytes"));
+        assertEquals(PluginEvents.WRITTEN, asset.getString("outcome"));
+    }
+
+    /**
+     * Emits one event of each kind inside a recording and returns the recorded events.
+     *
+     * @param enable whether to enable the plugin's events in the recording
+     * @return the plugin's recorded events
+     * @throws Exception if recording fails
+     */
+    private List<RecordedEvent> record(boolean enable) throws Exception {
+        Path root = tempFolder.getRoot().toPath();
+        Path dump = tempFolder.newFile("events.jfr").toPath();
+        try (Recording recording = new Recording()) {
+            if (enable) {
+                recording.enable("com.guinetik.terminaljavadocs.HtmlFile");
+                recording.enable("com.guinetik.terminaljavadocs.SiteWalk");
+                recording.enable("com.guinetik.terminaljavadocs.AssetCopy");
+            }
+            recording.start();
+
+            PluginEvents.commitHtmlFile(PluginEvents.beginHtmlFile(), root.resolve("index.html"),
+                    PageType.JAVADOC, 1024, 1100, PluginEvents.INJECTED);
+            new SiteWalker(new SystemStreamLog())
+                    .walk(tempFolder.newFolder("site").toPath(), new ArrayList<SiteVisitor>());
+            new AssetWriter(false).write("body{}".getBytes(StandardCharsets.UTF_8), root.resolve("site/a.css"));
+
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = new ArrayList<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(dump)) {
+            if (event.getEventType().getName().startsWith("com.guinetik.terminaljavadocs.")) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Finds the single recorded event of a type.
+     *
+     * @param events the recorded events
+     * @param name   the event type name
+     * @return the event
+     */
+    private static RecordedEvent find(List<RecordedEvent> events, String name) {
+        for (RecordedEvent event : events) {
+            if (event.getEventType().getName().equals(name)) {
+                return event;
+            }
+        }
+        throw new AssertionError("No " + name + " event recorded");
+    }
+}
@@ -0,0 +1,55 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link PluginResources}.
+ *
+ * <p>
+ * Verifies loading from the plugin classpath, handling of missing resources,
+ * and one-time rendering of the branded JavaScript.
+ */
+public class PluginResourcesTest {
+
+    /** Path of the bundled JavaScript resource. */
+    private static final String JS = "styles/terminaljavadocs.min.js";
+
+    /**
+     * Verifies that existing resources are cached and missing ones are absent.
+     *
+     * @throws Exception if a resource cannot be read
+     */
+    @Test
+    public void testLoad() throws Exception {
+        PluginResources resources = PluginResources.load(
+                Arrays.asList(JS, "jacoco-resources/redbar.gif", "styles/missing.css"));
+
+        assertNotNull(resources.get(JS));
+        assertNotNull(resources.get("jacoco-resources/redbar.gif"));
+        assertNull(resources.get("styles/missing.css"));
+    }
+
+    /**
+     * Verifies token replacement and that the rendered script is reused.
+     *
+     * @throws Exception if a resource cannot be read
+     */
+    @Test
+    public void testBrandedJsRenderedOnce() throws Exception {
+        PluginResources resources = PluginResources.load(Arrays.asList(JS));
+
+        byte[] first = resources.getBrandedJs(JS, "My Project", "logo.svg");
+        byte[] second = resources.getBrandedJs(JS, "My Project", "logo.svg");
+        String js = new String(first, StandardCharsets.UTF_8);
+
+        assertSame("Rendered script should be cached", first, second);
+        assertFalse(js.contains("%%PROJECT_NAME%%"));
+        assertTrue(js.contains("My Project"));
+        assertNotSame(first, resources.getBrandedJs(JS, "Other", "logo.svg"));
+    }
+}
@@ -0,0 +1,104 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import org.apache.maven.execution.MavenSession;
+import org.eclipse.aether.DefaultSessionData;
+import org.eclipse.aether.RepositorySystemSession;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link SiteRootRegistry}.
+ *
+ * <p>
+ * Covers claiming, containment by an already registered directory, canonical
+ * path resolution, and sharing the registry through the session.
+ */
+public class SiteRootRegistryTest {
+
+    /** Temporary directory for test file operations, cleaned up after each test. */
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    /**
+     * Verifies that a directory can be claimed only once.
+     *
+     * @throws Exception if file operations fail
+     */
+    @Test
+    public void testClaimOnce() throws Exception {
+        SiteRootRegistry registry = new SiteRootRegistry();
+        File site = tempFolder.newFolder("site");
+
+        assertTrue(registry.claim(site));
+        assertFalse(registry.claim(site));
+    }
+
+    /**
+     * Verifies that directories inside a registered directory are not claimed again.
+     *
+     * @throws Exception if file operations fail
+     */
+    @Test
+    public void testNestedDirectoryAlreadyProcessed() throws Exception {
+        SiteRootRegistry registry = new SiteRootRegistry();
+        File staging = tempFolder.newFolder("staging");
+        File module = tempFolder.newFolder("staging", "module-a");
+        File sibling = tempFolder.newFolder("other");
+
+        registry.register(staging);
+
+        assertFalse(registry.claim(module));
+        assertTrue(registry.claim(sibling));
+    }
+
+    /**
+     * Verifies that a symbolic link resolves to the same entry as its target.
+     *
+     * @throws Exception if file operations fail
+     */
+    @Test
+    public void testSymlinkResolvesToSameRoot() throws Exception {
+        SiteRootRegistry registry = new SiteRootRegistry();
+        File site = tempFolder.newFolder("site");
+        File link = new File(tempFolder.getRoot(), "link");
+        try {
+            Files.createSymbolicLink(link.toPath(), site.toPath());
+        } catch (UnsupportedOperationException | java.io.IOException e) {
+            return; // Symbolic links unsupported on this file system
+        }
+
+        assertTrue(registry.claim(site));
+        assertFalse(registry.claim(link));
+    }
+
+    /**
+     * Verifies that executions in the same build share one registry.
+     */
+    @Test
+    public void testSharedThroughSession() {
+        RepositorySystemSession repositorySession = mock(RepositorySystemSession.class);
+        when(repositorySession.getData()).thenReturn(new DefaultSessionData());
+        MavenSession session = mock(MavenSession.class);
+        when(session.getRepositorySession()).thenReturn(repositorySession);
+
+        assertSame(SiteRootRegistry.forSession(session), SiteRootRegistry.forSession(session));
+    }
+
+    /**
+     * Verifies the fallback to a private registry without a repository session.
+     */
+    @Test
+    public void testFallbackWithoutRepositorySession() {
+        MavenSession session = mock(MavenSession.class);
+
+        assertNotSame(SiteRootRegistry.forSession(session), SiteRootRegistry.forSession(session));
+        assertNotNull(SiteRootRegistry.forSession(null));
+    }
+}
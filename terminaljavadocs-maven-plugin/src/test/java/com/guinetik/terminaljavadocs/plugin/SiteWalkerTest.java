@@ -0,0 +1,119 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link SiteWalker}.
+ *
+ * <p>
+ * Verifies that a single traversal reaches every registered stage and that
+ * stages are finished only after the walk completes.
+ */
+public class SiteWalkerTest {
+
+    /** Temporary directory for test file operations, cleaned up after each test. */
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    /**
+     * Verifies that every stage sees every directory and file of one walk.
+     *
+     * @throws Exception if file operations fail
+     */
+    @Test
+    public void testDispatchesToAllVisitors() throws Exception {
+        Path root = tempFolder.getRoot().toPath();
+        Files.createDirectories(root.resolve("apidocs/pkg"));
+        Files.write(root.resolve("index.html"), new byte[0]);
+        Files.write(root.resolve("apidocs/pkg/A.html"), new byte[0]);
+
+        RecordingVisitor first = new RecordingVisitor();
+        RecordingVisitor second = new RecordingVisitor();
+        SiteWalker walker = new SiteWalker(new SystemStreamLog());
+        walker.walk(root, Arrays.asList(first, second));
+
+        assertEquals(3, first.directories.size());
+        assertEquals(2, first.files.size());
+        assertEquals(first.directories, second.directories);
+        assertEquals(first.files, second.files);
+        assertEquals(3, walker.getDirectories());
+        assertEquals(2, walker.getFiles());
+    }
+
+    /**
+     * Verifies that {@link SiteVisitor#finish()} is called once, after all files.
+     *
+     * @throws Exception if file operations fail
+     */
+    @Test
+    public void testFinishCalledAfterWalk() throws Exception {
+        Path root = tempFolder.getRoot().toPath();
+        Files.write(root.resolve("a.html"), new byte[0]);
+        Files.write(root.resolve("b.html"), new byte[0]);
+
+        RecordingVisitor visitor = new RecordingVisitor();
+        new SiteWalker(new SystemStreamLog()).walk(root, Arrays.asList(visitor));
+
+        assertEquals(1, visitor.finishCalls);
+        assertEquals(2, visitor.filesAtFinish);
+    }
+
+    /**
+     * Verifies that a failing stage aborts the walk with its exception.
+     *
+     * @throws Exception if file operations fail
+     */
+    @Test(expected = IOException.class)
+    public void testVisitorFailurePropagates() throws Exception {
+        Path root = tempFolder.getRoot().toPath();
+        Files.write(root.resolve("a.html"), new byte[0]);
+
+        SiteVisitor failing = new SiteVisitor() {
+            @Override
+            public void visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                throw new IOException("boom");
+            }
+        };
+        new SiteWalker(new SystemStreamLog()).walk(root, Arrays.asList(failing));
+    }
+
+    /**
+     * Visitor that records what it was shown.
+     */
+    private static final class RecordingVisitor implements SiteVisitor {
+
+        private final List<Path> directories = new ArrayList<>();
+        private final List<Path> files = new ArrayList<>();
+        private int finishCalls;
+        private int filesAtFinish;
+
+        @Override
+        public void preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+            directories.add(dir);
+        }
+
+        @Override
+        public void visitFile(Path file, BasicFileAttributes attrs) {
+            files.add(file);
+        }
+
+        @Override
+        public void finish() {
+            finishCalls++;
+            filesAtFinish = files.size();
+        }
+    }
+}
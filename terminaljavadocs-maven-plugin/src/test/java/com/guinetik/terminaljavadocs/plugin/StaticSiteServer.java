@@ -0,0 +1,215 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Minimal static file server standing in for the host a generated site is deployed to,
+ * for checking the deploy configuration written by {@link InjectSiteStylesMojo} locally.
+ *
+ * <p>
+ * Serves a site directory the way static hosts read the generated {@code _headers}
+ * file: every rule whose path pattern matches the request applies, {@code *} matches
+ * any characters, and a header set by several rules is joined with {@code ", "}.
+ * Like nginx {@code gzip_static}, a {@code .gz} sibling is served with
+ * {@code Content-Encoding: gzip} to clients that accept it. Directory requests serve
+ * {@code index.html}.
+ *
+ * <p>
+ * Usage from the command line (after {@code mvn test-compile}):
+ * <pre>
+ * java -cp target/classes:target/test-classes \
+ *     com.guinetik.terminaljavadocs.plugin.StaticSiteServer --root=target/staging --port=8080
+ * </pre>
+ * Then inspect responses with, for example,
+ * {@code curl -sI -H 'Accept-Encoding: gzip' http://localhost:8080/apidocs/index.html}.
+ */
+final class StaticSiteServer implements Closeable {
+
+    /** The served site directory. */
+    private final Path root;
+
+    /** Header rules read from {@code _headers}, in file order. */
+    private final List<Rule> rules;
+
+    /** The underlying server. */
+    private final HttpServer server;
+
+    /**
+     * Starts serving a site directory.
+     *
+     * @param root the site directory, holding the generated {@code _headers} file if any
+     * @param port the port to listen on, {@code 0} for any free port
+     * @throws IOException if the rules cannot be read or the port cannot be bound
+     */
+    StaticSiteServer(Path root, int port) throws IOException {
+        this.root = root.toAbsolutePath().normalize();
+        Path headers = this.root.resolve("_headers");
+        this.rules = Files.exists(headers) ? parseRules(Files.readAllLines(headers, StandardCharsets.UTF_8))
+                : new ArrayList<>();
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * Returns the base URL of the server.
+     *
+     * @return {@code http://localhost:<port>}
+     */
+    String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Stops the server.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    /**
+     * Serves one request.
+     *
+     * @param exchange the request and response
+     * @throws IOException if the response cannot be written
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String urlPath = exchange.getRequestURI().getPath();
+            Path file = root.resolve(urlPath.substring(1)).normalize();
+            if (Files.isDirectory(file)) {
+                file = file.resolve("index.html");
+            }
+            if (!file.startsWith(root) || !Files.isRegularFile(file)) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            for (Map.Entry<String, String> header : headersFor(urlPath).entrySet()) {
+                exchange.getResponseHeaders().set(header.getKey(), header.getValue());
+            }
+            Path gz = GzipPrecompressor.siblingOf(file);
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            if (acceptEncoding != null && acceptEncoding.contains("gzip") && Files.isRegularFile(gz)) {
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+                file = gz;
+            }
+
+            byte[] body = Files.readAllBytes(file);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Returns the headers the rules set for a request path.
+     *
+     * @param urlPath the request path
+     * @return the headers, repeated ones joined with {@code ", "}
+     */
+    Map<String, String> headersFor(String urlPath) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (Rule rule : rules) {
+            if (rule.pattern.matcher(urlPath).matches()) {
+                for (String[] header : rule.headers) {
+                    headers.merge(header[0], header[1], (a, b) -> a.equals(b) ? a : a + ", " + b);
+                }
+            }
+        }
+        return headers;
+    }
+
+    /**
+     * Parses {@code _headers} content: unindented path patterns, each followed by
+     * indented {@code Name: value} lines. Comments start with {@code #}.
+     *
+     * @param lines the file lines
+     * @return the rules in file order
+     */
+    private static List<Rule> parseRules(List<String> lines) {
+        List<Rule> rules = new ArrayList<>();
+        Rule current = null;
+        for (String line : lines) {
+            if (line.trim().isEmpty() || line.trim().startsWith("#")) {
+                continue;
+            }
+            if (!Character.isWhitespace(line.charAt(0))) {
+                current = new Rule(line.trim());
+                rules.add(current);
+            } else if (current != null) {
+                int colon = line.indexOf(':');
+                current.headers.add(new String[] {
+                    line.substring(0, colon).trim(), line.substring(colon + 1).trim()
+                });
+            }
+        }
+        return rules;
+    }
+
+    /**
+     * A path pattern with the headers it sets.
+     */
+    private static final class Rule {
+
+        /** The path pattern, {@code *} matching any characters. */
+        private final Pattern pattern;
+
+        /** Header names and values. */
+        private final List<String[]> headers = new ArrayList<>();
+
+        /**
+         * Creates a rule.
+         *
+         * @param path the path pattern
+         */
+        Rule(String path) {
+            StringBuilder regex = new StringBuilder();
+            String[] parts = path.split("\\*", -1);
+            for (int i = 0; i < parts.length; i++) {
+                regex.append(i > 0 ? ".*" : "").append(Pattern.quote(parts[i]));
+            }
+            this.pattern = Pattern.compile(regex.toString());
+        }
+    }
+
+    /**
+     * Serves a site until the process is stopped.
+     *
+     * @param args {@code --root=<site directory>} and optionally {@code --port=<port>} (default 8080)
+     * @throws IOException if the server cannot be started
+     */
+    public static void main(String[] args) throws IOException {
+        Path root = Paths.get("target", "staging");
+        int port = 8080;
+        for (String arg : args) {
+            if (arg.startsWith("--root=")) {
+                root = Paths.get(arg.substring("--root=".length()));
+            } else if (arg.startsWith("--port=")) {
+                port = Integer.parseInt(arg.substring("--port=".length()));
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        StaticSiteServer server = new StaticSiteServer(root, port);
+        System.out.println("Serving " + root.toAbsolutePath() + " at " + server.getBaseUrl());
+    }
+}
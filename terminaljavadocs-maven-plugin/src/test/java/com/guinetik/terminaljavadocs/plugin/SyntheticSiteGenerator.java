@@ -0,0 +1,651 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import com.guinetik.terminaljavadocs.plugin.InjectSiteStylesMojo.PageType;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates synthetic Maven site trees for load-testing {@link InjectSiteStylesMojo}.
+ *
+ * <p>
+ * Writes a {@code target/staging}-style tree: a root site with landing pages and one
+ * subdirectory per module, each holding Javadoc ({@code apidocs/}), JXR
+ * ({@code xref/}), JaCoCo ({@code jacoco/}) and plain site pages. Pages reproduce the
+ * head section and repeating body structure of their real generators (Javadoc 17,
+ * JXR 3.x, JaCoCo 0.8, Doxia), so classification, head scanning and splicing behave
+ * as they do on real sites, without running those tools.
+ *
+ * <p>
+ * Configurable: module count, pages per {@link PageType} and module, page size
+ * distribution (log-normal around a median, clamped), package directory depth, pages
+ * per directory, and the fraction of pages that are already injected. Output is fully
+ * determined by the seed.
+ *
+ * <p>
+ * Usage from the command line (after {@code mvn test-compile}):
+ * <pre>
+ * java -cp target/classes:target/test-classes \
+ *     com.guinetik.terminaljavadocs.plugin.SyntheticSiteGenerator \
+ *     --out=/tmp/big/target/staging --modules=200 --javadoc=2000 --jxr=1000 \
+ *     --coverage=500 --site=20 --medianBytes=16384 --depth=4 --preInjected=0.1
+ * </pre>
+ * The tree can then be processed with {@code inject-styles} using
+ * {@code /tmp/big/target} as the build directory.
+ */
+final class SyntheticSiteGenerator {
+
+    /** Marker the mojo uses to recognise injected pages. */
+    private static final String INJECTION_MARKER = "<!-- terminal-javadocs-injected";
+
+    /** Comment the mojo closes injected snippets with. */
+    private static final String INJECTION_END_MARKER = "<!-- /terminal-javadocs-injected -->";
+
+    /** Stamp of pre-injected pages unless set; stale for any real plugin version. */
+    static final String DEFAULT_STAMP = "v=synthetic cfg=00000000";
+
+    /** Pages per type and module. */
+    private final Map<PageType, Integer> pagesPerType = new EnumMap<>(PageType.class);
+
+    private int modules = 2;
+    private int medianPageBytes = 16 * 1024;
+    private double sizeSigma = 1.0;
+    private int minPageBytes = 2 * 1024;
+    private int maxPageBytes = 4 * 1024 * 1024;
+    private int depth = 3;
+    private int pagesPerDirectory = 50;
+    private double preInjectedRatio;
+    private String stamp = DEFAULT_STAMP;
+    private long seed = 42;
+
+    /**
+     * Creates a generator with a small default configuration: two modules, each with
+     * 100 Javadoc, 50 JXR, 50 coverage and 10 site pages.
+     */
+    SyntheticSiteGenerator() {
+        pagesPerType.put(PageType.LANDING, 2);
+        pagesPerType.put(PageType.JAVADOC, 100);
+        pagesPerType.put(PageType.JXR, 50);
+        pagesPerType.put(PageType.COVERAGE, 50);
+        pagesPerType.put(PageType.SITE, 10);
+    }
+
+    /**
+     * Sets the number of module subdirectories.
+     *
+     * @param modules the module count
+     * @return this generator
+     */
+    SyntheticSiteGenerator modules(int modules) {
+        this.modules = modules;
+        return this;
+    }
+
+    /**
+     * Sets the number of pages of a type. Landing pages are generated once, at the
+     * site root; the first two use the landing file names, further ones are detected
+     * by content. All other types are generated per module.
+     *
+     * @param pageType the page type
+     * @param count    the page count
+     * @return this generator
+     */
+    SyntheticSiteGenerator pages(PageType pageType, int count) {
+        pagesPerType.put(pageType, count);
+        return this;
+    }
+
+    /**
+     * Sets the page size distribution: log-normal around a median, clamped to a range.
+     *
+     * @param medianBytes the median page size
+     * @param sigma       the standard deviation of the size's natural logarithm; {@code 0} for fixed size
+     * @param minBytes    the smallest page size
+     * @param maxBytes    the largest page size
+     * @return this generator
+     */
+    SyntheticSiteGenerator pageSize(int medianBytes, double sigma, int minBytes, int maxBytes) {
+        this.medianPageBytes = medianBytes;
+        this.sizeSigma = sigma;
+        this.minPageBytes = minBytes;
+        this.maxPageBytes = maxBytes;
+        return this;
+    }
+
+    /**
+     * Sets the package directory depth below {@code apidocs/}, {@code xref/} and
+     * {@code jacoco/}.
+     *
+     * @param depth the number of package directories, at least {@code 1}
+     * @return this generator
+     */
+    SyntheticSiteGenerator depth(int depth) {
+        this.depth = Math.max(1, depth);
+        return this;
+    }
+
+    /**
+     * Sets how many pages share one package directory.
+     *
+     * @param pagesPerDirectory the pages per directory, at least {@code 1}
+     * @return this generator
+     */
+    SyntheticSiteGenerator pagesPerDirectory(int pagesPerDirectory) {
+        this.pagesPerDirectory = Math.max(1, pagesPerDirectory);
+        return this;
+    }
+
+    /**
+     * Sets the fraction of pages that already carry the injection marker.
+     *
+     * @param ratio the fraction, from {@code 0} to {@code 1}
+     * @return this generator
+     */
+    SyntheticSiteGenerator preInjected(double ratio) {
+        this.preInjectedRatio = ratio;
+        return this;
+    }
+
+    /**
+     * Sets the version and configuration stamp of pre-injected snippets. Pages with
+     * the stamp the mojo expects are skipped; others have their snippet upgraded.
+     *
+     * @param stamp the stamp, for example {@code v=1.0.0 cfg=0a1b2c3d}
+     * @return this generator
+     */
+    SyntheticSiteGenerator stamp(String stamp) {
+        this.stamp = stamp;
+        return this;
+    }
+
+    /**
+     * Sets the random seed that determines page sizes and pre-injected pages.
+     *
+     * @param seed the seed
+     * @return this generator
+     */
+    SyntheticSiteGenerator seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Writes the site.
+     *
+     * @param siteRoot the site root to create, e.g. {@code target/staging}
+     * @return what was written
+     * @throws IOException if writing fails
+     */
+    Result generate(Path siteRoot) throws IOException {
+        Random random = new Random(seed);
+        Result result = new Result();
+        Files.createDirectories(siteRoot);
+
+        writePage(siteRoot.resolve("index.html"), PageType.SITE, 0, random, result);
+        int landing = pagesPerType.getOrDefault(PageType.LANDING, 0);
+        for (int i = 0; i < landing; i++) {
+            String name = i == 0 ? "coverage.html" : i == 1 ? "source-xref.html" : "landing-" + i + ".html";
+            writePage(siteRoot.resolve(name), PageType.LANDING, 0, random, result);
+        }
+
+        for (int m = 0; m < modules; m++) {
+            Path module = siteRoot.resolve("module-" + m);
+            writePage(module.resolve("index.html"), PageType.SITE, 1, random, result);
+            writePages(module, "", PageType.SITE, random, result);
+            writePages(module, "apidocs", PageType.JAVADOC, random, result);
+            writePages(module, "xref", PageType.JXR, random, result);
+            writePages(module, "jacoco", PageType.COVERAGE, random, result);
+            if (pagesPerType.getOrDefault(PageType.COVERAGE, 0) > 0) {
+                Files.createDirectories(module.resolve("jacoco/jacoco-resources"));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Writes the pages of one type for a module, spread over package directories.
+     *
+     * @param module   the module site directory
+     * @param report   the report directory below the module, empty for plain site pages
+     * @param pageType the page type
+     * @param random   the random source
+     * @param result   the statistics to update
+     * @throws IOException if writing fails
+     */
+    private void writePages(Path module, String report, PageType pageType, Random random, Result result)
+            throws IOException {
+        int count = pagesPerType.getOrDefault(pageType, 0);
+        if (pageType == PageType.SITE) {
+            for (int i = 0; i < count; i++) {
+                writePage(module.resolve("page-" + i + ".html"), pageType, 1, random, result);
+            }
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            int directory = i / pagesPerDirectory;
+            Path dir = module.resolve(report);
+            for (int level = 0; level < depth - 1; level++) {
+                dir = dir.resolve("pkg" + level);
+            }
+            dir = dir.resolve("pkg" + directory);
+            writePage(dir.resolve("Widget" + i + ".html"), pageType, depth + 2, random, result);
+        }
+    }
+
+    /**
+     * Writes a single page with a size drawn from the distribution.
+     *
+     * @param file     the page file
+     * @param pageType the page type
+     * @param depth    the directory depth below the site root
+     * @param random   the random source
+     * @param result   the statistics to update
+     * @throws IOException if writing fails
+     */
+    private void writePage(Path file, PageType pageType, int depth, Random random, Result result)
+            throws IOException {
+        double size = medianPageBytes * Math.exp(sizeSigma * random.nextGaussian());
+        int bytes = (int) Math.max(minPageBytes, Math.min(maxPageBytes, size));
+        boolean injected = random.nextDouble() < preInjectedRatio;
+        byte[] content = renderPage(pageType, bytes, depth, injected ? stamp : null);
+
+        Files.createDirectories(file.getParent());
+        try (OutputStream out = Files.newOutputStream(file)) {
+            out.write(content);
+        }
+        result.pages.merge(pageType, 1, Integer::sum);
+        result.bytes += content.length;
+        if (injected) {
+            result.preInjected++;
+        }
+    }
+
+    /**
+     * Renders a page.
+     *
+     * @param pageType the page type
+     * @param minBytes the minimum size; body units are repeated until it is reached
+     * @param depth    the directory depth below the site root, for relative links
+     * @param stamp    the stamp of an injected style snippet to include, or {@code null}
+     *                 for a page that was not injected
+     * @return the page bytes (UTF-8)
+     */
+    static byte[] renderPage(PageType pageType, int minBytes, int depth, String stamp) {
+        StringBuilder up = new StringBuilder();
+        for (int i = 0; i < depth; i++) {
+            up.append("../");
+        }
+        String root = depth == 0 ? "./" : up.toString();
+
+        StringBuilder html = new StringBuilder(minBytes + 4096);
+        switch (pageType) {
+            case LANDING:
+                landingHead(html, root);
+                for (int i = 0; html.length() < minBytes; i++) {
+                    landingUnit(html, i);
+                }
+                html.append("                </tbody>\n            </table>\n        </main>\n    </body>\n</html>\n");
+                break;
+            case JAVADOC:
+                javadocHead(html, root);
+                for (int i = 0; html.length() < minBytes; i++) {
+                    javadocUnit(html, i);
+                }
+                html.append("</section>\n</main>\n</div>\n</div>\n</body>\n</html>\n");
+                break;
+            case JXR:
+                jxrHead(html, root);
+                for (int i = 1; html.length() < minBytes; i++) {
+                    jxrUnit(html, i);
+                }
+                html.append("</pre>\n<hr/>\n<div id=\"footer\">Copyright &#169; 2025. All rights reserved.</div>\n"
+                        + "</body>\n</html>\n");
+                break;
+            case COVERAGE:
+                coverageHead(html, root);
+                for (int i = 0; html.length() < minBytes; i++) {
+                    coverageUnit(html, i);
+                }
+                html.append("</tbody></table><div class=\"footer\"><span class=\"right\">Created with "
+                        + "<a href=\"http://www.jacoco.org/jacoco\">JaCoCo</a> 0.8.11.202310140853</span></div>"
+                        + "</body></html>");
+                break;
+            default:
+                siteHead(html, root);
+                for (int i = 0; html.length() < minBytes; i++) {
+                    siteUnit(html, i);
+                }
+                html.append("    </main>\n    <footer>\n      <p>Copyright &#169; 2025 guinetik.</p>\n"
+                        + "    </footer>\n  </body>\n</html>\n");
+                break;
+        }
+
+        if (stamp != null) {
+            int headEnd = html.indexOf("</head>");
+            html.insert(headEnd, "\n" + INJECTION_MARKER + " " + stamp + " [" + pageType.getName() + "] -->\n"
+                    + "<link rel=\"stylesheet\" href=\"" + root + "terminal-styles/" + InjectSiteStylesMojo.CORE_CSS_FILE + "\">\n"
+                    + "<link rel=\"stylesheet\" href=\"" + root + "terminal-styles/" + pageType.getCssFile() + "\">\n"
+                    + "<script src=\"" + root + "terminal-styles/terminaljavadocs.min.js\" defer></script>\n"
+                    + INJECTION_END_MARKER + "\n");
+        }
+        return html.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Command line entry point. Options take the form {@code --name=value}:
+     * {@code out}, {@code modules}, {@code landing}, {@code javadoc}, {@code jxr},
+     * {@code coverage}, {@code site}, {@code medianBytes}, {@code sigma},
+     * {@code minBytes}, {@code maxBytes}, {@code depth}, {@code perDirectory},
+     * {@code preInjected}, {@code stamp} and {@code seed}.
+     *
+     * @param args the options
+     * @throws IOException if writing fails
+     */
+    public static void main(String[] args) throws IOException {
+        SyntheticSiteGenerator generator = new SyntheticSiteGenerator();
+        Path out = Paths.get("target/synthetic/target/staging");
+        int median = generator.medianPageBytes;
+        double sigma = generator.sizeSigma;
+        int min = generator.minPageBytes;
+        int max = generator.maxPageBytes;
+
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            String name = arg.substring(2, eq);
+            String value = arg.substring(eq + 1);
+            switch (name) {
+                case "out": out = Paths.get(value); break;
+                case "modules": generator.modules(Integer.parseInt(value)); break;
+                case "landing": generator.pages(PageType.LANDING, Integer.parseInt(value)); break;
+                case "javadoc": generator.pages(PageType.JAVADOC, Integer.parseInt(value)); break;
+                case "jxr": generator.pages(PageType.JXR, Integer.parseInt(value)); break;
+                case "coverage": generator.pages(PageType.COVERAGE, Integer.parseInt(value)); break;
+                case "site": generator.pages(PageType.SITE, Integer.parseInt(value)); break;
+                case "medianBytes": median = Integer.parseInt(value); break;
+                case "sigma": sigma = Double.parseDouble(value); break;
+                case "minBytes": min = Integer.parseInt(value); break;
+                case "maxBytes": max = Integer.parseInt(value); break;
+                case "depth": generator.depth(Integer.parseInt(value)); break;
+                case "perDirectory": generator.pagesPerDirectory(Integer.parseInt(value)); break;
+                case "preInjected": generator.preInjected(Double.parseDouble(value)); break;
+                case "stamp": generator.stamp(value); break;
+                case "seed": generator.seed(Long.parseLong(value)); break;
+                default: throw new IllegalArgumentException("Unknown option: " + name);
+            }
+        }
+        generator.pageSize(median, sigma, min, max);
+
+        long start = System.nanoTime();
+        Result result = generator.generate(out);
+        System.out.println("Generated " + result.getTotalPages() + " pages (" + result.getBytes() / (1024 * 1024)
+                + " MB, " + result.getPreInjected() + " pre-injected) in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms: " + out.toAbsolutePath());
+        System.out.println("  " + result.pages);
+    }
+
+    /**
+     * Statistics of a generated site.
+     */
+    static final class Result {
+
+        private final Map<PageType, Integer> pages = new EnumMap<>(PageType.class);
+        private long bytes;
+        private int preInjected;
+
+        /**
+         * Returns the number of pages written of a type, including module and root
+         * index pages for {@link PageType#SITE}.
+         *
+         * @param pageType the page type
+         * @return the page count
+         */
+        int getPages(PageType pageType) {
+            return pages.getOrDefault(pageType, 0);
+        }
+
+        /**
+         * Returns the total number of pages written.
+         *
+         * @return the page count
+         */
+        int getTotalPages() {
+            int total = 0;
+            for (int count : pages.values()) {
+                total += count;
+            }
+            return total;
+        }
+
+        /**
+         * Returns the total size of the pages written.
+         *
+         * @return the size in bytes
+         */
+        long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * Returns the number of pages written with the injection marker already present.
+         *
+         * @return the pre-injected page count
+         */
+        int getPreInjected() {
+            return preInjected;
+        }
+    }
+
+    /**
+     * Appends a landing page header, as written by {@code generate-landing-pages}.
+     *
+     * @param html the page being built
+     * @param root the relative path to the site root
+     */
+    private static void landingHead(StringBuilder html, String root) {
+        html.append("<!doctype html>\n<html lang=\"en\">\n    <head>\n        <meta charset=\"UTF-8\" />\n")
+                .append("        <meta name=\"viewport\" content=\"width=device-width, initial-scale=1.0\" />\n")
+                .append("        <title>Code Coverage - Example</title>\n    </head>\n    <body>\n")
+                .append("        <header class=\"terminal-header\">\n            <a href=\"").append(root)
+                .append("index.html\" class=\"terminal-brand\"><span>Example</span></a>\n        </header>\n")
+                .append("        <main class=\"module-list\">\n            <h1>Code Coverage Reports</h1>\n")
+                .append("            <table>\n                <tbody>\n");
+    }
+
+    /**
+     * Appends one module row of a landing page.
+     *
+     * @param html the page being built
+     * @param i    the module number
+     */
+    private static void landingUnit(StringBuilder html, int i) {
+        html.append("                    <tr><td>module-").append(i).append("</td><td>Example module ")
+                .append(i).append("</td><td><a href=\"module-").append(i)
+                .append("/jacoco/index.html\">View Report</a></td></tr>\n");
+    }
+    /**
+     * Appends a Javadoc 17 class page header up to the method details section.
+     *
+     * @param html the page being built
+     * @param root the relative path to the site root
+     */
+    private static void javadocHead(StringBuilder html, String root) {
+        html.append("<!DOCTYPE HTML>\n<html lang=\"en\">\n<head>\n")
+                .append("<!-- Generated by javadoc (17) on Mon Jan 06 10:00:00 UTC 2025 -->\n")
+                .append("<title>Widget (Example 1.0 API)</title>\n")
+                .append("<meta name=\"viewport\" content=\"width=device-width, initial-scale=1\">\n")
+                .append("<meta http-equiv=\"Content-Type\" content=\"text/html; charset=UTF-8\">\n")
+                .append("<meta name=\"dc.created\" content=\"2025-01-06\">\n")
+                .append("<meta name=\"description\" content=\"declaration: package: com.example.widgets, ")
+                .append("class: Widget\">\n")
+                .append("<meta name=\"generator\" content=\"javadoc/ClassWriterImpl\">\n")
+                .append("<link rel=\"stylesheet\" type=\"text/css\" href=\"").append(root)
+                .append("stylesheet.css\" title=\"Style\">\n")
+                .append("<link rel=\"stylesheet\" type=\"text/css\" href=\"").append(root)
+                .append("script-dir/jquery-ui.min.css\" title=\"Style\">\n")
+                .append("<script type=\"text/javascript\" src=\"").append(root).append("script.js\"></script>\n")
+                .append("<script type=\"text/javascript\" src=\"").append(root)
+                .append("script-dir/jquery-3.6.1.min.js\"></script>\n")
+                .append("</head>\n<body class=\"class-declaration-page\">\n")
+                .append("<script type=\"text/javascript\">var pathtoroot = \"").append(root)
+                .append("\";\nloadScripts(document, 'script');</script>\n")
+                .append("<div class=\"flex-box\">\n<header role=\"banner\" class=\"flex-header\">\n")
+                .append("<nav role=\"navigation\"><div class=\"top-nav\" id=\"navbar-top\">")
+                .append("<ul id=\"navbar-top-firstrow\" class=\"nav-list\" title=\"Navigation\">")
+                .append("<li><a href=\"").append(root).append("index.html\">Overview</a></li>")
+                .append("<li class=\"nav-bar-cell1-rev\">Class</li></ul></div></nav>\n</header>\n")
+                .append("<div class=\"flex-content\">\n<main role=\"main\">\n")
+                .append("<div class=\"header\"><h1 title=\"Class Widget\" class=\"title\">Class Widget</h1></div>\n")
+                .append("<section class=\"method-details\" id=\"method-detail\">\n<h2>Method Details</h2>\n");
+    }
+
+    /**
+     * Appends one method detail block.
+     *
+     * @param html the page being built
+     * @param i the method number
+     */
+    private static void javadocUnit(StringBuilder html, int i) {
+        html.append("<section class=\"detail\" id=\"process").append(i).append("(java.lang.String,int)\">\n")
+                .append("<h3>process").append(i).append("</h3>\n")
+                .append("<div class=\"member-signature\"><span class=\"modifiers\">public</span>&nbsp;")
+                .append("<span class=\"return-type\"><a href=\"Result.html\" title=\"class in com.example.widgets\">")
+                .append("Result</a></span>&nbsp;<span class=\"element-name\">process").append(i)
+                .append("</span><wbr><span class=\"parameters\">(<a href=\"https://docs.oracle.com/en/java/")
+                .append("javase/17/docs/api/java.base/java/lang/String.html\" title=\"class or interface in ")
+                .append("java.lang\" class=\"external-link\">String</a>&nbsp;name,\n int&nbsp;count)</span></div>\n")
+                .append("<div class=\"block\">Processes the named widget ").append(i)
+                .append(" times and returns the accumulated result.</div>\n<dl class=\"notes\">\n")
+                .append("<dt>Parameters:</dt>\n<dd><code>name</code> - the widget name</dd>\n")
+                .append("<dd><code>count</code> - the number of repetitions</dd>\n")
+                .append("<dt>Returns:</dt>\n<dd>the result, never <code>null</code></dd>\n</dl>\n</section>\n");
+    }
+
+    /**
+     * Appends a JXR page header up to the opening {@code <pre>}.
+     *
+     * @param html the page being built
+     * @param root the relative path to the site root
+     */
+    private static void jxrHead(StringBuilder html, String root) {
+        html.append("<!DOCTYPE html PUBLIC \"-//W3C//DTD XHTML 1.0 Transitional//EN\" ")
+                .append("\"http://www.w3.org/TR/xhtml1/DTD/xhtml1-transitional.dtd\">\n")
+                .append("<html xmlns=\"http://www.w3.org/1999/xhtml\" xml:lang=\"en\" lang=\"en\">\n")
+                .append("<head><meta http-equiv=\"content-type\" content=\"text/html; charset=UTF-8\" />\n")
+                .append("<title>Widget xref</title>\n")
+                .append("<link type=\"text/css\" rel=\"stylesheet\" href=\"").append(root)
+                .append("stylesheet.css\" />\n</head>\n<body>\n")
+                .append("<div id=\"overview\"><a href=\"").append(root)
+                .append("../apidocs/com/example/widgets/Widget.html\">View Javadoc</a></div><pre>\n");
+    }
+
+    /**
+     * Appends one cross-referenced source line.
+     *
+     * @param html the page being built
+     * @param line the line number
+     */
+    private static void jxrUnit(StringBuilder html, int line) {
+        html.append("<a class=\"jxr_linenumber\" name=\"L").append(line).append("\" href=\"#L").append(line)
+                .append("\">").append(line).append("</a>     ")
+                .append("<strong class=\"jxr_keyword\">public</strong> <strong class=\"jxr_keyword\">int</strong> ")
+                .append("compute").append(line).append("(<strong class=\"jxr_keyword\">final</strong> ")
+                .append("<a href=\"").append("Widget.html#Widget\">Widget</a> widget) { ")
+                .append("<strong class=\"jxr_keyword\">return</strong> widget.size() * ").append(line)
+                .append("; <em class=\"jxr_comment\">// scaled</em>\n");
+    }
+
+    /**
+     * Appends a JaCoCo package page header up to the table body, on a single line like JaCoCo writes it.
+     *
+     * @param html the page being built
+     * @param root the relative path to the site root
+     */
+    private static void coverageHead(StringBuilder html, String root) {
+        html.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?><!DOCTYPE html PUBLIC \"-//W3C//DTD XHTML 1.0 ")
+                .append("Strict//EN\" \"http://www.w3.org/TR/xhtml1/DTD/xhtml1-strict.dtd\">")
+                .append("<html xmlns=\"http://www.w3.org/1999/xhtml\" lang=\"en\"><head>")
+                .append("<meta http-equiv=\"Content-Type\" content=\"text/html;charset=UTF-8\"/>")
+                .append("<link rel=\"stylesheet\" href=\"").append(root)
+                .append("jacoco/jacoco-resources/report.css\" type=\"text/css\"/>")
+                .append("<link rel=\"shortcut icon\" href=\"").append(root)
+                .append("jacoco/jacoco-resources/report.gif\" type=\"image/gif\"/>")
+                .append("<title>com.example.widgets</title><script type=\"text/javascript\" src=\"").append(root)
+                .append("jacoco/jacoco-resources/sort.js\"></script></head>")
+                .append("<body onload=\"initialSort(['breadcrumb', 'coveragetable'])\">")
+                .append("<div class=\"breadcrumb\" id=\"breadcrumb\"><span class=\"info\"><a href=\"")
+                .append("jacoco-sessions.html\" class=\"el_session\">Sessions</a></span>")
+                .append("<a href=\"../index.html\" class=\"el_report\">example</a> &gt; ")
+                .append("<span class=\"el_package\">com.example.widgets</span></div>")
+                .append("<h1>com.example.widgets</h1><table class=\"coverage\" cellspacing=\"0\" ")
+                .append("id=\"coveragetable\"><thead><tr><td class=\"sortable\" id=\"a\" onclick=\"")
+                .append("toggleSort(this)\">Element</td><td class=\"down sortable bar\" id=\"b\" onclick=\"")
+                .append("toggleSort(this)\">Missed Instructions</td><td class=\"sortable ctr2\" id=\"c\" ")
+                .append("onclick=\"toggleSort(this)\">Cov.</td></tr></thead><tbody>");
+    }
+
+    /**
+     * Appends one coverage table row.
+     *
+     * @param html the page being built
+     * @param i the row number
+     */
+    private static void coverageUnit(StringBuilder html, int i) {
+        int covered = i % 101;
+        html.append("<tr><td id=\"a").append(i).append("\"><a href=\"Widget").append(i)
+                .append(".html\" class=\"el_class\">Widget").append(i).append("</a></td>")
+                .append("<td class=\"bar\" id=\"b").append(i).append("\"><img src=\"")
+                .append("../jacoco-resources/redbar.gif\" width=\"").append(120 - covered)
+                .append("\" height=\"10\" title=\"").append(100 - covered).append("\" alt=\"")
+                .append(100 - covered).append("\"/><img src=\"../jacoco-resources/greenbar.gif\" width=\"")
+                .append(covered).append("\" height=\"10\" title=\"").append(covered).append("\" alt=\"")
+                .append(covered).append("\"/></td><td class=\"ctr2\" id=\"c").append(i).append("\">")
+                .append(covered).append("%</td></tr>");
+    }
+
+    /**
+     * Appends a Doxia site page header up to the main content.
+     *
+     * @param html the page being built
+     * @param root the relative path to the site root
+     */
+    private static void siteHead(StringBuilder html, String root) {
+        html.append("<!DOCTYPE html>\n<html xmlns=\"http://www.w3.org/1999/xhtml\" lang=\"en\">\n")
+                .append("  <head>\n    <meta charset=\"UTF-8\" />\n")
+                .append("    <meta name=\"viewport\" content=\"width=device-width, initial-scale=1\" />\n")
+                .append("    <meta name=\"generator\" content=\"Apache Maven Doxia Site Renderer 2.0.0\" />\n")
+                .append("    <title>Example &#x2013; About</title>\n")
+                .append("    <link rel=\"stylesheet\" href=\"").append(root).append("css/maven-base.css\" />\n")
+                .append("    <link rel=\"stylesheet\" href=\"").append(root).append("css/maven-theme.css\" />\n")
+                .append("    <link rel=\"stylesheet\" href=\"").append(root).append("css/site.css\" />\n")
+                .append("    <link rel=\"stylesheet\" href=\"").append(root)
+                .append("css/print.css\" media=\"print\" />\n  </head>\n")
+                .append("  <body class=\"composite\">\n    <div id=\"banner\"><a href=\"").append(root)
+                .append("index.html\" id=\"bannerLeft\">Example</a></div>\n    <main id=\"bodyColumn\">\n");
+    }
+
+    /**
+     * Appends one content section.
+     *
+     * @param html the page being built
+     * @param i the section number
+     */
+    private static void siteUnit(StringBuilder html, int i) {
+        html.append("      <section>\n        <h2><a name=\"Section_").append(i).append("\"></a>Section ")
+                .append(i).append("</h2>\n        <p>This project provides widgets for building ")
+                .append("dashboards. Each widget renders its own data series and can be composed with ")
+                .append("others to form reports. See the <a href=\"usage.html\">usage guide</a> for ")
+                .append("configuration options and the <a href=\"faq.html\">FAQ</a> for common questions.</p>\n")
+                .append("        <pre><code>&lt;dependency&gt;\n  &lt;groupId&gt;com.example&lt;/groupId&gt;\n")
+                .append("  &lt;artifactId&gt;widgets&lt;/artifactId&gt;\n&lt;/dependency&gt;</code></pre>\n")
+                .append("      </section>\n");
+    }
+}
@@ -0,0 +1,161 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import com.guinetik.terminaljavadocs.plugin.InjectSiteStylesMojo.PageType;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link SyntheticSiteGenerator}.
+ *
+ * <p>
+ * Verifies that generated pages are classified as the type they were generated as,
+ * that pre-injected pages are skipped, and that output is reproducible.
+ */
+public class SyntheticSiteGeneratorTest {
+
+    /** Temporary directory for test file operations, cleaned up after each test. */
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    /**
+     * Verifies that the mojo classifies every generated page as its intended type.
+     *
+     * @throws Exception if generation or execution fails
+     */
+    @Test
+    public void testGeneratedPagesClassifiedAsIntended() throws Exception {
+        File target = tempFolder.newFolder("target");
+        SyntheticSiteGenerator.Result result = new SyntheticSiteGenerator()
+                .modules(3)
+                .pages(PageType.LANDING, 3)
+                .pages(PageType.JAVADOC, 20)
+                .pages(PageType.JXR, 12)
+                .pages(PageType.COVERAGE, 7)
+                .pages(PageType.SITE, 2)
+                .pageSize(4096, 0.5, 1024, 32 * 1024)
+                .depth(3)
+                .pagesPerDirectory(5)
+                .generate(new File(target, "staging").toPath());
+
+        InjectSiteStylesMojo mojo = createMojo(target);
+        mojo.execute();
+
+        Map<PageType, LongAdder> counts = getPageTypeCounts(mojo);
+        for (PageType pageType : PageType.values()) {
+            assertEquals(pageType.getName(), result.getPages(pageType), counts.get(pageType).sum());
+        }
+        assertEquals(3 + 3 * (20 + 12 + 7 + 2 + 1) + 1, result.getTotalPages());
+    }
+
+    /**
+     * Verifies that pre-injected pages carrying the mojo's stamp are left alone by the mojo.
+     *
+     * @throws Exception if generation or execution fails
+     */
+    @Test
+    public void testPreInjectedPagesSkipped() throws Exception {
+        File target = tempFolder.newFolder("target");
+        InjectSiteStylesMojo mojo = createMojo(target);
+        SyntheticSiteGenerator.Result result = new SyntheticSiteGenerator()
+                .preInjected(0.3)
+                .stamp(getInjectionStamp(mojo))
+                .pageSize(2048, 0, 2048, 2048)
+                .generate(new File(target, "staging").toPath());
+
+        assertTrue(result.getPreInjected() > 0);
+        assertTrue(result.getPreInjected() < result.getTotalPages());
+
+        mojo.execute();
+
+        long processed = 0;
+        for (LongAdder count : getPageTypeCounts(mojo).values()) {
+            processed += count.sum();
+        }
+        assertEquals(result.getTotalPages() - result.getPreInjected(), processed);
+    }
+
+    /**
+     * Verifies that the same seed produces identical pages.
+     *
+     * @throws Exception if generation fails
+     */
+    @Test
+    public void testReproducible() throws Exception {
+        Path first = tempFolder.newFolder("first").toPath();
+        Path second = tempFolder.newFolder("second").toPath();
+        new SyntheticSiteGenerator().seed(7).preInjected(0.5).generate(first);
+        new SyntheticSiteGenerator().seed(7).preInjected(0.5).generate(second);
+
+        Path page = Paths.get("module-1", "apidocs", "pkg0", "pkg1", "pkg1", "Widget60.html");
+        assertArrayEquals(Files.readAllBytes(first.resolve(page)), Files.readAllBytes(second.resolve(page)));
+    }
+
+    /**
+     * Creates a mojo processing only the site under a build directory.
+     *
+     * @param buildDirectory the build directory holding {@code staging/}
+     * @return the configured mojo
+     * @throws Exception if reflection fails
+     */
+    private InjectSiteStylesMojo createMojo(File buildDirectory) throws Exception {
+        InjectSiteStylesMojo mojo = new InjectSiteStylesMojo();
+        setField(mojo, "buildDirectory", buildDirectory);
+        setField(mojo, "stylesDir", "terminal-styles");
+        setField(mojo, "processNestedSites", false);
+        setField(mojo, "incremental", false);
+        return mojo;
+    }
+
+    /**
+     * Returns the stamp the mojo writes into its injection markers.
+     *
+     * @param mojo the configured mojo
+     * @return the stamp
+     * @throws Exception if reflection fails
+     */
+    private String getInjectionStamp(InjectSiteStylesMojo mojo) throws Exception {
+        Method method = InjectSiteStylesMojo.class.getDeclaredMethod("computeInjectionStamp");
+        method.setAccessible(true);
+        return (String) method.invoke(mojo);
+    }
+
+    /**
+     * Reads the mojo's per-page-type counters.
+     *
+     * @param mojo the executed mojo
+     * @return the counters
+     * @throws Exception if reflection fails
+     */
+    @SuppressWarnings("unchecked")
+    private Map<PageType, LongAdder> getPageTypeCounts(InjectSiteStylesMojo mojo) throws Exception {
+        Field field = InjectSiteStylesMojo.class.getDeclaredField("pageTypeCounts");
+        field.setAccessible(true);
+        return (Map<PageType, LongAdder>) field.get(mojo);
+    }
+
+    /**
+     * Sets a private field on an object using reflection.
+     *
+     * @param target    the object to modify
+     * @param fieldName the name of the field to set
+     * @param value     the value to set
+     * @throws Exception if the field cannot be accessed or set
+     */
+    private void setField(Object target, String fieldName, Object value) throws Exception {
+        Field field = target.getClass().getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
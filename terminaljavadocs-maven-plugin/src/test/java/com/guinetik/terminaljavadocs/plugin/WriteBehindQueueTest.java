@@ -0,0 +1,130 @@
+package com.guinetik.terminaljavadocs.plugin;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link WriteBehindQueue}.
+ *
+ * <p>
+ * Covers completion of queued writes, backpressure on a full queue, and failure
+ * propagation.
+ */
+public class WriteBehindQueueTest {
+
+    /**
+     * Verifies that {@link WriteBehindQueue#await()} returns only after every
+     * submitted write has run.
+     *
+     * @throws Exception if a write fails
+     */
+    @Test
+    public void testAwaitWaitsForAllWrites() throws Exception {
+        AtomicInteger done = new AtomicInteger();
+        try (WriteBehindQueue queue = new WriteBehindQueue(4, 2, "test-write-")) {
+            for (int i = 0; i < 100; i++) {
+                queue.submit(() -> {
+                    Thread.yield();
+                    done.incrementAndGet();
+                });
+            }
+            queue.await();
+
+            assertEquals(100, done.get());
+            assertEquals(100, queue.getSubmitted());
+        }
+    }
+
+    /**
+     * Verifies that submitting to a full queue blocks until a writer frees a slot.
+     *
+     * @throws Exception if the test thread is interrupted
+     */
+    @Test
+    public void testFullQueueBlocksProducer() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch submitted = new CountDownLatch(1);
+        try (WriteBehindQueue queue = new WriteBehindQueue(1, 1, "test-write-")) {
+            Thread producer = new Thread(() -> {
+                try {
+                    // Occupies the writer, then the single slot, then has to wait
+                    queue.submit(() -> {
+                        writing.countDown();
+                        awaitQuietly(release);
+                    });
+                    writing.await();
+                    queue.submit(() -> { });
+                    queue.submit(() -> { });
+                    submitted.countDown();
+                } catch (IOException | InterruptedException e) {
+                    throw new AssertionError(e);
+                }
+            });
+            producer.start();
+
+            assertFalse("Producer should block on the full queue", submitted.await(200, TimeUnit.MILLISECONDS));
+            release.countDown();
+            assertTrue("Producer should resume once the writer catches up", submitted.await(5, TimeUnit.SECONDS));
+            producer.join();
+            queue.await();
+
+            assertEquals(1, queue.getStalls());
+        }
+    }
+
+    /**
+     * Verifies that a failed write is rethrown, that later writes still run, and that
+     * no further writes are accepted.
+     *
+     * @throws Exception if the test setup fails
+     */
+    @Test
+    public void testRethrowsFirstFailure() throws Exception {
+        AtomicInteger done = new AtomicInteger();
+        CountDownLatch queued = new CountDownLatch(1);
+        try (WriteBehindQueue queue = new WriteBehindQueue(8, 1, "test-write-")) {
+            // The failing write waits until the second one is queued behind it
+            queue.submit(() -> {
+                awaitQuietly(queued);
+                throw new IOException("disk full");
+            });
+            queue.submit(done::incrementAndGet);
+            queued.countDown();
+
+            try {
+                queue.await();
+                fail("Expected the write failure to be rethrown");
+            } catch (IOException e) {
+                assertEquals("disk full", e.getMessage());
+            }
+            assertEquals(1, done.get());
+
+            try {
+                queue.submit(done::incrementAndGet);
+                fail("Expected the queue to refuse writes after a failure");
+            } catch (IOException e) {
+                assertEquals("disk full", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Waits on a latch, ignoring interrupts.
+     *
+     * @param latch the latch
+     */
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}